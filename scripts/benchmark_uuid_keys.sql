@@ -0,0 +1,82 @@
+-- =====================================
+-- BENCHMARK: chaves aleatórias (UUIDv4) vs ordenadas no tempo (UUIDv7)
+-- Compara o tempo de inserção e o tamanho do índice da chave primária varchar(36).
+-- Uso: psql servlets -v rows=1000000 -f scripts/benchmark_uuid_keys.sql
+-- Requer PostgreSQL 13+ (gen_random_uuid).
+-- =====================================
+
+\if :{?rows}
+\else
+    \set rows 1000000
+\endif
+
+\timing on
+
+create schema if not exists bench;
+
+-- mesmo layout do TimeOrderedUuidGenerator: 48 bits de epoch em ms, versão 7, variante RFC 4122
+create or replace function bench.uuid_v7() returns varchar as
+$$
+select encode(
+               set_bit(
+                       set_bit(
+                               overlay(uuid_send(gen_random_uuid())
+                                       placing substring(int8send(floor(extract(epoch from clock_timestamp()) * 1000)::bigint) from 3)
+                                       from 1 for 6),
+                               52, 1),
+                       53, 1),
+               'hex')::uuid::varchar;
+$$ language sql volatile;
+
+drop table if exists bench.keys_v4, bench.keys_v7;
+
+create table bench.keys_v4
+(
+    id      varchar(36) primary key,
+    payload text
+);
+
+create table bench.keys_v7
+(
+    id      varchar(36) primary key,
+    payload text
+);
+
+checkpoint;
+
+-- inserção: compare os tempos reportados pelo \timing
+insert into bench.keys_v4
+select gen_random_uuid()::varchar, md5(g::text)
+from generate_series(1, :rows) g;
+
+insert into bench.keys_v7
+select bench.uuid_v7(), md5(g::text)
+from generate_series(1, :rows) g;
+
+-- segunda carga sobre índices já populados (inserções intercaladas no B-tree existente)
+insert into bench.keys_v4
+select gen_random_uuid()::varchar, md5(g::text)
+from generate_series(1, :rows / 10) g;
+
+insert into bench.keys_v7
+select bench.uuid_v7(), md5(g::text)
+from generate_series(1, :rows / 10) g;
+
+analyze bench.keys_v4, bench.keys_v7;
+
+-- tamanho dos índices: chaves aleatórias deixam páginas pela metade após os splits
+select c.relname                                  as index,
+       pg_size_pretty(pg_relation_size(c.oid))    as size,
+       pg_relation_size(c.oid) / current_setting('block_size')::int as pages
+from pg_class c
+where c.relname in ('keys_v4_pkey', 'keys_v7_pkey')
+  and c.relnamespace = 'bench'::regnamespace
+order by c.relname;
+
+-- correlação física: próximo de 1 indica inserções sempre no fim do índice
+select tablename, attname, correlation
+from pg_stats
+where schemaname = 'bench'
+  and attname = 'id';
+
+drop schema bench cascade;
@@ -8,6 +8,7 @@ import com.dev.servlet.core.response.IHttpResponse;
 import com.dev.servlet.core.util.BeanUtil;
 import com.dev.servlet.core.util.EndpointParser;
 import com.dev.servlet.domain.request.Request;
+import com.dev.servlet.infrastructure.persistence.internal.StatementTimeout;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -101,6 +102,10 @@ public class HttpExecutorImpl<J> implements HttpExecutor<J> {
         } else if (srcException.getCause() instanceof ServiceException cause) {
             code = cause.getCode();
             message = cause.getMessage();
+        } else if (StatementTimeout.isCancellation(srcException)) {
+            code = HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+            message = "The request took too long to complete.";
+            log.warn("Statement cancelled after exceeding the request deadline - {}", srcException.getMessage());
         } else {
             log.error("💥 Unhandled exception - {}", srcException.getMessage(), srcException);
         }
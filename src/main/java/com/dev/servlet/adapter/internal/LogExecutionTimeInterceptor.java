@@ -1,12 +1,14 @@
 package com.dev.servlet.adapter.internal;
 
 import com.dev.servlet.adapter.LogExecutionTime;
+import com.dev.servlet.infrastructure.monitoring.PoolMetricsTracker;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.time.StopWatch;
 
 import javax.interceptor.AroundInvoke;
 import javax.interceptor.Interceptor;
 import javax.interceptor.InvocationContext;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Interceptor
@@ -19,6 +21,7 @@ public class LogExecutionTimeInterceptor {
         String methodName = context.getMethod().getName();
         String className = context.getTarget().getClass().getSuperclass().getName();
 
+        long waitBefore = PoolMetricsTracker.threadWaitNanos();
         stopWatch.start();
         try {
             return context.proceed();
@@ -32,7 +35,8 @@ public class LogExecutionTimeInterceptor {
         } finally {
             stopWatch.stop();
             long time = stopWatch.getTime();
-            log.debug("{}.{} completed [duration={}ms]", className, methodName, time);
+            long connectionWait = TimeUnit.NANOSECONDS.toMillis(PoolMetricsTracker.threadWaitNanos() - waitBefore);
+            log.debug("{}.{} completed [duration={}ms, connectionWait={}ms]", className, methodName, time, connectionWait);
         }
     }
 }
@@ -10,8 +10,10 @@ import com.dev.servlet.core.util.JwtUtil;
 import com.dev.servlet.core.util.URIUtils;
 import com.dev.servlet.domain.model.User;
 import com.dev.servlet.domain.model.enums.RequestMethod;
+import com.dev.servlet.domain.records.ResourceVersion;
 import com.dev.servlet.service.AuthCookieService;
 import com.dev.servlet.service.IUserService;
+import com.dev.servlet.service.ResourceVersionService;
 import com.dev.servlet.domain.request.Request;
 import com.dev.servlet.domain.request.UserRequest;
 import com.dev.servlet.domain.response.UserResponse;
@@ -46,6 +48,8 @@ public class ServletDispatcherImpl implements IServletDispatcher {
     private JwtUtil jwts;
     @Inject
     private HttpExecutor<?> httpExecutor;
+    @Inject
+    private ResourceVersionService resourceVersionService;
 
     @Interceptors({LogExecutionTimeInterceptor.class})
     public void dispatch(HttpServletRequest servletRequest, HttpServletResponse servletResponse) {
@@ -63,7 +67,18 @@ public class ServletDispatcherImpl implements IServletDispatcher {
 
         try {
             Request request = requestOf(servletRequest);
+            ResourceVersion version = resolveVersion(servletRequest, request);
+            if (version != null && isNotModified(servletRequest, version)) {
+                log.debug("Not modified: {} {}", method, requestURI);
+                writeVersionHeaders(servletResponse, version);
+                servletResponse.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+
             IHttpResponse<?> httpResponse = httpExecutor.send(request);
+            if (version != null && httpResponse.statusCode() == HttpServletResponse.SC_OK) {
+                writeVersionHeaders(servletResponse, version);
+            }
             processResponse(servletRequest, servletResponse, request, httpResponse);
 
         } catch (ServiceException e) {
@@ -76,6 +91,34 @@ public class ServletDispatcherImpl implements IServletDispatcher {
         }
     }
 
+    private ResourceVersion resolveVersion(HttpServletRequest servletRequest, Request request) {
+        if (!RequestMethod.GET.isEquals(request.getMethod())) return null;
+
+        try {
+            String csrfToken = cookieService.getCsrfToken(servletRequest);
+            return resourceVersionService.getVersion(request, csrfToken).orElse(null);
+        } catch (Exception e) {
+            log.warn("Unable to resolve resource version for {}: {}", request.getEndpoint(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isNotModified(HttpServletRequest servletRequest, ResourceVersion version) {
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = servletRequest.getDateHeader("If-Modified-Since");
+        } catch (IllegalArgumentException e) {
+            ifModifiedSince = -1;
+        }
+        return version.matches(servletRequest.getHeader("If-None-Match"), ifModifiedSince);
+    }
+
+    private static void writeVersionHeaders(HttpServletResponse servletResponse, ResourceVersion version) {
+        servletResponse.setHeader("ETag", version.etag());
+        servletResponse.setDateHeader("Last-Modified", version.lastModified());
+        servletResponse.setHeader("Cache-Control", "private, no-cache");
+    }
+
     private void setRequestAttributes(HttpServletRequest httpRequest, IHttpResponse<?> response) {
         httpRequest.setAttribute("response", response);
         for (var key : httpRequest.getParameterMap().keySet()) {
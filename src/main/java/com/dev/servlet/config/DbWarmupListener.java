@@ -1,10 +1,13 @@
 package com.dev.servlet.config;
 
+import com.dev.servlet.core.util.CacheInvalidationBus;
 import com.dev.servlet.core.util.CacheUtils;
-import com.dev.servlet.domain.model.User;
+import com.dev.servlet.infrastructure.monitoring.CacheStatisticsCollector;
+import com.dev.servlet.infrastructure.monitoring.PoolStatisticsCollector;
+import com.dev.servlet.infrastructure.persistence.aggregate.StatsReconciler;
+import com.dev.servlet.infrastructure.persistence.archive.SoftDeleteArchiver;
+import com.dev.servlet.infrastructure.persistence.partition.ActivityLogPartitionManager;
 import lombok.extern.slf4j.Slf4j;
-import org.hibernate.Session;
-import org.hibernate.SessionFactory;
 
 import javax.inject.Inject;
 import javax.servlet.ServletContextEvent;
@@ -16,37 +19,58 @@ import javax.servlet.annotation.WebListener;
 public class DbWarmupListener implements ServletContextListener {
 
     @Inject
-    private EntityManagerProducer producer;
+    private CacheInvalidationBus invalidationBus;
+
+    @Inject
+    private RequestContextExecutor requestContextExecutor;
+
+    @Inject
+    private CacheStatisticsCollector cacheStatisticsCollector;
+
+    @Inject
+    private PoolStatisticsCollector poolStatisticsCollector;
+
+    @Inject
+    private WarmupRunner warmupRunner;
+
+    @Inject
+    private SoftDeleteArchiver softDeleteArchiver;
+
+    @Inject
+    private ActivityLogPartitionManager activityLogPartitionManager;
+
+    @Inject
+    private StatsReconciler statsReconciler;
 
     @Override
     public void contextInitialized(ServletContextEvent sce) {
-        log.info("Starting database warmup...");
-        new Thread(() -> {
-            try {
-                SessionFactory factory = producer.getEntityManager().getSessionFactory();
-
-                try (Session session = factory.openSession()) {
-                    session.createNativeQuery("SELECT 1").getSingleResult();
-                }
-
-                try (Session session = factory.openSession()) {
-                    session.createQuery("FROM User WHERE status = 'A'", User.class)
-                            .setCacheable(true)
-                            .setMaxResults(1)
-                            .list();
-                }
-
-                log.info("Database pool warmed up successfully");
-            } catch (Exception e) {
-                log.error("Pool warmup failed: {}", e.getMessage(), e);
-            }
-        }).start();
+        CacheUtils.setRefreshExecutor(requestContextExecutor);
+        try {
+            invalidationBus.start();
+        } catch (Exception e) {
+            log.error("Cache invalidation bus failed to start: {}", e.getMessage(), e);
+        }
+        cacheStatisticsCollector.start();
+        poolStatisticsCollector.start();
+        softDeleteArchiver.start();
+        activityLogPartitionManager.start();
+        statsReconciler.start();
+
+        log.info("Starting warmup...");
+        warmupRunner.start();
     }
 
     @Override
     public void contextDestroyed(ServletContextEvent sce) {
         log.info("Graceful shutdown initiated...");
         try {
+            cacheStatisticsCollector.stop();
+            poolStatisticsCollector.stop();
+            softDeleteArchiver.stop();
+            activityLogPartitionManager.stop();
+            statsReconciler.stop();
+            invalidationBus.stop();
+            CacheUtils.setRefreshExecutor(null);
             CacheUtils.close();
             log.info("Cache closed successfully");
         } catch (Exception e) {
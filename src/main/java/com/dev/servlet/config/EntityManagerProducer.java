@@ -1,29 +1,98 @@
 package com.dev.servlet.config;
 
+import com.dev.servlet.core.util.PropertiesUtil;
+import com.dev.servlet.infrastructure.persistence.Directory;
+import com.dev.servlet.infrastructure.persistence.Replica;
+import com.dev.servlet.infrastructure.persistence.shard.ShardRouter;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.FlushMode;
 import org.hibernate.Session;
+import org.hibernate.SessionFactory;
 
 import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.RequestScoped;
 import javax.enterprise.inject.Disposes;
 import javax.enterprise.inject.Produces;
+import javax.inject.Inject;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @ApplicationScoped
 public class EntityManagerProducer {
     private EntityManagerFactory factory;
+    private EntityManagerFactory replicaFactory;
+    private final Map<String, EntityManagerFactory> shardFactories = new LinkedHashMap<>();
+
+    @Inject
+    private ShardRouter shardRouter;
+
     public EntityManagerProducer() {
         factory = Persistence.createEntityManagerFactory("servletpu");
+        if (PropertiesUtil.getProperty("db.replica.enabled", false)) {
+            replicaFactory = createReplicaFactory();
+        }
+
+        List<String> shards = ShardRouter.configuredShards();
+        shardFactories.put(shards.get(0), factory);
+        if (ShardRouter.isShardingEnabled()) {
+            shards.stream().skip(1).forEach(shard -> shardFactories.put(shard, createShardFactory(shard)));
+        }
+    }
+
+    private static EntityManagerFactory createReplicaFactory() {
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put("jakarta.persistence.jdbc.url", PropertiesUtil.getProperty("db.replica.url", "jdbc:postgresql://localhost:5433/servlets"));
+        overrides.put("jakarta.persistence.jdbc.user", PropertiesUtil.getProperty("db.replica.user", "postgres"));
+        overrides.put("jakarta.persistence.jdbc.password", PropertiesUtil.getProperty("db.replica.password", "password"));
+        try {
+            return Persistence.createEntityManagerFactory("servletpu-replica", overrides);
+        } catch (Exception e) {
+            log.error("Replica persistence unit could not be started, reads stay on the primary: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static EntityManagerFactory createShardFactory(String shard) {
+        String prefix = "db.shard." + shard + ".";
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put("jakarta.persistence.jdbc.url", PropertiesUtil.getProperty(prefix + "url", "jdbc:postgresql://localhost/servlets_" + shard));
+        overrides.put("jakarta.persistence.jdbc.user", PropertiesUtil.getProperty(prefix + "user", "postgres"));
+        overrides.put("jakarta.persistence.jdbc.password", PropertiesUtil.getProperty(prefix + "password", "password"));
+        overrides.put("hibernate.hikari.poolName", "ServletsHikariPool-" + shard);
+        overrides.put("hibernate.hikari.maximumPoolSize", PropertiesUtil.getProperty(prefix + "pool.size", "20"));
+        overrides.put("hibernate.cache.region_prefix", shard);
+        log.info("Starting persistence unit for shard {}", shard);
+        return Persistence.createEntityManagerFactory("servletpu", overrides);
     }
 
     public void setEntityManagerFactory(EntityManagerFactory factory) {
         this.factory = factory;
     }
 
+    public EntityManagerFactory getEntityManagerFactory() {
+        return factory;
+    }
+
+    public EntityManagerFactory getShardFactory(String shard) {
+        EntityManagerFactory shardFactory = shardFactories.get(shard);
+        if (shardFactory == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return shardFactory;
+    }
+
+    public Map<String, EntityManagerFactory> getShardFactories() {
+        return Collections.unmodifiableMap(shardFactories);
+    }
+
     @Produces
     @RequestScoped
     public Session getEntityManager() {
@@ -31,14 +100,49 @@ public class EntityManagerProducer {
             log.error("EntityManagerFactory is null. Check persistence.xml configuration.");
             throw new IllegalStateException("EntityManagerFactory is not initialized.");
         }
+        if (shardRouter == null || !shardRouter.isEnabled()) {
+            return (Session) factory.createEntityManager();
+        }
+        return (Session) getShardFactory(shardRouter.currentShard()).createEntityManager();
+    }
+
+    @Produces
+    @Directory
+    @RequestScoped
+    public Session getDirectoryEntityManager(Session routed) {
+        if (routed.getSessionFactory() == factory.unwrap(SessionFactory.class)) {
+            return routed;
+        }
         return (Session) factory.createEntityManager();
     }
 
+    @Produces
+    @Replica
+    @RequestScoped
+    public Session getReplicaEntityManager() {
+        if (replicaFactory == null) {
+            return getEntityManager();
+        }
+        if (shardRouter != null && shardRouter.isEnabled() && !shardRouter.currentShard().equals(shardRouter.directoryShard())) {
+            return getEntityManager();
+        }
+        Session session = (Session) replicaFactory.createEntityManager();
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+        return session;
+    }
+
     @PreDestroy
     public void closeEntityManagerFactory() {
         if (factory != null && factory.isOpen()) {
             factory.close();
         }
+        if (replicaFactory != null && replicaFactory.isOpen()) {
+            replicaFactory.close();
+        }
+        shardFactories.values().stream()
+                .filter(shardFactory -> shardFactory != factory && shardFactory.isOpen())
+                .forEach(EntityManagerFactory::close);
     }
 
     public void close(@Disposes EntityManager em) {
@@ -46,4 +150,16 @@ public class EntityManagerProducer {
             em.close();
         }
     }
+
+    public void closeDirectory(@Disposes @Directory EntityManager em) {
+        if (em.isOpen()) {
+            em.close();
+        }
+    }
+
+    public void closeReplica(@Disposes @Replica EntityManager em) {
+        if (em.isOpen()) {
+            em.close();
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package com.dev.servlet.config;
+
+import com.dev.servlet.core.util.PropertiesUtil;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jboss.weld.context.bound.Bound;
+import org.jboss.weld.context.bound.BoundRequestContext;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@NoArgsConstructor
+@ApplicationScoped
+public class RequestContextExecutor implements Executor {
+
+    @Inject
+    @Bound
+    private BoundRequestContext requestContext;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        int threads = PropertiesUtil.getProperty("cache.refresh.threads", 2);
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "request-context-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("[RequestContextExecutor] initialized [threads={}]", threads);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(() -> {
+            try {
+                call(() -> {
+                    task.run();
+                    return null;
+                });
+            } catch (Exception e) {
+                log.warn("Background task failed: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    public <T> T call(Callable<T> task) throws Exception {
+        Map<String, Object> storage = new HashMap<>();
+        requestContext.associate(storage);
+        requestContext.activate();
+        try {
+            return task.call();
+        } finally {
+            try {
+                requestContext.invalidate();
+                requestContext.deactivate();
+            } finally {
+                requestContext.dissociate(storage);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,172 @@
+package com.dev.servlet.config;
+
+import com.dev.servlet.adapter.HttpExecutor;
+import com.dev.servlet.config.WarmupStatus.State;
+import com.dev.servlet.core.util.JwtUtil;
+import com.dev.servlet.core.util.PropertiesUtil;
+import com.dev.servlet.core.util.URIUtils;
+import com.dev.servlet.domain.model.User;
+import com.dev.servlet.domain.request.Request;
+import com.dev.servlet.infrastructure.persistence.IPageRequest;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.slf4j.MDC;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.dev.servlet.core.enums.ConstantUtils.BEARER_PREFIX;
+
+@Slf4j
+@NoArgsConstructor
+@ApplicationScoped
+public class WarmupRunner {
+    public static final String WARMUP_MDC_KEY = "warmup";
+
+    private static final String API = "/api/v1";
+    private static final String CATEGORY_LIST = API + "/category/list";
+    private static final String PRODUCT_LIST = API + "/product/list";
+    private static final String AUTH_FORM = API + "/auth/form";
+
+    @Inject
+    private EntityManagerProducer producer;
+    @Inject
+    private RequestContextExecutor requestContextExecutor;
+    @Inject
+    private HttpExecutor<?> httpExecutor;
+    @Inject
+    private JwtUtil jwts;
+    @Inject
+    private WarmupStatus status;
+
+    private boolean enabled;
+    private long activeHours;
+    private int maxUsers;
+    private int productPages;
+    private int jitIterations;
+    private long timeoutMillis;
+
+    @PostConstruct
+    public void init() {
+        this.enabled = PropertiesUtil.getProperty("warmup.enabled", true);
+        this.activeHours = PropertiesUtil.getProperty("warmup.active.hours", 24L);
+        this.maxUsers = PropertiesUtil.getProperty("warmup.max.users", 50);
+        this.productPages = PropertiesUtil.getProperty("warmup.product.pages", 2);
+        this.jitIterations = PropertiesUtil.getProperty("warmup.jit.iterations", 200);
+        this.timeoutMillis = TimeUnit.SECONDS.toMillis(PropertiesUtil.getProperty("warmup.timeout.seconds", 60L));
+    }
+
+    public void start() {
+        if (!enabled) {
+            status.finish(State.SKIPPED);
+            log.info("[WarmupRunner] disabled");
+            return;
+        }
+
+        status.start(timeoutMillis);
+        Thread thread = new Thread(this::run, "warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        log.info("Starting warmup [activeHours={}, maxUsers={}, productPages={}, jitIterations={}, timeoutMs={}]",
+                activeHours, maxUsers, productPages, jitIterations, timeoutMillis);
+        MDC.put(WARMUP_MDC_KEY, "true");
+        try {
+            List<User> users = warmupDatabase();
+
+            List<Request> requests = new ArrayList<>();
+            for (User user : users) {
+                if (status.isExpired()) break;
+
+                List<Request> userRequests = userRequests(BEARER_PREFIX + jwts.generateAccessToken(user));
+                userRequests.forEach(this::replay);
+                requests.addAll(userRequests);
+                status.recordUser();
+            }
+
+            if (requests.isEmpty()) {
+                requests.add(Request.builder().endpoint(AUTH_FORM).method("GET").build());
+            }
+            for (int i = 0; i < jitIterations && !status.isExpired(); i++) {
+                replay(requests.get(i % requests.size()));
+            }
+
+            State state = status.isExpired() ? State.TIMED_OUT : State.COMPLETED;
+            status.finish(state);
+            log.info("Warmup finished {}", status.toMap());
+        } catch (Exception e) {
+            status.finish(State.FAILED);
+            log.error("Warmup failed: {}", e.getMessage(), e);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private List<User> warmupDatabase() {
+        SessionFactory factory = producer.getEntityManagerFactory().unwrap(SessionFactory.class);
+
+        try (Session session = factory.openSession()) {
+            session.createNativeQuery("SELECT 1").getSingleResult();
+        }
+
+        try (Session session = factory.openSession()) {
+            session.createQuery("FROM User WHERE status = 'A'", User.class)
+                    .setCacheable(true)
+                    .setMaxResults(1)
+                    .list();
+        }
+        log.info("Database pool warmed up successfully");
+
+        Date since = new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(activeHours));
+        try (Session session = factory.openSession()) {
+            @SuppressWarnings("unchecked")
+            List<String> userIds = session.createNativeQuery("""
+                            SELECT user_id FROM tb_user_activity_log
+                            WHERE timestamp >= :since
+                            GROUP BY user_id
+                            ORDER BY max(timestamp) DESC""")
+                    .setParameter("since", since)
+                    .setMaxResults(maxUsers)
+                    .getResultList();
+            if (userIds.isEmpty()) return List.of();
+
+            List<User> users = session.createQuery(
+                            "SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.perfis WHERE u.id IN :ids AND u.status = 'A'", User.class)
+                    .setParameter("ids", userIds)
+                    .list();
+            log.info("Warming caches for {} recently active user(s)", users.size());
+            return users;
+        }
+    }
+
+    private List<Request> userRequests(String token) {
+        List<Request> requests = new ArrayList<>();
+        requests.add(Request.builder().endpoint(CATEGORY_LIST).method("GET").token(token).build());
+        for (int page = 1; page <= productPages; page++) {
+            IPageRequest pageRequest = URIUtils.defaultPageRequest(page);
+            requests.add(Request.builder().endpoint(PRODUCT_LIST).method("GET").token(token).pageRequest(pageRequest).build());
+        }
+        return requests;
+    }
+
+    private void replay(Request request) {
+        MDC.put("correlationId", "warmup-" + UUID.randomUUID());
+        MDC.put("requestStartTime", String.valueOf(System.currentTimeMillis()));
+        try {
+            requestContextExecutor.call(() -> httpExecutor.send(request));
+            status.recordRequest();
+        } catch (Exception e) {
+            log.debug("Warmup request failed [endpoint={}]: {}", request.getEndpoint(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.dev.servlet.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+@NoArgsConstructor
+@ApplicationScoped
+public class WarmupStatus {
+
+    public enum State {PENDING, RUNNING, COMPLETED, TIMED_OUT, FAILED, SKIPPED}
+
+    private volatile State state = State.PENDING;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile long timeoutMillis;
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+
+    public void start(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        this.startedAt = System.currentTimeMillis();
+        this.state = State.RUNNING;
+    }
+
+    public void finish(State state) {
+        this.finishedAt = System.currentTimeMillis();
+        this.state = state;
+    }
+
+    public void recordUser() {
+        users.incrementAndGet();
+    }
+
+    public void recordRequest() {
+        requests.incrementAndGet();
+    }
+
+    public boolean isExpired() {
+        return state == State.RUNNING && System.currentTimeMillis() - startedAt >= timeoutMillis;
+    }
+
+    public boolean isReady() {
+        return switch (state) {
+            case PENDING -> false;
+            case RUNNING -> isExpired();
+            default -> true;
+        };
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", isExpired() ? State.TIMED_OUT : state);
+        status.put("users", users.get());
+        status.put("requests", requests.get());
+        if (startedAt > 0) {
+            long end = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+            status.put("duration_ms", end - startedAt);
+        }
+        return status;
+    }
+}
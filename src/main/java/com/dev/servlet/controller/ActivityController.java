@@ -16,6 +16,7 @@ import com.dev.servlet.domain.records.Query;
 import com.dev.servlet.domain.records.Sort;
 import com.dev.servlet.domain.request.ActivityRequest;
 import com.dev.servlet.domain.response.UserActivityLogResponse;
+import com.dev.servlet.infrastructure.persistence.CountStrategy;
 import com.dev.servlet.infrastructure.persistence.IPageRequest;
 import com.dev.servlet.infrastructure.persistence.IPageable;
 import com.dev.servlet.infrastructure.persistence.internal.PageRequest;
@@ -41,7 +42,7 @@ public class ActivityController extends BaseController {
     @Inject
     private ActivityMapper activityMapper;
 
-    @RequestMapping(value = "/history", method = GET)
+    @RequestMapping(value = "/history", method = GET, countStrategy = CountStrategy.ESTIMATED)
     public IHttpResponse<IPageable<UserActivityLogResponse>> getHistory(PageRequest defaultPage, @Authentication String auth) {
         final String userId = jwts.getUserId(auth);
 
@@ -51,6 +52,8 @@ public class ActivityController extends BaseController {
                 UserActivityLog.builder().userId(userId).build(),
                 Sort.by("timestamp").descending()
         );
+        pageRequest.setCursor(defaultPage.getCursor());
+        pageRequest.setCountStrategy(defaultPage.getCountStrategy());
 
         var activityLogPage = activityService.getAllPageable(pageRequest, activityMapper::toResponse);
         return HttpResponse.ok(activityLogPage).next(forwardTo("history")).build();
@@ -65,7 +68,7 @@ public class ActivityController extends BaseController {
                 .orElseGet(() -> HttpResponse.error(404, "Activity not found"));
     }
 
-    @RequestMapping(value = "/search", method = GET)
+    @RequestMapping(value = "/search", method = GET, countStrategy = CountStrategy.NONE, statementTimeout = 3000)
     public IHttpResponse<IPageable<UserActivityLogResponse>> getHistoryByAction(Query query,
                                                                                 IPageRequest pageRequest,
                                                                                 @Authentication String auth) {
@@ -9,6 +9,7 @@ import com.dev.servlet.core.response.IHttpResponse;
 import com.dev.servlet.service.ICategoryService;
 import com.dev.servlet.domain.request.CategoryRequest;
 import com.dev.servlet.domain.response.CategoryResponse;
+import com.dev.servlet.domain.model.enums.ResourceType;
 import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
 
@@ -38,7 +39,7 @@ public class CategoryController extends BaseController {
         return HttpResponse.<Void>next(redirectToCtx(LIST)).build();
     }
 
-    @RequestMapping(value = "/edit/{id}", jsonType = CategoryRequest.class)
+    @RequestMapping(value = "/edit/{id}", jsonType = CategoryRequest.class, versionedBy = {ResourceType.CATEGORY})
     @SneakyThrows
     public IHttpResponse<CategoryResponse> edit(CategoryRequest category, @Authentication String auth) {
         CategoryResponse response = categoryService.getCategoryDetail(category, auth);
@@ -59,14 +60,14 @@ public class CategoryController extends BaseController {
         return newHttpResponse(204, redirectTo(response.getId()));
     }
 
-    @RequestMapping(value = "/list", jsonType = CategoryRequest.class)
+    @RequestMapping(value = "/list", jsonType = CategoryRequest.class, versionedBy = {ResourceType.CATEGORY})
     @SneakyThrows
     public IHttpResponse<Collection<CategoryResponse>> list(CategoryRequest category, @Authentication String auth) {
         Collection<CategoryResponse> response = categoryService.list(category, auth);
         return okHttpResponse(response, forwardTo("listCategories"));
     }
 
-    @RequestMapping(value = "/list/{id}", jsonType = CategoryRequest.class)
+    @RequestMapping(value = "/list/{id}", jsonType = CategoryRequest.class, versionedBy = {ResourceType.CATEGORY})
     @SneakyThrows
     public IHttpResponse<CategoryResponse> getCategoryDetail(CategoryRequest request, @Authentication String auth) {
         CategoryResponse response = categoryService.getCategoryDetail(request, auth);
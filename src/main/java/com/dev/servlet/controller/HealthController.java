@@ -5,11 +5,13 @@ import com.dev.servlet.core.annotation.Controller;
 import com.dev.servlet.core.annotation.RequestMapping;
 import com.dev.servlet.core.response.HttpResponse;
 import com.dev.servlet.core.response.IHttpResponse;
+import com.dev.servlet.domain.model.enums.RoleType;
 import com.dev.servlet.service.HealthService;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.inject.Inject;
+import javax.servlet.http.HttpServletResponse;
 import java.util.Map;
 
 import static com.dev.servlet.domain.model.enums.RequestMethod.GET;
@@ -19,6 +21,9 @@ import static com.dev.servlet.domain.model.enums.RequestMethod.GET;
 @Controller("health")
 public class HealthController extends BaseController {
     private static final String HEALTH_PAGE = "forward:pages/health/health.jsp";
+    private static final String CACHE_PAGE = "forward:pages/health/cache.jsp";
+    private static final String POOL_PAGE = "forward:pages/health/pool.jsp";
+    private static final String QUERIES_PAGE = "forward:pages/health/queries.jsp";
 
     @Inject
     private HealthService healthService;
@@ -32,7 +37,10 @@ public class HealthController extends BaseController {
     @RequestMapping(value = "/ready", method = GET)
     public IHttpResponse<Map<String, Object>> readiness() {
         Map<String, Object> ready = healthService.getReadinessStatus();
-        return HttpResponse.ok(ready).next(HEALTH_PAGE).build();
+        int status = Boolean.TRUE.equals(ready.get("ready"))
+                ? HttpServletResponse.SC_OK
+                : HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+        return HttpResponse.ok(ready).statusCode(status).next(HEALTH_PAGE).build();
     }
 
     @RequestMapping(value = "/live", method = GET)
@@ -40,5 +48,22 @@ public class HealthController extends BaseController {
         Map<String, Object> live = healthService.getLivenessStatus();
         return HttpResponse.ok(live).next(HEALTH_PAGE).build();
     }
-}
 
+    @RequestMapping(value = "/cache", method = GET, roles = RoleType.ADMIN)
+    public IHttpResponse<Map<String, Object>> cacheStatistics() {
+        Map<String, Object> statistics = healthService.getCacheStatistics();
+        return HttpResponse.ok(statistics).next(CACHE_PAGE).build();
+    }
+
+    @RequestMapping(value = "/pool", method = GET, roles = RoleType.ADMIN)
+    public IHttpResponse<Map<String, Object>> poolStatistics() {
+        Map<String, Object> statistics = healthService.getPoolStatistics();
+        return HttpResponse.ok(statistics).next(POOL_PAGE).build();
+    }
+
+    @RequestMapping(value = "/queries", method = GET, roles = RoleType.ADMIN)
+    public IHttpResponse<Map<String, Object>> queryStatistics() {
+        Map<String, Object> statistics = healthService.getQueryStatistics();
+        return HttpResponse.ok(statistics).next(QUERIES_PAGE).build();
+    }
+}
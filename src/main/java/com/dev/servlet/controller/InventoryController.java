@@ -15,8 +15,11 @@ import com.dev.servlet.domain.records.KeyPair;
 import com.dev.servlet.domain.records.Query;
 import com.dev.servlet.domain.request.InventoryCreateRequest;
 import com.dev.servlet.domain.request.InventoryRequest;
+import com.dev.servlet.domain.request.StockAdjustmentRequest;
+import com.dev.servlet.domain.request.StockMovementRequest;
 import com.dev.servlet.domain.response.CategoryResponse;
 import com.dev.servlet.domain.response.InventoryResponse;
+import com.dev.servlet.domain.model.enums.ResourceType;
 import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
 
@@ -62,27 +65,27 @@ public class InventoryController extends BaseController {
         return HttpResponse.<Void>next(redirectToCtx("list")).build();
     }
 
-    @RequestMapping(value = "/list", jsonType = InventoryRequest.class)
+    @RequestMapping(value = "/list", jsonType = InventoryRequest.class, versionedBy = {ResourceType.INVENTORY, ResourceType.PRODUCT, ResourceType.CATEGORY})
     @SneakyThrows
     public IServletResponse list(InventoryRequest request, @Authentication String auth) {
         return getServletResponse(request, auth);
     }
 
-    @RequestMapping(value = "/search")
+    @RequestMapping(value = "/search", versionedBy = {ResourceType.INVENTORY, ResourceType.PRODUCT, ResourceType.CATEGORY}, statementTimeout = 3000)
     @SneakyThrows
     public IServletResponse list(Query query, @Authentication String auth) {
         InventoryRequest request = inventoryMapper.queryToInventory(query);
         return getServletResponse(request, auth);
     }
 
-    @RequestMapping(value = "/list/{id}", jsonType = InventoryRequest.class)
+    @RequestMapping(value = "/list/{id}", jsonType = InventoryRequest.class, versionedBy = {ResourceType.INVENTORY, ResourceType.PRODUCT, ResourceType.CATEGORY})
     @SneakyThrows
     public IHttpResponse<InventoryResponse> getStockDetail(InventoryRequest request, @Authentication String auth) {
         InventoryResponse inventory = stockService.getStockDetail(request, auth);
         return okHttpResponse(inventory, forwardTo("formListItem"));
     }
 
-    @RequestMapping(value = "/edit/{id}", jsonType = InventoryRequest.class)
+    @RequestMapping(value = "/edit/{id}", jsonType = InventoryRequest.class, versionedBy = {ResourceType.INVENTORY, ResourceType.PRODUCT, ResourceType.CATEGORY})
     @SneakyThrows
     public IHttpResponse<InventoryResponse> edit(InventoryRequest request, @Authentication String auth) {
         InventoryResponse inventory = stockService.getStockDetail(request, auth);
@@ -96,6 +99,19 @@ public class InventoryController extends BaseController {
         return newHttpResponse(204, redirectTo(inventory.getId()));
     }
 
+    @RequestMapping(value = "/adjust/{id}", method = POST, jsonType = StockAdjustmentRequest.class)
+    @SneakyThrows
+    public IHttpResponse<Void> adjust(StockAdjustmentRequest request, @Authentication String auth) {
+        stockService.adjust(request, auth);
+        return newHttpResponse(204, redirectTo(request.id()));
+    }
+
+    @RequestMapping(value = "/adjust", method = POST, jsonType = StockMovementRequest.class)
+    @SneakyThrows
+    public IHttpResponse<Void> adjust(StockMovementRequest request, @Authentication String auth) {
+        stockService.adjust(request, auth);
+        return HttpResponse.<Void>next(redirectToCtx("list")).build();
+    }
 
     private IServletResponse getServletResponse(InventoryRequest request, String auth) throws ServiceException {
         Collection<InventoryResponse> inventories = stockService.list(request, auth);
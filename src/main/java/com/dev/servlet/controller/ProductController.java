@@ -14,15 +14,19 @@ import com.dev.servlet.domain.model.Product;
 import com.dev.servlet.service.ICategoryService;
 import com.dev.servlet.service.IProductService;
 import com.dev.servlet.domain.records.KeyPair;
+import com.dev.servlet.domain.records.ProductSearch;
 import com.dev.servlet.domain.records.Query;
 import com.dev.servlet.domain.request.ProductRequest;
 import com.dev.servlet.domain.response.CategoryResponse;
 import com.dev.servlet.domain.response.ProductResponse;
+import com.dev.servlet.infrastructure.persistence.CountStrategy;
 import com.dev.servlet.infrastructure.persistence.IPageRequest;
 import com.dev.servlet.infrastructure.persistence.IPageable;
+import com.dev.servlet.domain.model.enums.ResourceType;
 import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -62,7 +66,7 @@ public class ProductController extends BaseController {
         return newHttpResponse(302, categories, forwardTo("formCreateProduct"));
     }
 
-    @RequestMapping(value = "/edit/{id}", jsonType = ProductRequest.class)
+    @RequestMapping(value = "/edit/{id}", jsonType = ProductRequest.class, versionedBy = {ResourceType.PRODUCT, ResourceType.CATEGORY})
     @SneakyThrows
     public IServletResponse edit(ProductRequest request, @Authentication String auth) {
         ProductResponse response = this.getProductDetail(request, auth).body();
@@ -75,21 +79,29 @@ public class ProductController extends BaseController {
         return newServletResponse(body, forwardTo("formUpdateProduct"));
     }
 
-    @RequestMapping(value = "/search")
+    @RequestMapping(value = "/search", versionedBy = {ResourceType.PRODUCT, ResourceType.CATEGORY}, countStrategy = CountStrategy.CACHED, statementTimeout = 3000)
     @SneakyThrows
     public IServletResponse search(Query query, IPageRequest pageRequest, @Authentication String auth) {
+        String text = StringUtils.trimToNull(query.queries().get("text"));
+        if (text != null) {
+            ProductSearch search = new ProductSearch(jwts.getUserId(auth), text,
+                    StringUtils.trimToNull(query.queries().get("category")));
+            IPageable<ProductResponse> page = productService.searchProducts(pageRequest, search, auth);
+            return getServletResponse(page, productService.calculateTotalPriceFor(page, search), auth);
+        }
+
         Product product = productMapper.queryToProduct(query, jwts.getUser(auth));
         return getServletResponse(pageRequest, auth, product);
     }
 
-    @RequestMapping(value = "/list", jsonType = ProductRequest.class)
+    @RequestMapping(value = "/list", jsonType = ProductRequest.class, versionedBy = {ResourceType.PRODUCT, ResourceType.CATEGORY}, countStrategy = CountStrategy.CACHED)
     @SneakyThrows
     public IServletResponse list(IPageRequest pageRequest, @Authentication String auth) {
         Product product = productMapper.toProduct(null, jwts.getUserId(auth));
         return getServletResponse(pageRequest, auth, product);
     }
 
-    @RequestMapping(value = "/list/{id}", jsonType = ProductRequest.class)
+    @RequestMapping(value = "/list/{id}", jsonType = ProductRequest.class, versionedBy = {ResourceType.PRODUCT, ResourceType.CATEGORY})
     @SneakyThrows
     public IHttpResponse<ProductResponse> getProductDetail(ProductRequest request, @Authentication String auth) {
         ProductResponse product = productService.getProductDetail(request, auth);
@@ -110,7 +122,7 @@ public class ProductController extends BaseController {
         return HttpResponse.<Void>next(redirectToCtx(LIST)).build();
     }
 
-    @RequestMapping(value = "/scrape", method = GET)
+    @RequestMapping(value = "/scrape", method = GET, statementTimeout = 0)
     @SneakyThrows
     public IHttpResponse<Void> scrape(@Authentication String auth,
                                       @Property("env") String environment,
@@ -122,8 +134,11 @@ public class ProductController extends BaseController {
 
     private IServletResponse getServletResponse(IPageRequest pageRequest, String auth, Product product) throws ServiceException {
         pageRequest.setFilter(product);
-        IPageable<ProductResponse> page = productService.getAllPageable(pageRequest, auth, productMapper::toResponseWithoutCategory);
-        BigDecimal price = productService.calculateTotalPriceFor(page, product);
+        IPageable<ProductResponse> page = productService.getProductsPage(pageRequest, auth);
+        return getServletResponse(page, productService.calculateTotalPriceFor(page, product), auth);
+    }
+
+    private IServletResponse getServletResponse(IPageable<ProductResponse> page, BigDecimal price, String auth) throws ServiceException {
         Collection<CategoryResponse> categories = categoryService.list(null, auth);
 
         Set<KeyPair> container = new HashSet<>();
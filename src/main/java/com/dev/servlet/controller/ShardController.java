@@ -0,0 +1,41 @@
+package com.dev.servlet.controller;
+
+import com.dev.servlet.controller.base.BaseController;
+import com.dev.servlet.core.annotation.Controller;
+import com.dev.servlet.core.annotation.RequestMapping;
+import com.dev.servlet.core.response.HttpResponse;
+import com.dev.servlet.core.response.IHttpResponse;
+import com.dev.servlet.domain.model.enums.RoleType;
+import com.dev.servlet.domain.request.ShardMoveRequest;
+import com.dev.servlet.service.ShardService;
+import lombok.NoArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import java.util.Map;
+
+import static com.dev.servlet.domain.model.enums.RequestMethod.GET;
+import static com.dev.servlet.domain.model.enums.RequestMethod.POST;
+
+@Slf4j
+@NoArgsConstructor
+@Controller("shard")
+public class ShardController extends BaseController {
+    @Inject
+    private ShardService shardService;
+
+    @RequestMapping(value = "/list", method = GET, roles = RoleType.ADMIN)
+    @SneakyThrows
+    public IHttpResponse<Map<String, Object>> list() {
+        Map<String, Object> statistics = shardService.getShardStatistics();
+        return HttpResponse.ok(statistics).next(forwardTo("listShards")).build();
+    }
+
+    @RequestMapping(value = "/move/{id}", method = POST, roles = RoleType.ADMIN, jsonType = ShardMoveRequest.class)
+    @SneakyThrows
+    public IHttpResponse<Void> move(ShardMoveRequest request) {
+        shardService.move(request);
+        return HttpResponse.<Void>next(redirectToCtx(LIST)).build();
+    }
+}
@@ -12,22 +12,31 @@ import com.dev.servlet.core.validator.RequestValidator;
 import com.dev.servlet.domain.request.Request;
 import com.dev.servlet.domain.records.Query;
 import com.dev.servlet.infrastructure.persistence.IPageRequest;
+import com.dev.servlet.infrastructure.persistence.internal.StatementTimeout;
 
+import javax.annotation.PostConstruct;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
 import static com.dev.servlet.core.util.ThrowableUtils.internalServerError;
 
 public abstract class BaseRouterController {
     private final Set<Method> reflections = new HashSet<>();
+    private long defaultStatementTimeout;
     protected JwtUtil jwts;
 
     protected BaseRouterController() {
         initRouteMapping();
     }
 
+    @PostConstruct
+    public void initStatementTimeout() {
+        this.defaultStatementTimeout = PropertiesUtil.getProperty("db.statement.timeout.ms", 5000L);
+    }
+
     private void initRouteMapping() {
         for (Method method : this.getClass().getDeclaredMethods()) {
             if (method.isAnnotationPresent(RequestMapping.class)) {
@@ -52,8 +61,25 @@ public abstract class BaseRouterController {
         RequestValidator validator = new RequestValidator(endpoint, jwts);
         validator.validate(requestMapping, request);
 
+        if (request.getPageRequest() != null) {
+            request.getPageRequest().setCountStrategy(requestMapping.countStrategy());
+        }
+
         Object[] args = prepareMethodArguments(method, request);
-        return invokeServiceMethod(this, method, args);
+        try (StatementTimeout.Scope ignored = StatementTimeout.open(statementTimeout(requestMapping))) {
+            return invokeServiceMethod(this, method, args);
+        }
+    }
+
+    private long statementTimeout(RequestMapping requestMapping) {
+        return requestMapping.statementTimeout() >= 0 ? requestMapping.statementTimeout() : defaultStatementTimeout;
+    }
+
+    public Optional<RequestMapping> findMapping(EndpointParser endpoint) {
+        return reflections.stream()
+                .map(m -> m.getAnnotation(RequestMapping.class))
+                .filter(mapping -> mapping.value().equals("/" + endpoint.path()))
+                .findFirst();
     }
 
     private Method routeMappingFromEndpoint(String endpoint) throws ServiceException {
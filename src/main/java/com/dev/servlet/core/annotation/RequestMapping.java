@@ -1,7 +1,9 @@
 package com.dev.servlet.core.annotation;
 
 import com.dev.servlet.domain.model.enums.RequestMethod;
+import com.dev.servlet.domain.model.enums.ResourceType;
 import com.dev.servlet.domain.model.enums.RoleType;
+import com.dev.servlet.infrastructure.persistence.CountStrategy;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -17,4 +19,7 @@ public @interface RequestMapping {
     boolean requestAuth() default true;
     String apiVersion() default "v1";
     RoleType[] roles() default {};
+    ResourceType[] versionedBy() default {};
+    CountStrategy countStrategy() default CountStrategy.EXACT;
+    long statementTimeout() default -1;
 }
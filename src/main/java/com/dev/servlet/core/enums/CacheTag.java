@@ -0,0 +1,11 @@
+package com.dev.servlet.core.enums;
+
+public enum CacheTag {
+    PRODUCT,
+    CATEGORY,
+    INVENTORY;
+
+    public String key() {
+        return "tag:" + name().toLowerCase();
+    }
+}
@@ -28,6 +28,7 @@ public interface InventoryMapper {
     Inventory toInventory(InventoryRequest inventoryResponse);
 
     @Mapping(target = "product", expression = "java(new com.dev.servlet.domain.model.Product(inventoryResponse.productId()))")
+    @Mapping(target = "version", ignore = true)
     Inventory createToInventory(InventoryCreateRequest inventoryResponse);
 
     default InventoryRequest queryToInventory(Query query) {
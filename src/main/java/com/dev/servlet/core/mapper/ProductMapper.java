@@ -13,9 +13,15 @@ import org.mapstruct.ReportingPolicy;
 
 @Mapper(unmappedTargetPolicy = ReportingPolicy.WARN)
 public interface ProductMapper {
+    @Mapping(target = "nameHighlight", ignore = true)
+    @Mapping(target = "descriptionHighlight", ignore = true)
+    @Mapping(target = "rank", ignore = true)
     ProductResponse toResponse(Product product);
 
     @Mapping(target = "category", ignore = true)
+    @Mapping(target = "nameHighlight", ignore = true)
+    @Mapping(target = "descriptionHighlight", ignore = true)
+    @Mapping(target = "rank", ignore = true)
     ProductResponse toResponseWithoutCategory(Product product);
 
     Product scrapeToProduct(ProductWebScrapeDTO productWebScrapeDTO);
@@ -0,0 +1,15 @@
+package com.dev.servlet.core.util;
+
+public interface CacheInvalidationBus {
+    String ALL_ENTRIES = "*";
+
+    void publish(String userId, String cacheName);
+
+    default void publishAll(String userId) {
+        publish(userId, ALL_ENTRIES);
+    }
+
+    void start();
+
+    void stop();
+}
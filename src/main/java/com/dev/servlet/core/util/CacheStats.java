@@ -0,0 +1,73 @@
+package com.dev.servlet.core.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class CacheStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordStaleHit() {
+        staleHits.increment();
+    }
+
+    public void recordNegativeHit() {
+        negativeHits.increment();
+    }
+
+    public void recordPut() {
+        puts.increment();
+    }
+
+    public void recordEviction() {
+        evictions.increment();
+    }
+
+    public void recordRefresh() {
+        refreshes.increment();
+    }
+
+    public void recordLoad(long nanos, boolean success) {
+        loads.increment();
+        loadNanos.add(nanos);
+        if (!success) loadFailures.increment();
+    }
+
+    public Map<String, Long> snapshot(long entries, long sizeBytes) {
+        long loadCount = loads.sum();
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        snapshot.put("hits", hits.sum());
+        snapshot.put("misses", misses.sum());
+        snapshot.put("stale_hits", staleHits.sum());
+        snapshot.put("negative_hits", negativeHits.sum());
+        snapshot.put("puts", puts.sum());
+        snapshot.put("evictions", evictions.sum());
+        snapshot.put("loads", loadCount);
+        snapshot.put("load_failures", loadFailures.sum());
+        snapshot.put("refreshes", refreshes.sum());
+        snapshot.put("load_time_ms", TimeUnit.NANOSECONDS.toMillis(loadNanos.sum()));
+        snapshot.put("avg_load_ms", loadCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(loadNanos.sum() / loadCount));
+        snapshot.put("entries", entries);
+        snapshot.put("size_bytes", sizeBytes);
+        return snapshot;
+    }
+}
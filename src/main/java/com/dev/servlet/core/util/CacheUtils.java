@@ -1,24 +1,39 @@
 package com.dev.servlet.core.util;
 
+import com.dev.servlet.core.enums.CacheTag;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.ehcache.Cache;
 import org.ehcache.CacheManager;
 import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheEventListenerConfigurationBuilder;
 import org.ehcache.config.builders.CacheManagerBuilder;
 import org.ehcache.config.builders.ExpiryPolicyBuilder;
 import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.internal.statistics.DefaultStatisticsService;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.core.statistics.TierStatistics;
+import org.ehcache.event.CacheEventListener;
+import org.ehcache.event.EventType;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 @SuppressWarnings("unchecked")
 @NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
@@ -31,11 +46,26 @@ public final class CacheUtils {
     private static final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor();
     private static final ConcurrentMap<String, Long> lastAccessMap = new ConcurrentHashMap<>();
     private static final long CACHE_IDLE_TIMEOUT_MINUTES;
+    private static final long SOFT_TTL_MILLIS;
+    private static final long NEGATIVE_TTL_MILLIS;
+    private static final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private static final SingleFlight<String> loads = new SingleFlight<>();
+    private static final ConcurrentMap<String, CacheStats> stats = new ConcurrentHashMap<>();
+    public static final int SIZE_SAMPLE = 16;
+    private static final int STATISTICS_SAMPLE = 512;
+    private static final StatisticsService statisticsService = new DefaultStatisticsService();
+    private static final CacheEventListener<String, Container> evictionListener =
+            event -> statsFor(event.getKey()).recordEviction();
+    private static final AtomicLong tagSequence = new AtomicLong(System.currentTimeMillis());
+    private static volatile CacheInvalidationBus invalidationBus;
+    private static volatile Executor refreshExecutor;
 
     static {
         log.info("Ehcache CacheManager initialized");
         CACHE_IDLE_TIMEOUT_MINUTES = PropertiesUtil.getProperty("cache.timeout.minutes", 60L);
-        cacheManager = CacheManagerBuilder.newCacheManagerBuilder().build(true);
+        SOFT_TTL_MILLIS = TimeUnit.SECONDS.toMillis(PropertiesUtil.getProperty("cache.soft.ttl.seconds", 300L));
+        NEGATIVE_TTL_MILLIS = TimeUnit.SECONDS.toMillis(PropertiesUtil.getProperty("cache.negative.ttl.seconds", 30L));
+        cacheManager = CacheManagerBuilder.newCacheManagerBuilder().using(statisticsService).build(true);
         cleaner.scheduleAtFixedRate(
                 CacheUtils::cleanupUnusedCaches,
                 CACHE_IDLE_TIMEOUT_MINUTES, CACHE_IDLE_TIMEOUT_MINUTES,
@@ -62,21 +92,27 @@ public final class CacheUtils {
                         Container.class,
                         ResourcePoolsBuilder.heap(1000)
                 )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofMinutes(EXPIRATION_MINUTES)));
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofMinutes(EXPIRATION_MINUTES)))
+                .withService(CacheEventListenerConfigurationBuilder
+                        .newEventListenerConfiguration(evictionListener, EventType.EVICTED, EventType.EXPIRED)
+                        .unordered()
+                        .asynchronous());
     }
 
     public static <T> void set(String userId, String cacheName, Collection<T> collection) {
         List<T> data = CloneUtil.cloneList(collection);
         Cache<String, Container> cache = getOrCreateCache(userId);
-        cache.put(cacheName, new Container(data));
+        cache.put(cacheName, new Container(data, System.currentTimeMillis()));
+        statsFor(cacheName).recordPut();
         log.debug("Cached data for userId='{}'", userId);
     }
 
     public static <T> void setObject(String userId, String cacheName, T object) {
         Cache<String, Container> cache = getOrCreateCache(userId);
         T clone = CloneUtil.forceClone(object);
-        Container container = new Container(clone);
+        Container container = new Container(clone, System.currentTimeMillis());
         cache.put(cacheName, container);
+        statsFor(cacheName).recordPut();
         log.debug("Cached object for key='{}'", userId);
     }
 
@@ -104,17 +140,219 @@ public final class CacheUtils {
         return CloneUtil.forceClone((T) value.data());
     }
 
-    public static void clear(String userId, String cacheName) {
+    public static <T> T getOrLoad(String userId, String cacheName, Supplier<T> loader) {
+        return (T) load(userId, cacheName, loader, CloneUtil::forceClone);
+    }
+
+    public static <T> T getOrLoad(String userId, String cacheName, Supplier<T> loader, UnaryOperator<T> copier) {
+        return (T) load(userId, cacheName, loader, value -> copier.apply((T) value));
+    }
+
+    public static <T> List<T> getOrLoadList(String userId, String cacheName, Supplier<? extends Collection<T>> loader) {
+        List<T> data = (List<T>) load(userId, cacheName, loader, value -> CloneUtil.cloneList((Collection<?>) value));
+        return data != null ? data : Collections.emptyList();
+    }
+
+    private static Object load(String userId, String cacheName, Supplier<?> loader, UnaryOperator<Object> copier) {
+        Cache<String, Container> cache = getOrCreateCache(userId);
+        Container value = cache.get(cacheName);
+        CacheStats cacheStats = statsFor(cacheName);
+        long now = System.currentTimeMillis();
+
+        if (value != null) {
+            if (value.data() == null) {
+                if (now - value.loadedAt() < NEGATIVE_TTL_MILLIS) {
+                    cacheStats.recordNegativeHit();
+                    return null;
+                }
+            } else if (now - value.loadedAt() < SOFT_TTL_MILLIS) {
+                cacheStats.recordHit();
+                return copier.apply(value.data());
+            } else {
+                cacheStats.recordStaleHit();
+                refresh(userId, cacheName, loader, copier);
+                return copier.apply(value.data());
+            }
+        }
+
+        cacheStats.recordMiss();
+        Object loaded = loads.execute(flightKey(userId, cacheName), () -> loadAndStore(userId, cacheName, loader, copier));
+        return loaded != null ? copier.apply(loaded) : null;
+    }
+
+    private static void refresh(String userId, String cacheName, Supplier<?> loader, UnaryOperator<Object> copier) {
+        String key = flightKey(userId, cacheName);
+        Executor executor = refreshExecutor;
+        if (executor == null) {
+            if (!loads.isInFlight(key)) {
+                loads.execute(key, () -> loadAndStore(userId, cacheName, loader, copier));
+                statsFor(cacheName).recordRefresh();
+            }
+        } else if (loads.executeAsync(key, () -> loadAndStore(userId, cacheName, loader, copier), executor)) {
+            statsFor(cacheName).recordRefresh();
+        }
+    }
+
+    private static Object loadAndStore(String userId, String cacheName, Supplier<?> loader, UnaryOperator<Object> copier) {
+        long generation = generation(userId).get();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object data = loader.get();
+            Object stored = data != null ? copier.apply(data) : null;
+            if (generation(userId).get() == generation) {
+                getOrCreateCache(userId).put(cacheName, new Container(stored, System.currentTimeMillis()));
+                statsFor(cacheName).recordPut();
+            }
+            success = true;
+            return stored;
+        } finally {
+            statsFor(cacheName).recordLoad(System.nanoTime() - start, success);
+        }
+    }
+
+    private static AtomicLong generation(String userId) {
+        return generations.computeIfAbsent(userId, k -> new AtomicLong());
+    }
+
+    private static String flightKey(String userId, String cacheName) {
+        return userId + ':' + cacheName;
+    }
+
+    public static void setRefreshExecutor(Executor executor) {
+        refreshExecutor = executor;
+    }
+
+    /**
+     * Entry counts come from the Ehcache tier statistics; only up to {@link #STATISTICS_SAMPLE} entries are
+     * read to split them by cache name and to estimate sizes from the first {@link #SIZE_SAMPLE} of each name.
+     */
+    public static Map<String, Map<String, Long>> getStatistics() {
+        Map<String, long[]> footprint = new HashMap<>();
+        long mappings = 0;
+        long sampled = 0;
+        int quota = Math.max(1, STATISTICS_SAMPLE / Math.max(1, tokenCaches.size()));
+        for (Map.Entry<String, Cache<String, Container>> tokenCache : tokenCaches.entrySet()) {
+            mappings += mappings("cache_" + tokenCache.getKey());
+            int read = 0;
+            for (Cache.Entry<String, Container> entry : tokenCache.getValue()) {
+                if (read++ == quota || sampled == STATISTICS_SAMPLE) break;
+                sampled++;
+                long[] usage = footprint.computeIfAbsent(statisticsName(entry.getKey()), k -> new long[3]);
+                usage[0]++;
+                if (usage[1] < SIZE_SAMPLE) {
+                    usage[1]++;
+                    usage[2] += sizeOf(entry.getValue());
+                }
+            }
+        }
+
+        long total = mappings;
+        long seen = sampled;
+        Map<String, Map<String, Long>> snapshot = new TreeMap<>();
+        stats.forEach((name, cacheStats) -> {
+            long[] usage = footprint.getOrDefault(name, new long[3]);
+            long entries = seen == 0 ? 0 : Math.round((double) total * usage[0] / seen);
+            long sizeBytes = usage[1] == 0 ? 0 : usage[2] / usage[1] * entries;
+            snapshot.put(name, cacheStats.snapshot(entries, sizeBytes));
+        });
+        return snapshot;
+    }
+
+    private static long mappings(String cacheName) {
+        try {
+            TierStatistics onHeap = statisticsService.getCacheStatistics(cacheName).getTierStatistics().get("OnHeap");
+            return onHeap != null ? onHeap.getMappings() : 0;
+        } catch (IllegalArgumentException e) {
+            // the cache was removed after the snapshot of token caches was taken
+            return 0;
+        }
+    }
+
+    public static long getCoalescedLoads() {
+        return loads.getCoalesced();
+    }
+
+    static String statisticsName(String cacheName) {
+        String[] parts = cacheName.split(":", 3);
+        return parts.length == 3 ? parts[0] + ':' + parts[1] : parts[0];
+    }
+
+    private static CacheStats statsFor(String cacheName) {
+        return stats.computeIfAbsent(statisticsName(cacheName), k -> new CacheStats());
+    }
+
+    private static long sizeOf(Container container) {
+        String json = CloneUtil.toJson(container.data());
+        return json != null ? json.getBytes(StandardCharsets.UTF_8).length : 0;
+    }
+
+    public static String taggedKey(String userId, String key, CacheTag... tags) {
         Cache<String, Container> cache = getOrCreateCache(userId);
-        cache.remove(cacheName);
+        StringBuilder builder = new StringBuilder(key).append('@');
+        for (CacheTag tag : tags) {
+            Container version = cache.get(tag.key());
+            if (version == null) {
+                Container created = new Container(Long.toHexString(tagSequence.incrementAndGet()), System.currentTimeMillis());
+                Container existing = cache.putIfAbsent(tag.key(), created);
+                version = existing != null ? existing : created;
+            }
+            builder.append(version.data()).append('.');
+        }
+        return builder.toString();
+    }
+
+    public static String keyOf(String... parts) {
+        StringBuilder builder = new StringBuilder();
+        for (String part : parts) {
+            if (!builder.isEmpty()) builder.append('|');
+            builder.append(part == null ? "-" : part.length() + ":" + part);
+        }
+        return builder.toString();
+    }
+
+    public static void invalidate(String userId, CacheTag... tags) {
+        for (CacheTag tag : tags) {
+            clear(userId, tag.key());
+        }
+    }
+
+    public static void setInvalidationBus(CacheInvalidationBus bus) {
+        invalidationBus = bus;
+    }
+
+    public static void clear(String userId, String cacheName) {
+        evict(userId, cacheName);
+        CacheInvalidationBus bus = invalidationBus;
+        if (bus != null) bus.publish(userId, cacheName);
         log.info("Cleared cache entry for userId='{}'", userId);
     }
 
     public static void clearAll(String userId) {
+        evictAll(userId);
+        CacheInvalidationBus bus = invalidationBus;
+        if (bus != null) bus.publishAll(userId);
+        log.info("Cleared all cache entries for userId='{}'", userId);
+    }
+
+    public static void evict(String userId, String cacheName) {
+        generation(userId).incrementAndGet();
+        Cache<String, Container> cache = tokenCaches.get(userId);
+        if (cache != null) {
+            cache.remove(cacheName);
+        }
+    }
+
+    public static void evictAll(String userId) {
+        generation(userId).incrementAndGet();
         String cacheName = "cache_" + userId;
         cacheManager.removeCache(cacheName);
         tokenCaches.remove(userId);
-        log.info("Cleared all cache entries for userId='{}'", userId);
+    }
+
+    public static void evictEverything() {
+        tokenCaches.keySet().forEach(CacheUtils::evictAll);
+        log.info("Evicted all local caches");
     }
 
     private static void cleanupUnusedCaches() {
@@ -126,6 +364,7 @@ public final class CacheUtils {
                 cacheManager.removeCache(cacheName);
                 tokenCaches.remove(cacheKey);
                 lastAccessMap.remove(cacheKey);
+                generations.remove(cacheKey);
                 log.info("Evicted unused cache for userId='{}'", cacheKey);
             }
         }
@@ -135,10 +374,11 @@ public final class CacheUtils {
         cacheManager.close();
         tokenCaches.clear();
         lastAccessMap.clear();
+        generations.clear();
         cleaner.shutdownNow();
         log.info("CacheManager closed and all caches cleared");
     }
 
-    private record Container(Object data) implements Serializable {
+    private record Container(Object data, long loadedAt) implements Serializable {
     }
 }
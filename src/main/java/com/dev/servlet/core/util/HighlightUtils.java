@@ -0,0 +1,44 @@
+package com.dev.servlet.core.util;
+
+import lombok.NoArgsConstructor;
+import org.owasp.encoder.Encode;
+
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class HighlightUtils {
+    public static final char START = '\uE000';
+    public static final char STOP = '\uE001';
+
+    public static String headlineOptions(boolean highlightAll) {
+        String options = "StartSel=" + START + ", StopSel=" + STOP;
+        return highlightAll
+                ? options + ", HighlightAll=true"
+                : options + ", MaxWords=30, MinWords=10, ShortWord=2, MaxFragments=2, FragmentDelimiter=\" ... \"";
+    }
+
+    public static String toHtml(String highlighted) {
+        if (highlighted == null) return null;
+
+        StringBuilder html = new StringBuilder(highlighted.length() + 16);
+        boolean open = false;
+        int start = 0;
+        for (int i = 0; i < highlighted.length(); i++) {
+            char c = highlighted.charAt(i);
+            if (c != START && c != STOP) continue;
+
+            html.append(Encode.forHtml(highlighted.substring(start, i)));
+            if (c == START && !open) {
+                html.append("<mark>");
+                open = true;
+            } else if (c == STOP && open) {
+                html.append("</mark>");
+                open = false;
+            }
+            start = i + 1;
+        }
+        html.append(Encode.forHtml(highlighted.substring(start)));
+        if (open) {
+            html.append("</mark>");
+        }
+        return html.toString();
+    }
+}
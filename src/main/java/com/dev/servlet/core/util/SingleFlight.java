@@ -0,0 +1,79 @@
+package com.dev.servlet.core.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public final class SingleFlight<K> {
+
+    private final ConcurrentMap<K, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(K key, Supplier<T> loader) {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            coalesced.increment();
+            return (T) await(inFlight);
+        }
+
+        try {
+            T value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    public boolean executeAsync(K key, Supplier<?> loader, Executor executor) {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        if (calls.putIfAbsent(key, call) != null) {
+            return false;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    call.complete(loader.get());
+                } catch (Throwable e) {
+                    call.completeExceptionally(e);
+                } finally {
+                    calls.remove(key, call);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            calls.remove(key, call);
+            call.completeExceptionally(e);
+            return false;
+        }
+    }
+
+    public boolean isInFlight(K key) {
+        return calls.containsKey(key);
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    private static Object await(CompletableFuture<Object> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.dev.servlet.core.util;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.io.Serializable;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final AtomicLong STATE = new AtomicLong();
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        return next();
+    }
+
+    public static String next() {
+        return nextUuid(STATE, System::currentTimeMillis).toString();
+    }
+
+    static UUID nextUuid(AtomicLong sequence, LongSupplier clock) {
+        long now = clock.getAsLong() << COUNTER_BITS;
+        long state = sequence.updateAndGet(previous -> Math.max(previous + 1, now));
+
+        long millis = state >>> COUNTER_BITS;
+        long counter = state & ((1L << COUNTER_BITS) - 1);
+        long msb = (millis << 16) | 0x7000L | counter;
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    public static long timestampOf(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -6,6 +6,7 @@ import com.dev.servlet.domain.records.Sort;
 import com.dev.servlet.infrastructure.persistence.IPageRequest;
 import com.dev.servlet.infrastructure.persistence.internal.PageRequest;
 import lombok.NoArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -23,6 +24,7 @@ public final class URIUtils {
     public static final String DEFAULT_SORT_FIELD = "id";
     public static final String DEFAULT_SORT_ORDER = "asc";
     public static final int DEFAULT_MIN_PAGE_SIZE = 1;
+    public static final int DEFAULT_MAX_PAGE_SIZE = 100;
     public static final int DEFAULT_INITIAL_PAGE = 1;
 
     public static String getResourceId(HttpServletRequest httpServletRequest) {
@@ -62,7 +64,8 @@ public final class URIUtils {
         int pageInitial = parsePageNumber(queryParams);
         int pageSize = parsePageSize(queryParams);
         Sort sort = createSort(queryParams);
-        return PageRequest.builder().initialPage(pageInitial).pageSize(pageSize).sort(sort).build();
+        String cursor = StringUtils.trimToNull(queryParams.get("cursor"));
+        return PageRequest.builder().initialPage(pageInitial).pageSize(pageSize).sort(sort).cursor(cursor).build();
     }
 
     private static int parsePageNumber(Map<String, String> queryParams) {
@@ -78,7 +81,8 @@ public final class URIUtils {
         try {
             String parameter = queryParams.getOrDefault("limit", String.valueOf(DEFAULT_MIN_PAGE_SIZE));
             int limit = Math.abs(Integer.parseInt(parameter));
-            return Math.max(limit, DEFAULT_MIN_PAGE_SIZE);
+            int maxLimit = PropertiesUtil.getProperty("pagination.max.limit", DEFAULT_MAX_PAGE_SIZE);
+            return Math.min(Math.max(limit, DEFAULT_MIN_PAGE_SIZE), maxLimit);
         } catch (NumberFormatException e) {
             return DEFAULT_MIN_PAGE_SIZE;
         }
@@ -102,7 +106,10 @@ public final class URIUtils {
     }
 
     private static PageRequest buildPagination() {
-        int page = PropertiesUtil.getProperty("pagination.page", DEFAULT_INITIAL_PAGE);
+        return defaultPageRequest(PropertiesUtil.getProperty("pagination.page", DEFAULT_INITIAL_PAGE));
+    }
+
+    public static PageRequest defaultPageRequest(int page) {
         int size = PropertiesUtil.getProperty("pagination.limit", DEFAULT_MIN_PAGE_SIZE);
         String field = PropertiesUtil.getProperty("pagination.sort", DEFAULT_SORT_FIELD);
         String order = PropertiesUtil.getProperty("pagination.order", DEFAULT_SORT_ORDER);
@@ -36,8 +36,8 @@ import java.util.List;
 public class Category {
     @Id
     @Column(name = "id", updatable = false)
-    @GeneratedValue(generator = "uuid")
-    @GenericGenerator(name = "uuid", strategy = "org.hibernate.id.UUIDGenerator")
+    @GeneratedValue(generator = "time-ordered-uuid")
+    @GenericGenerator(name = "time-ordered-uuid", strategy = "com.dev.servlet.core.util.TimeOrderedUuidGenerator")
     private String id;
 
     @Column(name = "name", nullable = false)
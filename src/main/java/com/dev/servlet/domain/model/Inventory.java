@@ -15,7 +15,10 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 @Getter
 @Setter
@@ -25,11 +28,14 @@ import javax.persistence.Table;
 @javax.persistence.Entity
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "tb_inventory")
+@NamedEntityGraph(name = Inventory.DETAIL_GRAPH, attributeNodes = @NamedAttributeNode("product"))
 public class Inventory {
+    public static final String DETAIL_GRAPH = "Inventory.detail";
+
     @Id
     @Column(name = "id", updatable = false)
-    @GeneratedValue(generator = "uuid")
-    @GenericGenerator(name = "uuid", strategy = "org.hibernate.id.UUIDGenerator")
+    @GeneratedValue(generator = "time-ordered-uuid")
+    @GenericGenerator(name = "time-ordered-uuid", strategy = "com.dev.servlet.core.util.TimeOrderedUuidGenerator")
     private String id;
 
     @Column(name = "quantity", nullable = false)
@@ -42,6 +48,10 @@ public class Inventory {
     @ColumnTransformer(write = "UPPER(?)")
     private String status;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id")
     private Product product;
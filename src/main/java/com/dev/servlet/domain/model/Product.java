@@ -18,6 +18,8 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
@@ -32,12 +34,15 @@ import java.util.Date;
 @javax.persistence.Entity
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "tb_product")
+@NamedEntityGraph(name = Product.DETAIL_GRAPH, attributeNodes = @NamedAttributeNode("category"))
 @ToString(exclude = {"user", "category"})
 public class Product {
+    public static final String DETAIL_GRAPH = "Product.detail";
+
     @Id
     @Column(name = "id", updatable = false)
-    @GeneratedValue(generator = "uuid")
-    @GenericGenerator(name = "uuid", strategy = "org.hibernate.id.UUIDGenerator")
+    @GeneratedValue(generator = "time-ordered-uuid")
+    @GenericGenerator(name = "time-ordered-uuid", strategy = "com.dev.servlet.core.util.TimeOrderedUuidGenerator")
     private String id;
 
     @Column(name = "name", length = 100, nullable = false)
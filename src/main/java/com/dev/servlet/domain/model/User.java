@@ -21,6 +21,8 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 import java.util.ArrayList;
@@ -33,13 +35,16 @@ import java.util.List;
 @AllArgsConstructor
 @javax.persistence.Entity
 @Table(name = "tb_user")
+@NamedEntityGraph(name = User.DETAIL_GRAPH, attributeNodes = @NamedAttributeNode("perfis"))
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @ToString(exclude = "credentials")
 public class User {
+    public static final String DETAIL_GRAPH = "User.detail";
+
     @Id
     @Column(name = "id", updatable = false)
-    @GeneratedValue(generator = "short-uuid")
-    @GenericGenerator(name = "short-uuid", strategy = "com.dev.servlet.core.util.ShortUuidGenerator")
+    @GeneratedValue(generator = "time-ordered-uuid")
+    @GenericGenerator(name = "time-ordered-uuid", strategy = "com.dev.servlet.core.util.TimeOrderedUuidGenerator")
     private String id;
 
     @Embedded
@@ -28,8 +28,8 @@ public class UserActivityLog {
 
     @Id
     @Column(name = "id", updatable = false)
-    @GeneratedValue(generator = "short-uuid")
-    @GenericGenerator(name = "short-uuid", strategy = "com.dev.servlet.core.util.ShortUuidGenerator")
+    @GeneratedValue(generator = "time-ordered-uuid")
+    @GenericGenerator(name = "time-ordered-uuid", strategy = "com.dev.servlet.core.util.TimeOrderedUuidGenerator")
     private String id;
 
     @Column(name = "user_id", nullable = false)
@@ -0,0 +1,14 @@
+package com.dev.servlet.domain.model.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ResourceType {
+    CATEGORY("tb_category"),
+    PRODUCT("tb_product"),
+    INVENTORY("tb_inventory");
+
+    private final String table;
+}
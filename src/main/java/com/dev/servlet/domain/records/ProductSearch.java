@@ -0,0 +1,4 @@
+package com.dev.servlet.domain.records;
+
+public record ProductSearch(String userId, String text, String categoryId) {
+}
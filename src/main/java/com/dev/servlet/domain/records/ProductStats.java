@@ -0,0 +1,8 @@
+package com.dev.servlet.domain.records;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+public record ProductStats(long productCount, BigDecimal totalPrice, long stockUnits, BigDecimal inventoryValue)
+        implements Serializable {
+}
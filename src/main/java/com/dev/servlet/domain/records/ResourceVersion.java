@@ -0,0 +1,29 @@
+package com.dev.servlet.domain.records;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.concurrent.TimeUnit;
+
+public record ResourceVersion(String etag, long lastModified) {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    public boolean matches(String ifNoneMatch, long ifModifiedSince) {
+        if (StringUtils.isNotBlank(ifNoneMatch)) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if ("*".equals(tag) || opaque(tag).equals(opaque(etag))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        return ifModifiedSince > 0
+               && TimeUnit.MILLISECONDS.toSeconds(lastModified) <= TimeUnit.MILLISECONDS.toSeconds(ifModifiedSince);
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+}
@@ -0,0 +1,4 @@
+package com.dev.servlet.domain.records;
+
+public record StockAdjustment(String id, int delta) {
+}
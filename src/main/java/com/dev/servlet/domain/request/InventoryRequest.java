@@ -7,5 +7,6 @@ public record InventoryRequest(String id,
                                Integer quantity,
                                String description,
                                UserRequest user,
-                               ProductRequest product) {
+                               ProductRequest product,
+                               Long version) {
 }
@@ -0,0 +1,7 @@
+package com.dev.servlet.domain.request;
+
+import lombok.Builder;
+
+@Builder
+public record ShardMoveRequest(String id, String shard) {
+}
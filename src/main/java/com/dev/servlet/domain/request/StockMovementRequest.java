@@ -0,0 +1,24 @@
+package com.dev.servlet.domain.request;
+
+import com.dev.servlet.domain.records.StockAdjustment;
+import lombok.Builder;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Builder
+public record StockMovementRequest(String movements) {
+
+    public List<StockAdjustment> adjustments() {
+        List<StockAdjustment> adjustments = new ArrayList<>();
+        for (String movement : StringUtils.split(StringUtils.defaultString(movements), ';')) {
+            String[] parts = StringUtils.split(movement, ':');
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid stock movement: " + movement);
+            }
+            adjustments.add(new StockAdjustment(parts[0].trim(), Integer.parseInt(parts[1].trim())));
+        }
+        return adjustments;
+    }
+}
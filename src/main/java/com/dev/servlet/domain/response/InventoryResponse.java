@@ -1,12 +1,26 @@
 package com.dev.servlet.domain.response;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
 
 @Data
+@NoArgsConstructor
 public final class InventoryResponse {
     private String id;
     private Integer quantity;
     private String description;
     private String status;
     private ProductResponse product;
+    private Long version;
+
+    public InventoryResponse(String id, Integer quantity, String description, String status,
+                             String productId, String productName, BigDecimal productPrice) {
+        this.id = id;
+        this.quantity = quantity;
+        this.description = description;
+        this.status = status;
+        this.product = new ProductResponse(productId, productName, productPrice);
+    }
 }
@@ -1,5 +1,6 @@
 package com.dev.servlet.domain.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,10 +20,23 @@ public final class ProductResponse {
     private Date registerDate;
     private BigDecimal price;
     private CategoryResponse category;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nameHighlight;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String descriptionHighlight;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double rank;
 
     public ProductResponse(String id, String name, BigDecimal price) {
         this.id = id;
         this.name = name;
         this.price = price;
     }
+
+    public ProductResponse(String id, String name, String description, String url, Date registerDate, BigDecimal price) {
+        this(id, name, price);
+        this.description = description;
+        this.url = url;
+        this.registerDate = registerDate;
+    }
 }
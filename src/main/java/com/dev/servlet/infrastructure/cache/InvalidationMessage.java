@@ -0,0 +1,86 @@
+package com.dev.servlet.infrastructure.cache;
+
+import com.dev.servlet.core.util.CacheInvalidationBus;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record InvalidationMessage(String origin, Set<Event> events) {
+
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final String LINE_SEPARATOR = "\n";
+
+    public record Event(String userId, String cacheName) {
+        public boolean isAll() {
+            return CacheInvalidationBus.ALL_ENTRIES.equals(cacheName);
+        }
+
+        private String encode() {
+            return userId + FIELD_SEPARATOR + cacheName;
+        }
+    }
+
+    public static Set<Event> coalesce(Collection<Event> events) {
+        Set<String> fullyInvalidated = events.stream()
+                .filter(Event::isAll)
+                .map(Event::userId)
+                .collect(Collectors.toSet());
+
+        Set<Event> coalesced = new LinkedHashSet<>();
+        for (Event event : events) {
+            if (event.isAll() || !fullyInvalidated.contains(event.userId())) {
+                coalesced.add(event);
+            }
+        }
+        return coalesced;
+    }
+
+    public static List<String> encode(String origin, Collection<Event> events, int maxPayloadBytes) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder current = new StringBuilder(origin);
+        int currentBytes = bytes(origin);
+
+        for (Event event : coalesce(events)) {
+            String line = LINE_SEPARATOR + event.encode();
+            int lineBytes = bytes(line);
+            if (currentBytes + lineBytes > maxPayloadBytes && current.length() > origin.length()) {
+                payloads.add(current.toString());
+                current = new StringBuilder(origin);
+                currentBytes = bytes(origin);
+            }
+            current.append(line);
+            currentBytes += lineBytes;
+        }
+
+        if (current.length() > origin.length()) {
+            payloads.add(current.toString());
+        }
+        return payloads;
+    }
+
+    public static InvalidationMessage decode(String payload) {
+        if (StringUtils.isBlank(payload)) {
+            return new InvalidationMessage(null, Set.of());
+        }
+
+        String[] lines = payload.split(LINE_SEPARATOR);
+        Set<Event> events = new LinkedHashSet<>();
+        for (int i = 1; i < lines.length; i++) {
+            String[] fields = lines[i].split(FIELD_SEPARATOR, 2);
+            if (fields.length == 2 && StringUtils.isNoneBlank(fields[0], fields[1])) {
+                events.add(new Event(fields[0], fields[1]));
+            }
+        }
+        return new InvalidationMessage(lines[0], events);
+    }
+
+    private static int bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
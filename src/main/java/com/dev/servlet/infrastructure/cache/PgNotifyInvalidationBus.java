@@ -0,0 +1,211 @@
+package com.dev.servlet.infrastructure.cache;
+
+import com.dev.servlet.config.EntityManagerProducer;
+import com.dev.servlet.core.util.CacheInvalidationBus;
+import com.dev.servlet.core.util.CacheUtils;
+import com.dev.servlet.core.util.PropertiesUtil;
+import com.dev.servlet.infrastructure.cache.InvalidationMessage.Event;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Singleton
+@NoArgsConstructor
+public class PgNotifyInvalidationBus implements CacheInvalidationBus {
+
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final int MAX_PENDING_EVENTS = 10_000;
+    private static final int POLL_TIMEOUT_MS = 1000;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Queue<Event> pending = new ConcurrentLinkedQueue<>();
+
+    @Inject
+    private EntityManagerProducer producer;
+
+    private boolean enabled;
+    private String channel;
+    private long flushIntervalMs;
+    private long reconnectDelayMs;
+
+    private volatile boolean running;
+    private ScheduledExecutorService flusher;
+    private Thread listener;
+
+    @PostConstruct
+    public void init() {
+        this.enabled = PropertiesUtil.getProperty("cache.invalidation.enabled", true);
+        this.channel = PropertiesUtil.getProperty("cache.invalidation.channel", "cache_invalidation");
+        this.flushIntervalMs = PropertiesUtil.getProperty("cache.invalidation.flush.ms", 50L);
+        this.reconnectDelayMs = PropertiesUtil.getProperty("cache.invalidation.reconnect.ms", 5000L);
+
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + channel);
+        }
+    }
+
+    @Override
+    public void publish(String userId, String cacheName) {
+        if (!running || userId == null || cacheName == null) return;
+        pending.offer(new Event(userId, cacheName));
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || running) {
+            log.info("[PgNotifyInvalidationBus] not started [enabled={}, running={}]", enabled, running);
+            return;
+        }
+
+        running = true;
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "cache-invalidation-flush"));
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+
+        listener = daemon(this::listen, "cache-invalidation-listen");
+        listener.start();
+
+        CacheUtils.setInvalidationBus(this);
+        log.info("[PgNotifyInvalidationBus] started [node={}, channel={}, flushIntervalMs={}]",
+                nodeId, channel, flushIntervalMs);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+
+        CacheUtils.setInvalidationBus(null);
+        running = false;
+        flusher.shutdown();
+        flush();
+        listener.interrupt();
+        log.info("[PgNotifyInvalidationBus] stopped [node={}]", nodeId);
+    }
+
+    void flush() {
+        List<Event> events = new ArrayList<>();
+        Event event;
+        while ((event = pending.poll()) != null) {
+            events.add(event);
+        }
+        if (events.isEmpty()) return;
+
+        List<String> payloads = InvalidationMessage.encode(nodeId, events, MAX_PAYLOAD_BYTES);
+        SessionFactory sessionFactory = producer.getEntityManagerFactory().unwrap(SessionFactory.class);
+        try (Session session = sessionFactory.openSession()) {
+            session.doWork(connection -> {
+                try (PreparedStatement ps = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                    for (String payload : payloads) {
+                        ps.setString(1, channel);
+                        ps.setString(2, payload);
+                        ps.execute();
+                    }
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            });
+            log.debug("Published {} cache invalidation(s) in {} notification(s)", events.size(), payloads.size());
+        } catch (Exception e) {
+            log.warn("Failed to publish cache invalidations, re-queueing {} event(s): {}", events.size(), e.getMessage());
+            if (pending.size() + events.size() <= MAX_PENDING_EVENTS) {
+                pending.addAll(events);
+            }
+        }
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = openListenConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (reconnecting) {
+                    // notifications may have been missed while disconnected
+                    CacheUtils.evictEverything();
+                }
+                log.info("Listening for cache invalidations on channel '{}'", channel);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) continue;
+                    for (PGNotification notification : notifications) {
+                        try {
+                            apply(InvalidationMessage.decode(notification.getParameter()));
+                        } catch (RuntimeException e) {
+                            log.error("Skipping cache invalidation '{}': {}", notification.getParameter(), e.getMessage(), e);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) break;
+                reconnecting = true;
+                log.warn("Cache invalidation listener disconnected, retrying in {}ms: {}", reconnectDelayMs, e.getMessage());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(reconnectDelayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void apply(InvalidationMessage message) {
+        if (nodeId.equals(message.origin())) return;
+
+        for (Event event : message.events()) {
+            if (event.isAll()) {
+                CacheUtils.evictAll(event.userId());
+            } else {
+                CacheUtils.evict(event.userId(), event.cacheName());
+            }
+        }
+        log.debug("Applied {} remote cache invalidation(s) from node {}", message.events().size(), message.origin());
+    }
+
+    private Connection openListenConnection() throws SQLException {
+        Map<String, Object> properties = producer.getEntityManagerFactory().getProperties();
+        String url = jdbcProperty(properties, "url");
+        String user = jdbcProperty(properties, "user");
+        String password = jdbcProperty(properties, "password");
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    private static String jdbcProperty(Map<String, Object> properties, String name) {
+        for (String prefix : List.of("jakarta.persistence.jdbc.", "javax.persistence.jdbc.", "hibernate.connection.")) {
+            Object value = properties.get(prefix + name);
+            if (value != null) return value.toString();
+        }
+        return null;
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
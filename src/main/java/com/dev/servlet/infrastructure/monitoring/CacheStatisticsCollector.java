@@ -0,0 +1,257 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import com.dev.servlet.config.EntityManagerProducer;
+import com.dev.servlet.core.util.CacheUtils;
+import com.dev.servlet.core.util.PropertiesUtil;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.SerializationUtils;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@ApplicationScoped
+@NoArgsConstructor
+public class CacheStatisticsCollector {
+
+    public static final String APPLICATION = "application";
+    public static final String HIBERNATE = "hibernate";
+
+    private static final String JMX_DOMAIN = "com.dev.servlet";
+    private static final String RATE_SUFFIX = "_per_sec";
+    private static final Set<String> RATE_COUNTERS = Set.of("hits", "misses", "puts", "evictions", "loads");
+
+    @Inject
+    private EntityManagerProducer producer;
+
+    private long stepSeconds;
+    private RollingWindow window;
+    private ScheduledExecutorService sampler;
+    private volatile Map<String, Map<String, Map<String, Long>>> latest = Map.of();
+    private final Set<ObjectName> registered = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        this.stepSeconds = PropertiesUtil.getProperty("cache.stats.step.seconds", 10L);
+        long windowSeconds = PropertiesUtil.getProperty("cache.stats.window.seconds", 300L);
+        this.window = new RollingWindow(TimeUnit.SECONDS.toMillis(windowSeconds));
+    }
+
+    public synchronized void start() {
+        if (sampler != null) return;
+
+        sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-statistics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::sampleQuietly, 0, stepSeconds, TimeUnit.SECONDS);
+        log.info("[CacheStatisticsCollector] started [stepSeconds={}]", stepSeconds);
+    }
+
+    public synchronized void stop() {
+        if (sampler == null) return;
+
+        sampler.shutdownNow();
+        sampler = null;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (Exception e) {
+                log.debug("Failed to unregister MBean {}: {}", name, e.getMessage());
+            }
+        }
+        registered.clear();
+        log.info("[CacheStatisticsCollector] stopped");
+    }
+
+    public Map<String, Object> getStatistics() {
+        sample();
+        Map<String, Double> rates = window.rates();
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("timestamp", System.currentTimeMillis());
+        statistics.put("window_seconds", TimeUnit.MILLISECONDS.toSeconds(window.spanMillis()));
+        statistics.put("coalesced_loads", CacheUtils.getCoalescedLoads());
+        latest.forEach((layer, caches) -> {
+            Map<String, Map<String, Object>> layerStatistics = new TreeMap<>();
+            caches.forEach((name, counters) -> layerStatistics.put(name, withRates(layer, name, counters, rates)));
+            statistics.put(layer, layerStatistics);
+        });
+        statistics.put("persistence", persistenceStatistics());
+        return statistics;
+    }
+
+    Map<String, Long> counters(String layer, String name) {
+        return latest.getOrDefault(layer, Map.of()).getOrDefault(name, Map.of());
+    }
+
+    Map<String, Object> rates(String layer, String name) {
+        return withRates(layer, name, Map.of(), window.rates());
+    }
+
+    long windowSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(window.spanMillis());
+    }
+
+    private void sampleQuietly() {
+        try {
+            sample();
+        } catch (Exception e) {
+            log.warn("Failed to sample cache statistics: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void sample() {
+        Map<String, Map<String, Map<String, Long>>> snapshot = new LinkedHashMap<>();
+        snapshot.put(APPLICATION, CacheUtils.getStatistics());
+        snapshot.put(HIBERNATE, hibernateStatistics());
+        latest = snapshot;
+
+        Map<String, Long> flat = new HashMap<>();
+        snapshot.forEach((layer, caches) -> caches.forEach((name, counters) -> {
+            register(layer, name);
+            counters.forEach((counter, value) -> flat.put(key(layer, name, counter), value));
+        }));
+        window.add(System.currentTimeMillis(), flat);
+    }
+
+    private Map<String, Object> withRates(String layer, String name, Map<String, Long> counters, Map<String, Double> rates) {
+        Map<String, Object> values = new LinkedHashMap<>(counters);
+        for (String counter : RATE_COUNTERS) {
+            values.put(counter + RATE_SUFFIX, round(rates.getOrDefault(key(layer, name, counter), 0.0)));
+        }
+        double hits = rates.getOrDefault(key(layer, name, "hits"), 0.0);
+        double misses = rates.getOrDefault(key(layer, name, "misses"), 0.0);
+        values.put("hit_ratio", hits + misses == 0 ? 0.0 : round(hits / (hits + misses)));
+        return values;
+    }
+
+    private Map<String, Map<String, Long>> hibernateStatistics() {
+        SessionFactoryImplementor sessionFactory = sessionFactory();
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, Long> evictions = jcacheEvictions();
+
+        Map<String, Map<String, Long>> regions = new TreeMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) continue;
+
+            long entries = region.getElementCountInMemory();
+            long sizeBytes = region.getSizeInMemory();
+            if (sizeBytes < 0) {
+                sizeBytes = estimateRegionSize(sessionFactory.getCache().getRegionFactory(), regionName, entries);
+            }
+
+            Map<String, Long> counters = new LinkedHashMap<>();
+            counters.put("hits", region.getHitCount());
+            counters.put("misses", region.getMissCount());
+            counters.put("puts", region.getPutCount());
+            counters.put("evictions", evictions.getOrDefault(regionName, 0L));
+            counters.put("entries", Math.max(entries, 0));
+            counters.put("size_bytes", sizeBytes);
+            regions.put(regionName, counters);
+        }
+        return regions;
+    }
+
+    private Map<String, Object> persistenceStatistics() {
+        Statistics statistics = sessionFactory().getStatistics();
+        Map<String, Object> persistence = new LinkedHashMap<>();
+        persistence.put("entity_loads", statistics.getEntityLoadCount());
+        persistence.put("entity_fetches", statistics.getEntityFetchCount());
+        persistence.put("collection_fetches", statistics.getCollectionFetchCount());
+        persistence.put("queries", statistics.getQueryExecutionCount());
+        persistence.put("query_max_ms", statistics.getQueryExecutionMaxTime());
+        persistence.put("query_cache_hits", statistics.getQueryCacheHitCount());
+        persistence.put("query_cache_misses", statistics.getQueryCacheMissCount());
+        persistence.put("transactions", statistics.getTransactionCount());
+        return persistence;
+    }
+
+    private Map<String, Long> jcacheEvictions() {
+        Map<String, Long> evictions = new HashMap<>();
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (ObjectName name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                Object value = server.getAttribute(name, "CacheEvictions");
+                evictions.merge(name.getKeyProperty("Cache"), ((Number) value).longValue(), Long::sum);
+            }
+        } catch (Exception e) {
+            log.debug("JCache statistics unavailable: {}", e.getMessage());
+        }
+        return evictions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private long estimateRegionSize(RegionFactory regionFactory, String regionName, long entries) {
+        if (!(regionFactory instanceof JCacheRegionFactory jcache) || entries <= 0) return 0;
+
+        javax.cache.Cache<Object, Object> cache = jcache.getCacheManager().getCache(regionName);
+        if (cache == null) return 0;
+
+        long sampled = 0;
+        long bytes = 0;
+        try {
+            org.ehcache.Cache<Object, Object> store = cache.unwrap(org.ehcache.Cache.class);
+            for (org.ehcache.Cache.Entry<Object, Object> entry : store) {
+                if (sampled == CacheUtils.SIZE_SAMPLE) break;
+                if (entry.getValue() instanceof Serializable value) {
+                    bytes += SerializationUtils.serialize(value).length;
+                    sampled++;
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Failed to estimate size of region {}: {}", regionName, e.getMessage());
+        }
+        return sampled == 0 ? 0 : bytes / sampled * entries;
+    }
+
+    private void register(String layer, String name) {
+        try {
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=CacheStatistics,layer=" + layer
+                    + ",name=" + ObjectName.quote(name));
+            if (registered.add(objectName)) {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                if (!server.isRegistered(objectName)) {
+                    server.registerMBean(new CacheStatisticsView(this, layer, name), objectName);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to register cache statistics MBean for {}/{}: {}", layer, name, e.getMessage());
+        }
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return producer.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+    }
+
+    private static String key(String layer, String name, String counter) {
+        return layer + '/' + name + '/' + counter;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+public interface CacheStatisticsMXBean {
+    String getLayer();
+    String getName();
+    long getHits();
+    long getMisses();
+    long getPuts();
+    long getEvictions();
+    long getEntries();
+    long getSizeBytes();
+    long getAverageLoadMillis();
+    double getHitsPerSecond();
+    double getMissesPerSecond();
+    double getPutsPerSecond();
+    double getEvictionsPerSecond();
+    double getHitRatio();
+    long getWindowSeconds();
+}
@@ -0,0 +1,95 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+class CacheStatisticsView implements CacheStatisticsMXBean {
+
+    private final CacheStatisticsCollector collector;
+    private final String layer;
+    private final String name;
+
+    @Override
+    public String getLayer() {
+        return layer;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getHits() {
+        return counter("hits");
+    }
+
+    @Override
+    public long getMisses() {
+        return counter("misses");
+    }
+
+    @Override
+    public long getPuts() {
+        return counter("puts");
+    }
+
+    @Override
+    public long getEvictions() {
+        return counter("evictions");
+    }
+
+    @Override
+    public long getEntries() {
+        return counter("entries");
+    }
+
+    @Override
+    public long getSizeBytes() {
+        return counter("size_bytes");
+    }
+
+    @Override
+    public long getAverageLoadMillis() {
+        return counter("avg_load_ms");
+    }
+
+    @Override
+    public double getHitsPerSecond() {
+        return rate("hits_per_sec");
+    }
+
+    @Override
+    public double getMissesPerSecond() {
+        return rate("misses_per_sec");
+    }
+
+    @Override
+    public double getPutsPerSecond() {
+        return rate("puts_per_sec");
+    }
+
+    @Override
+    public double getEvictionsPerSecond() {
+        return rate("evictions_per_sec");
+    }
+
+    @Override
+    public double getHitRatio() {
+        return rate("hit_ratio");
+    }
+
+    @Override
+    public long getWindowSeconds() {
+        return collector.windowSeconds();
+    }
+
+    private long counter(String counter) {
+        return collector.counters(layer, name).getOrDefault(counter, 0L);
+    }
+
+    private double rate(String rate) {
+        Object value = collector.rates(layer, name).get(rate);
+        return value instanceof Number number ? number.doubleValue() : 0.0;
+    }
+}
@@ -0,0 +1,23 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConnectionLeakCounter extends AppenderBase<ILoggingEvent> {
+
+    private static final LongAdder LEAKS = new LongAdder();
+
+    public static long leaks() {
+        return LEAKS.sum();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            LEAKS.increment();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LatencyHistogram {
+
+    static final int BUCKETS = 28;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sumMicros = new LongAdder();
+
+    public void record(long micros) {
+        long value = Math.max(micros, 0);
+        counts.incrementAndGet(bucket(value));
+        sumMicros.add(value);
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, sumMicros.sum());
+    }
+
+    static int bucket(long micros) {
+        if (micros <= 1) return 0;
+        return Math.min(64 - Long.numberOfLeadingZeros(micros - 1), BUCKETS - 1);
+    }
+
+    static long upperBoundMicros(int bucket) {
+        return 1L << bucket;
+    }
+
+    public record Snapshot(long[] counts, long sumMicros) {
+
+        public static final Snapshot EMPTY = new Snapshot(new long[BUCKETS], 0);
+
+        public Snapshot minus(Snapshot previous) {
+            long[] delta = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                delta[i] = Math.max(counts[i] - previous.counts[i], 0);
+            }
+            return new Snapshot(delta, Math.max(sumMicros - previous.sumMicros, 0));
+        }
+
+        public long count() {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            return total;
+        }
+
+        public double meanMillis() {
+            long count = count();
+            return count == 0 ? 0.0 : sumMicros / 1000.0 / count;
+        }
+
+        public double percentileMillis(double quantile) {
+            long count = count();
+            if (count == 0) return 0.0;
+
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= Math.max(rank, 1)) {
+                    return upperBoundMicros(i) / 1000.0;
+                }
+            }
+            return upperBoundMicros(BUCKETS - 1) / 1000.0;
+        }
+    }
+}
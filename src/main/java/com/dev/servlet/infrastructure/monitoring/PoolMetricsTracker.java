@@ -0,0 +1,82 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PoolMetricsTracker implements IMetricsTracker {
+
+    private static final ThreadLocal<long[]> THREAD_WAIT_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Getter
+    private final String poolName;
+    @Getter
+    private final PoolStats poolStats;
+    private final LatencyHistogram acquisition = new LatencyHistogram();
+    private final LatencyHistogram usage = new LatencyHistogram();
+    private final LatencyHistogram creation = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+
+    public PoolMetricsTracker(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+    }
+
+    public static long threadWaitNanos() {
+        return THREAD_WAIT_NANOS.get()[0];
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        THREAD_WAIT_NANOS.get()[0] += elapsedAcquiredNanos;
+        acquisition.record(TimeUnit.NANOSECONDS.toMicros(elapsedAcquiredNanos));
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usage.record(TimeUnit.MILLISECONDS.toMicros(elapsedBorrowedMillis));
+    }
+
+    @Override
+    public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+        creation.record(TimeUnit.MILLISECONDS.toMicros(connectionCreatedMillis));
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    @Override
+    public void close() {
+        PoolMetricsTrackerFactory.remove(this);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(System.currentTimeMillis(),
+                poolStats.getActiveConnections(),
+                poolStats.getIdleConnections(),
+                poolStats.getPendingThreads(),
+                poolStats.getTotalConnections(),
+                poolStats.getMaxConnections(),
+                timeouts.sum(),
+                acquisition.snapshot(),
+                usage.snapshot(),
+                creation.snapshot());
+    }
+
+    public record Snapshot(long timestamp,
+                           int active,
+                           int idle,
+                           int pending,
+                           int total,
+                           int max,
+                           long timeouts,
+                           LatencyHistogram.Snapshot acquisition,
+                           LatencyHistogram.Snapshot usage,
+                           LatencyHistogram.Snapshot creation) {
+    }
+}
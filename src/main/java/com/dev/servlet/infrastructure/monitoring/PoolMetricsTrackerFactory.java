@@ -0,0 +1,28 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class PoolMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    private static final Map<String, PoolMetricsTracker> TRACKERS = new ConcurrentHashMap<>();
+
+    public static Map<String, PoolMetricsTracker> trackers() {
+        return Map.copyOf(TRACKERS);
+    }
+
+    static void remove(PoolMetricsTracker tracker) {
+        TRACKERS.remove(tracker.getPoolName(), tracker);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        PoolMetricsTracker tracker = new PoolMetricsTracker(poolName, poolStats);
+        TRACKERS.put(poolName, tracker);
+        return tracker;
+    }
+}
@@ -0,0 +1,69 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+public class PoolSizeAdvisor {
+
+    private static final double HEADROOM = 1.2;
+
+    private final int floor;
+    private final int ceiling;
+    private final int step;
+    private final double waitTargetMillis;
+    private final double saturationFactor;
+
+    private double baselineUsageMillis = Double.MAX_VALUE;
+
+    public PoolSizeAdvisor(int floor, int ceiling, int step, double waitTargetMillis, double saturationFactor) {
+        this.floor = floor;
+        this.ceiling = ceiling;
+        this.step = step;
+        this.waitTargetMillis = waitTargetMillis;
+        this.saturationFactor = saturationFactor;
+    }
+
+    public synchronized Recommendation recommend(int currentMax, double windowSeconds,
+                                                 LatencyHistogram.Snapshot acquisition,
+                                                 LatencyHistogram.Snapshot usage,
+                                                 int pending) {
+        if (usage.count() == 0 || windowSeconds <= 0) {
+            return new Recommendation(currentMax, currentMax, "no traffic in window");
+        }
+
+        double waitP95 = acquisition.percentileMillis(0.95);
+        double usageP95 = usage.percentileMillis(0.95);
+        baselineUsageMillis = Math.min(baselineUsageMillis, Math.max(usageP95, 1.0));
+
+        double arrivalRate = usage.count() / windowSeconds;
+        int needed = (int) Math.ceil(arrivalRate * usage.meanMillis() / 1000.0 * HEADROOM);
+        boolean saturated = usageP95 > baselineUsageMillis * saturationFactor;
+
+        if (waitP95 > waitTargetMillis || pending > 0) {
+            if (saturated) {
+                return new Recommendation(currentMax, currentMax, String.format(
+                        "connection wait p95 %.1fms but usage p95 %.1fms is %.1fx the baseline; the database is saturated",
+                        waitP95, usageP95, usageP95 / baselineUsageMillis));
+            }
+            int target = clamp(Math.max(currentMax + step, needed));
+            return new Recommendation(currentMax, target, String.format(
+                    "connection wait p95 %.1fms above %.1fms target with %d pending", waitP95, waitTargetMillis, pending));
+        }
+
+        if (needed * 2 < currentMax) {
+            int target = clamp(Math.max(needed, currentMax - step));
+            return new Recommendation(currentMax, target, String.format(
+                    "only ~%d connection(s) busy on average", needed));
+        }
+
+        return new Recommendation(currentMax, currentMax, "pool size matches load");
+    }
+
+    private int clamp(int size) {
+        return Math.max(floor, Math.min(ceiling, size));
+    }
+
+    public record Recommendation(int current, int recommended, String reason) {
+
+        public boolean isChange() {
+            return current != recommended;
+        }
+    }
+}
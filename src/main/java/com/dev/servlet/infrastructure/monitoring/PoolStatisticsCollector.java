@@ -0,0 +1,243 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import com.dev.servlet.config.EntityManagerProducer;
+import com.dev.servlet.core.util.PropertiesUtil;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@ApplicationScoped
+@NoArgsConstructor
+public class PoolStatisticsCollector {
+
+    private static final String JMX_DOMAIN = "com.dev.servlet";
+    private static final String MODE_OFF = "off";
+    private static final String MODE_ADJUST = "adjust";
+
+    @Inject
+    private EntityManagerProducer producer;
+
+    private long stepSeconds;
+    private long windowMillis;
+    private String advisorMode;
+    private PoolSizeAdvisor advisor;
+    private ScheduledExecutorService sampler;
+    private long lastAdjustedAt;
+
+    private final Map<String, Deque<PoolMetricsTracker.Snapshot>> history = new ConcurrentHashMap<>();
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final Map<String, PoolSizeAdvisor.Recommendation> recommendations = new ConcurrentHashMap<>();
+    private final Set<ObjectName> registered = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        this.stepSeconds = PropertiesUtil.getProperty("db.pool.stats.step.seconds", 10L);
+        this.windowMillis = TimeUnit.SECONDS.toMillis(PropertiesUtil.getProperty("db.pool.stats.window.seconds", 60L));
+        this.advisorMode = PropertiesUtil.getProperty("db.pool.advisor.mode", "recommend");
+        this.advisor = new PoolSizeAdvisor(
+                PropertiesUtil.getProperty("db.pool.advisor.min", 10),
+                PropertiesUtil.getProperty("db.pool.advisor.max", 100),
+                PropertiesUtil.getProperty("db.pool.advisor.step", 5),
+                PropertiesUtil.getProperty("db.pool.advisor.wait.target.ms", 5.0),
+                PropertiesUtil.getProperty("db.pool.advisor.saturation.factor", 2.0));
+    }
+
+    public synchronized void start() {
+        if (sampler != null) return;
+
+        sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "pool-statistics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::sampleQuietly, stepSeconds, stepSeconds, TimeUnit.SECONDS);
+        log.info("[PoolStatisticsCollector] started [stepSeconds={}, advisor={}]", stepSeconds, advisorMode);
+    }
+
+    public synchronized void stop() {
+        if (sampler == null) return;
+
+        sampler.shutdownNow();
+        sampler = null;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (Exception e) {
+                log.debug("Failed to unregister MBean {}: {}", name, e.getMessage());
+            }
+        }
+        registered.clear();
+        log.info("[PoolStatisticsCollector] stopped");
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("timestamp", System.currentTimeMillis());
+        statistics.put("window_seconds", TimeUnit.MILLISECONDS.toSeconds(windowMillis));
+        statistics.put("advisor", advisorMode);
+        statistics.put("leaks_detected", ConnectionLeakCounter.leaks());
+
+        Map<String, Object> pools = new TreeMap<>();
+        windows.forEach((pool, window) -> pools.put(pool, toMap(window, recommendations.get(pool))));
+        statistics.put("pools", pools);
+        return statistics;
+    }
+
+    Window window(String poolName) {
+        return windows.getOrDefault(poolName, Window.EMPTY);
+    }
+
+    PoolSizeAdvisor.Recommendation recommendation(String poolName) {
+        return recommendations.get(poolName);
+    }
+
+    private void sampleQuietly() {
+        try {
+            sample();
+        } catch (Exception e) {
+            log.warn("Failed to sample pool statistics: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void sample() {
+        HikariDataSource primary = primaryDataSource();
+        PoolMetricsTrackerFactory.trackers().forEach((pool, tracker) -> {
+            Window window = slide(pool, tracker.snapshot());
+            windows.put(pool, window);
+            register(pool);
+
+            if (MODE_OFF.equals(advisorMode) || primary == null || !pool.equals(primary.getPoolName())) return;
+            advise(primary, window);
+        });
+    }
+
+    private Window slide(String pool, PoolMetricsTracker.Snapshot current) {
+        Deque<PoolMetricsTracker.Snapshot> samples = history.computeIfAbsent(pool, k -> new ArrayDeque<>());
+        samples.addLast(current);
+        while (samples.size() > 2 && current.timestamp() - samples.peekFirst().timestamp() > windowMillis) {
+            samples.removeFirst();
+        }
+
+        PoolMetricsTracker.Snapshot oldest = samples.peekFirst();
+        if (oldest == current) {
+            return new Window(current, current.acquisition(), current.usage(), current.creation(), 0);
+        }
+        return new Window(current,
+                current.acquisition().minus(oldest.acquisition()),
+                current.usage().minus(oldest.usage()),
+                current.creation().minus(oldest.creation()),
+                TimeUnit.MILLISECONDS.toSeconds(current.timestamp() - oldest.timestamp()));
+    }
+
+    private void advise(HikariDataSource dataSource, Window window) {
+        PoolSizeAdvisor.Recommendation recommendation = advisor.recommend(window.current().max(), window.seconds(),
+                window.acquisition(), window.usage(), window.current().pending());
+        recommendations.put(dataSource.getPoolName(), recommendation);
+        if (!recommendation.isChange()) return;
+
+        log.info("[PoolStatisticsCollector] {} maximumPoolSize {} -> {}: {}", dataSource.getPoolName(),
+                recommendation.current(), recommendation.recommended(), recommendation.reason());
+
+        long now = System.currentTimeMillis();
+        if (MODE_ADJUST.equals(advisorMode) && now - lastAdjustedAt >= windowMillis) {
+            dataSource.getHikariConfigMXBean().setMaximumPoolSize(recommendation.recommended());
+            lastAdjustedAt = now;
+            history.remove(dataSource.getPoolName());
+        }
+    }
+
+    private HikariDataSource primaryDataSource() {
+        try {
+            return producer.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry()
+                    .getService(ConnectionProvider.class)
+                    .unwrap(HikariDataSource.class);
+        } catch (Exception e) {
+            log.debug("Primary pool is not a HikariDataSource: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static Map<String, Object> toMap(Window window, PoolSizeAdvisor.Recommendation recommendation) {
+        PoolMetricsTracker.Snapshot current = window.current();
+        Map<String, Object> pool = new LinkedHashMap<>();
+        pool.put("active", current.active());
+        pool.put("idle", current.idle());
+        pool.put("pending", current.pending());
+        pool.put("total", current.total());
+        pool.put("max", current.max());
+        pool.put("timeouts", current.timeouts());
+        pool.put("acquire_ms", latency(window.acquisition()));
+        pool.put("usage_ms", latency(window.usage()));
+        pool.put("create_ms", latency(window.creation()));
+        if (recommendation != null) {
+            Map<String, Object> advice = new LinkedHashMap<>();
+            advice.put("current", recommendation.current());
+            advice.put("recommended", recommendation.recommended());
+            advice.put("reason", recommendation.reason());
+            pool.put("recommendation", advice);
+        }
+        return pool;
+    }
+
+    private static Map<String, Object> latency(LatencyHistogram.Snapshot histogram) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("count", histogram.count());
+        latency.put("mean", round(histogram.meanMillis()));
+        latency.put("p50", histogram.percentileMillis(0.50));
+        latency.put("p95", histogram.percentileMillis(0.95));
+        latency.put("p99", histogram.percentileMillis(0.99));
+        return latency;
+    }
+
+    private void register(String pool) {
+        try {
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=PoolStatistics,pool=" + ObjectName.quote(pool));
+            if (registered.add(objectName)) {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                if (!server.isRegistered(objectName)) {
+                    server.registerMBean(new PoolStatisticsView(this, pool), objectName);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to register pool statistics MBean for {}: {}", pool, e.getMessage());
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    record Window(PoolMetricsTracker.Snapshot current,
+                  LatencyHistogram.Snapshot acquisition,
+                  LatencyHistogram.Snapshot usage,
+                  LatencyHistogram.Snapshot creation,
+                  long seconds) {
+
+        static final Window EMPTY = new Window(
+                new PoolMetricsTracker.Snapshot(0, 0, 0, 0, 0, 0, 0,
+                        LatencyHistogram.Snapshot.EMPTY, LatencyHistogram.Snapshot.EMPTY, LatencyHistogram.Snapshot.EMPTY),
+                LatencyHistogram.Snapshot.EMPTY, LatencyHistogram.Snapshot.EMPTY, LatencyHistogram.Snapshot.EMPTY, 0);
+    }
+}
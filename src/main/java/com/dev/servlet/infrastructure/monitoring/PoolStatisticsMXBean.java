@@ -0,0 +1,19 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+public interface PoolStatisticsMXBean {
+    String getPoolName();
+    int getActiveConnections();
+    int getIdleConnections();
+    int getPendingThreads();
+    int getTotalConnections();
+    int getMaxConnections();
+    long getConnectionTimeouts();
+    long getLeaksDetected();
+    double getAcquireP50Millis();
+    double getAcquireP95Millis();
+    double getAcquireP99Millis();
+    double getUsageP95Millis();
+    int getRecommendedMaxConnections();
+    String getRecommendationReason();
+    long getWindowSeconds();
+}
@@ -0,0 +1,91 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+class PoolStatisticsView implements PoolStatisticsMXBean {
+
+    private final PoolStatisticsCollector collector;
+    private final String poolName;
+
+    @Override
+    public String getPoolName() {
+        return poolName;
+    }
+
+    @Override
+    public int getActiveConnections() {
+        return window().current().active();
+    }
+
+    @Override
+    public int getIdleConnections() {
+        return window().current().idle();
+    }
+
+    @Override
+    public int getPendingThreads() {
+        return window().current().pending();
+    }
+
+    @Override
+    public int getTotalConnections() {
+        return window().current().total();
+    }
+
+    @Override
+    public int getMaxConnections() {
+        return window().current().max();
+    }
+
+    @Override
+    public long getConnectionTimeouts() {
+        return window().current().timeouts();
+    }
+
+    @Override
+    public long getLeaksDetected() {
+        return ConnectionLeakCounter.leaks();
+    }
+
+    @Override
+    public double getAcquireP50Millis() {
+        return window().acquisition().percentileMillis(0.50);
+    }
+
+    @Override
+    public double getAcquireP95Millis() {
+        return window().acquisition().percentileMillis(0.95);
+    }
+
+    @Override
+    public double getAcquireP99Millis() {
+        return window().acquisition().percentileMillis(0.99);
+    }
+
+    @Override
+    public double getUsageP95Millis() {
+        return window().usage().percentileMillis(0.95);
+    }
+
+    @Override
+    public int getRecommendedMaxConnections() {
+        PoolSizeAdvisor.Recommendation recommendation = collector.recommendation(poolName);
+        return recommendation == null ? getMaxConnections() : recommendation.recommended();
+    }
+
+    @Override
+    public String getRecommendationReason() {
+        PoolSizeAdvisor.Recommendation recommendation = collector.recommendation(poolName);
+        return recommendation == null ? "" : recommendation.reason();
+    }
+
+    @Override
+    public long getWindowSeconds() {
+        return window().seconds();
+    }
+
+    private PoolStatisticsCollector.Window window() {
+        return collector.window(poolName);
+    }
+}
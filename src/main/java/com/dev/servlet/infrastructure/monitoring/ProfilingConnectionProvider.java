@@ -0,0 +1,208 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import com.dev.servlet.core.util.PropertiesUtil;
+import com.dev.servlet.infrastructure.persistence.internal.StatementTimeout;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.hikaricp.internal.HikariCPConnectionProvider;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class ProfilingConnectionProvider extends HikariCPConnectionProvider {
+
+    private static final Map<String, QueryProfiler> PROFILERS = new ConcurrentHashMap<>();
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private boolean explainEnabled;
+    private long explainTimeoutMillis;
+    private QueryProfiler profiler;
+    private ThreadPoolExecutor explainer;
+
+    public static Map<String, QueryProfiler> profilers() {
+        return Map.copyOf(PROFILERS);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void configure(Map props) {
+        super.configure(props);
+
+        if (!PropertiesUtil.getProperty("db.profiler.enabled", true)) return;
+
+        this.explainEnabled = PropertiesUtil.getProperty("db.profiler.explain.enabled", true);
+        this.explainTimeoutMillis = PropertiesUtil.getProperty("db.profiler.explain.timeout.ms", 5000L);
+        String poolName = unwrap(HikariDataSource.class).getPoolName();
+        this.profiler = new QueryProfiler(poolName,
+                PropertiesUtil.getProperty("db.profiler.capacity", 500),
+                PropertiesUtil.getProperty("db.profiler.slow.ms", 25L),
+                TimeUnit.MINUTES.toMillis(PropertiesUtil.getProperty("db.profiler.explain.interval.minutes", 10L)));
+        PROFILERS.put(poolName, profiler);
+
+        if (explainEnabled) {
+            explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), r -> {
+                Thread thread = new Thread(r, "query-explain-" + poolName);
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+        }
+        log.info("[ProfilingConnectionProvider] profiling {} [explain={}]", poolName, explainEnabled);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return (Connection) Proxy.newProxyInstance(ProfilingConnectionProvider.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("equals".equals(name)) return proxy == args[0];
+                    if ("hashCode".equals(name)) return System.identityHashCode(proxy);
+
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && name.startsWith("prepare")) {
+                        return profiled(statement, (String) args[0]);
+                    }
+                    if (result instanceof Statement statement && "createStatement".equals(name)) {
+                        return profiled(statement, null);
+                    }
+                    return result;
+                });
+    }
+
+    @Override
+    public void stop() {
+        if (profiler != null) {
+            PROFILERS.remove(profiler.getPoolName(), profiler);
+        }
+        if (explainer != null) {
+            explainer.shutdownNow();
+        }
+        super.stop();
+    }
+
+    private Statement profiled(Statement statement, String preparedSql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        Map<Integer, Binding> bindings = preparedSql != null && explainEnabled ? new TreeMap<>() : null;
+
+        return (Statement) Proxy.newProxyInstance(ProfilingConnectionProvider.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            String name = method.getName();
+            if ("equals".equals(name)) return proxy == args[0];
+            if ("hashCode".equals(name)) return System.identityHashCode(proxy);
+
+            if (bindings != null) {
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    bindings.put(index, new Binding(method, args));
+                } else if ("clearParameters".equals(name)) {
+                    bindings.clear();
+                }
+            }
+            if (!EXECUTE_METHODS.contains(name)) {
+                return invoke(statement, method, args);
+            }
+
+            String sql = preparedSql != null ? preparedSql : args != null && args.length > 0 ? (String) args[0] : null;
+            ScheduledFuture<?> watchdog = StatementTimeout.watch(statement);
+            long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                if (watchdog != null) {
+                    watchdog.cancel(false);
+                }
+                if (sql != null && profiler != null) {
+                    QueryProfile sampled = profiler.record(sql, System.nanoTime() - start);
+                    if (sampled != null && explainer != null && !name.endsWith("Batch") && isExplainable(sampled)) {
+                        Map<Integer, Binding> snapshot = bindings != null ? Map.copyOf(bindings) : Map.of();
+                        if (snapshot.values().stream().allMatch(Binding::isReplayable)) {
+                            explainer.execute(() -> explain(sampled, sql, snapshot));
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    private void explain(QueryProfile profile, String sql, Map<Integer, Binding> bindings) {
+        long start = System.currentTimeMillis();
+        try {
+            Connection connection = super.getConnection();
+            try {
+                connection.setAutoCommit(false);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET TRANSACTION READ ONLY");
+                    statement.execute("SET LOCAL statement_timeout = " + explainTimeoutMillis);
+                }
+                StringJoiner plan = new StringJoiner("\n");
+                try (PreparedStatement ps = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                    for (Binding binding : new TreeMap<>(bindings).values()) {
+                        binding.method().invoke(ps, binding.args());
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            plan.add(rs.getString(1));
+                        }
+                    }
+                }
+                profile.plan(new QueryProfile.Plan(start, System.currentTimeMillis() - start, plan.toString()));
+            } finally {
+                connection.rollback();
+                super.closeConnection(connection);
+            }
+        } catch (Exception e) {
+            log.debug("Failed to capture plan for [{}]: {}", profile.getFingerprint(), e.getMessage());
+        }
+    }
+
+    static boolean isExplainable(QueryProfile profile) {
+        String fingerprint = profile.getFingerprint();
+        return (fingerprint.startsWith("select ") || fingerprint.startsWith("with "))
+                && !fingerprint.contains(" for update")
+                && !fingerprint.contains(" for no key update")
+                && !fingerprint.contains(" for share");
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record Binding(Method method, Object[] args) {
+
+        boolean isReplayable() {
+            for (Object arg : args) {
+                if (arg instanceof InputStream || arg instanceof Reader || arg instanceof Blob || arg instanceof Clob) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class QueryProfile {
+
+    @Getter
+    private final String fingerprint;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAccumulator maxMicros = new LongAccumulator(Long::max, 0);
+    private final LongAdder slow = new LongAdder();
+    private final AtomicLong nextPlanAt = new AtomicLong();
+    private volatile Plan plan;
+
+    QueryProfile(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    void record(long micros, boolean slowExecution) {
+        latency.record(micros);
+        maxMicros.accumulate(micros);
+        if (slowExecution) slow.increment();
+    }
+
+    boolean claimPlan(long now, long intervalMillis) {
+        long next = nextPlanAt.get();
+        return now >= next && nextPlanAt.compareAndSet(next, now + intervalMillis);
+    }
+
+    void plan(Plan plan) {
+        this.plan = plan;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(fingerprint, latency.snapshot(), maxMicros.get(), slow.sum(), plan);
+    }
+
+    public record Plan(long capturedAt, long elapsedMillis, String text) {
+    }
+
+    public record Snapshot(String fingerprint, LatencyHistogram.Snapshot latency, long maxMicros, long slow, Plan plan) {
+
+        public double totalMillis() {
+            return latency.sumMicros() / 1000.0;
+        }
+
+        public double p99Millis() {
+            return latency.percentileMillis(0.99);
+        }
+    }
+}
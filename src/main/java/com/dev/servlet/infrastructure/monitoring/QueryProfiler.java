@@ -0,0 +1,112 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import lombok.Getter;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class QueryProfiler {
+
+    @Getter
+    private final String poolName;
+    private final int capacity;
+    private final long slowMicros;
+    private final long planIntervalMillis;
+    private final Map<String, QueryProfile> profiles = new ConcurrentHashMap<>();
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final LongAdder evicted = new LongAdder();
+
+    public QueryProfiler(String poolName, int capacity, long slowMillis, long planIntervalMillis) {
+        this.poolName = poolName;
+        this.capacity = capacity;
+        this.slowMicros = TimeUnit.MILLISECONDS.toMicros(slowMillis);
+        this.planIntervalMillis = planIntervalMillis;
+    }
+
+    public QueryProfile record(String sql, long elapsedNanos) {
+        String fingerprint = fingerprint(sql);
+        QueryProfile profile = profiles.get(fingerprint);
+        if (profile == null) {
+            evictIfFull();
+            profile = profiles.computeIfAbsent(fingerprint, QueryProfile::new);
+        }
+
+        long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+        boolean slow = micros >= slowMicros;
+        profile.record(micros, slow);
+        return slow && profile.claimPlan(System.currentTimeMillis(), planIntervalMillis) ? profile : null;
+    }
+
+    public List<QueryProfile.Snapshot> top(Comparator<QueryProfile.Snapshot> order, int limit) {
+        return profiles.values().stream()
+                .map(QueryProfile::snapshot)
+                .sorted(order.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public Map<String, Object> getStatistics(int limit) {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("fingerprints", profiles.size());
+        statistics.put("capacity", capacity);
+        statistics.put("evicted", evicted.sum());
+        statistics.put("slow_ms", TimeUnit.MICROSECONDS.toMillis(slowMicros));
+        statistics.put("by_total", top(Comparator.comparingDouble(QueryProfile.Snapshot::totalMillis), limit)
+                .stream().map(QueryProfiler::toMap).toList());
+        statistics.put("by_p99", top(Comparator.comparingDouble(QueryProfile.Snapshot::p99Millis), limit)
+                .stream().map(QueryProfiler::toMap).toList());
+        return statistics;
+    }
+
+    private String fingerprint(String sql) {
+        String fingerprint = fingerprints.get(sql);
+        if (fingerprint == null) {
+            if (fingerprints.size() >= capacity * 4) fingerprints.clear();
+            fingerprint = SqlFingerprint.of(sql);
+            fingerprints.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private void evictIfFull() {
+        if (profiles.size() < capacity) return;
+
+        profiles.values().stream()
+                .min(Comparator.comparingLong(profile -> profile.snapshot().latency().sumMicros()))
+                .ifPresent(victim -> {
+                    if (profiles.remove(victim.getFingerprint(), victim)) evicted.increment();
+                });
+    }
+
+    private static Map<String, Object> toMap(QueryProfile.Snapshot snapshot) {
+        LatencyHistogram.Snapshot latency = snapshot.latency();
+        Map<String, Object> query = new LinkedHashMap<>();
+        query.put("fingerprint", snapshot.fingerprint());
+        query.put("calls", latency.count());
+        query.put("total_ms", round(snapshot.totalMillis()));
+        query.put("mean_ms", round(latency.meanMillis()));
+        query.put("p50", latency.percentileMillis(0.50));
+        query.put("p95", latency.percentileMillis(0.95));
+        query.put("p99", snapshot.p99Millis());
+        query.put("max_ms", round(snapshot.maxMicros() / 1000.0));
+        query.put("slow", snapshot.slow());
+        QueryProfile.Plan plan = snapshot.plan();
+        if (plan != null) {
+            Map<String, Object> explain = new LinkedHashMap<>();
+            explain.put("captured_at", plan.capturedAt());
+            explain.put("elapsed_ms", plan.elapsedMillis());
+            explain.put("text", plan.text());
+            query.put("plan", explain);
+        }
+        return query;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,59 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class RollingWindow {
+
+    private static final int MAX_SAMPLES = 1024;
+
+    private final long windowMillis;
+    private final Deque<Sample> samples = new ArrayDeque<>();
+
+    public RollingWindow(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public synchronized void add(long timestamp, Map<String, Long> counters) {
+        samples.addLast(new Sample(timestamp, Map.copyOf(counters)));
+        while (samples.size() > 2 && (isExpired(secondOldest(), timestamp) || samples.size() > MAX_SAMPLES)) {
+            samples.removeFirst();
+        }
+    }
+
+    public synchronized Map<String, Double> rates() {
+        Map<String, Double> rates = new HashMap<>();
+        if (samples.size() < 2) return rates;
+
+        Sample oldest = samples.peekFirst();
+        Sample newest = samples.peekLast();
+        double seconds = (newest.timestamp() - oldest.timestamp()) / 1000.0;
+        if (seconds <= 0) return rates;
+
+        newest.counters().forEach((key, value) -> {
+            long delta = value - oldest.counters().getOrDefault(key, 0L);
+            rates.put(key, Math.max(delta, 0) / seconds);
+        });
+        return rates;
+    }
+
+    public synchronized long spanMillis() {
+        if (samples.size() < 2) return 0;
+        return samples.peekLast().timestamp() - samples.peekFirst().timestamp();
+    }
+
+    private boolean isExpired(Sample sample, long now) {
+        return now - sample.timestamp() >= windowMillis;
+    }
+
+    private Sample secondOldest() {
+        var iterator = samples.iterator();
+        iterator.next();
+        return iterator.next();
+    }
+
+    private record Sample(long timestamp, Map<String, Long> counters) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.dev.servlet.infrastructure.persistence;
+
+public enum CountStrategy {
+    EXACT,
+    CACHED,
+    ESTIMATED,
+    NONE;
+
+    public boolean isExact() {
+        return this == EXACT || this == CACHED;
+    }
+}
@@ -1,13 +1,24 @@
 package com.dev.servlet.infrastructure.persistence;
 
+import com.dev.servlet.domain.records.Sort;
 
 public interface IPageRequest extends ISorted {
     Object getFilter();
     void setFilter(Object filter);
     int getInitialPage();
     int getPageSize();
+    String getCursor();
+    CountStrategy getCountStrategy();
+    void setCountStrategy(CountStrategy countStrategy);
 
     default int getFirstResult() {
         return (getInitialPage() - 1) * getPageSize();
     }
+
+    default String cacheKey(String filterKey) {
+        Sort sort = getSort();
+        String order = sort == null || sort.getField() == null ? "" : sort.getField() + ":" + sort.getDirection();
+        String cursor = getCursor() == null ? "" : getCursor();
+        return getInitialPage() + "|" + getPageSize() + "|" + order + "|" + cursor + "|" + filterKey;
+    }
 }
@@ -7,4 +7,16 @@ public interface IPageable<T> extends ISorted {
     long getTotalElements();
     int getCurrentPage();
     int getPageSize();
+
+    default String getNextCursor() {
+        return null;
+    }
+
+    default String getPreviousCursor() {
+        return null;
+    }
+
+    default CountStrategy getCountStrategy() {
+        return CountStrategy.EXACT;
+    }
 }
@@ -0,0 +1,7 @@
+package com.dev.servlet.infrastructure.persistence;
+
+public enum Propagation {
+    REQUIRED,
+    SUPPORTS,
+    MANDATORY
+}
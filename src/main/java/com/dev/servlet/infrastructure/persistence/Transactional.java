@@ -0,0 +1,22 @@
+package com.dev.servlet.infrastructure.persistence;
+
+import javax.enterprise.util.Nonbinding;
+import javax.interceptor.InterceptorBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Inherited
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Transactional {
+
+    @Nonbinding
+    boolean readOnly() default false;
+
+    @Nonbinding
+    Propagation propagation() default Propagation.REQUIRED;
+}
@@ -0,0 +1,156 @@
+package com.dev.servlet.infrastructure.persistence.aggregate;
+
+import com.dev.servlet.config.EntityManagerProducer;
+import com.dev.servlet.core.util.PropertiesUtil;
+import com.dev.servlet.infrastructure.persistence.shard.ShardRouter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+@Slf4j
+@Singleton
+@NoArgsConstructor
+public class StatsReconciler {
+
+    private static final String USERS_SQL = "SELECT id FROM tb_user WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String RECONCILE_SQL = "SELECT reconcile_user_stats(?)";
+
+    @Inject
+    private EntityManagerProducer producer;
+
+    @Inject
+    private ShardRouter shardRouter;
+
+    private boolean enabled;
+    private int batchSize;
+    private long intervalMinutes;
+
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    StatsReconciler(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.enabled = PropertiesUtil.getProperty("stats.reconcile.enabled", true);
+        this.batchSize = PropertiesUtil.getProperty("stats.reconcile.batch.size", 200);
+        this.intervalMinutes = PropertiesUtil.getProperty("stats.reconcile.interval.minutes", 360L);
+    }
+
+    public synchronized void start() {
+        if (!enabled || running) {
+            log.info("[StatsReconciler] not started [enabled={}, running={}]", enabled, running);
+            return;
+        }
+
+        running = true;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "stats-reconciler");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runQuietly, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        log.info("[StatsReconciler] started [batchSize={}, intervalMinutes={}]", batchSize, intervalMinutes);
+    }
+
+    public synchronized void stop() {
+        if (!running) return;
+
+        running = false;
+        scheduler.shutdownNow();
+        log.info("[StatsReconciler] stopped");
+    }
+
+    private void runQuietly() {
+        try {
+            run();
+        } catch (Exception e) {
+            log.error("[StatsReconciler] run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public void run() {
+        int corrected = reconcileAll(this::users, this::reconcile);
+        if (corrected > 0) {
+            log.warn("[StatsReconciler] corrected {} drifted aggregate row(s)", corrected);
+        }
+    }
+
+    int reconcileAll(UserPager pager, ToIntFunction<String> reconcile) {
+        int corrected = 0;
+        String after = "";
+        while (!Thread.currentThread().isInterrupted()) {
+            List<String> users = pager.next(after, batchSize);
+            for (String userId : users) {
+                try {
+                    corrected += reconcile.applyAsInt(userId);
+                } catch (Exception e) {
+                    log.warn("[StatsReconciler] user {} skipped: {}", userId, e.getMessage());
+                }
+            }
+            if (users.size() < batchSize) break;
+            after = users.get(users.size() - 1);
+        }
+        return corrected;
+    }
+
+    private List<String> users(String after, int limit) {
+        try (Session session = producer.getEntityManagerFactory().unwrap(SessionFactory.class).openSession()) {
+            return session.doReturningWork(connection -> {
+                List<String> ids = new ArrayList<>();
+                try (PreparedStatement ps = connection.prepareStatement(USERS_SQL)) {
+                    ps.setString(1, after);
+                    ps.setInt(2, limit);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(rs.getString(1));
+                        }
+                    }
+                }
+                return ids;
+            });
+        }
+    }
+
+    private int reconcile(String userId) {
+        SessionFactory sessionFactory = producer.getShardFactory(shardRouter.shardFor(userId)).unwrap(SessionFactory.class);
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            int corrected = session.doReturningWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL lock_timeout = '2s'");
+                }
+                try (PreparedStatement ps = connection.prepareStatement(RECONCILE_SQL)) {
+                    ps.setString(1, userId);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        return rs.next() ? rs.getInt(1) : 0;
+                    }
+                }
+            });
+            session.getTransaction().commit();
+            return corrected;
+        }
+    }
+
+    @FunctionalInterface
+    interface UserPager {
+        List<String> next(String after, int limit);
+    }
+}
@@ -0,0 +1,191 @@
+package com.dev.servlet.infrastructure.persistence.archive;
+
+import com.dev.servlet.config.EntityManagerProducer;
+import com.dev.servlet.core.util.PropertiesUtil;
+import com.dev.servlet.domain.model.enums.Status;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+@Slf4j
+@Singleton
+@NoArgsConstructor
+public class SoftDeleteArchiver {
+
+    static final List<ArchiveTable> TABLES = List.of(
+            new ArchiveTable("tb_inventory",
+                    "id, quantity, description, status, user_id, product_id, version, created_at, updated_at",
+                    ""),
+            new ArchiveTable("tb_product",
+                    "id, name, description, url_img, register_date, price, status, user_id, category_id, created_at, updated_at",
+                    " AND NOT EXISTS (SELECT 1 FROM tb_inventory i WHERE i.product_id = t.id)"),
+            new ArchiveTable("tb_category",
+                    "id, name, status, user_id, created_at, updated_at",
+                    " AND NOT EXISTS (SELECT 1 FROM tb_product p WHERE p.category_id = t.id)")
+    );
+
+    @Inject
+    private EntityManagerProducer producer;
+
+    private boolean enabled;
+    private int archiveAfterDays;
+    private int purgeAfterDays;
+    private int batchSize;
+    private int maxBatchesPerRun;
+    private long pauseMs;
+    private long intervalMinutes;
+
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    SoftDeleteArchiver(int batchSize, int maxBatchesPerRun, long pauseMs) {
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseMs = pauseMs;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.enabled = PropertiesUtil.getProperty("archive.enabled", true);
+        this.archiveAfterDays = PropertiesUtil.getProperty("archive.after.days", 30);
+        this.purgeAfterDays = PropertiesUtil.getProperty("archive.purge.after.days", 365);
+        this.batchSize = PropertiesUtil.getProperty("archive.batch.size", 500);
+        this.maxBatchesPerRun = PropertiesUtil.getProperty("archive.max.batches", 200);
+        this.pauseMs = PropertiesUtil.getProperty("archive.pause.ms", 200L);
+        this.intervalMinutes = PropertiesUtil.getProperty("archive.interval.minutes", 60L);
+    }
+
+    public synchronized void start() {
+        if (!enabled || running) {
+            log.info("[SoftDeleteArchiver] not started [enabled={}, running={}]", enabled, running);
+            return;
+        }
+
+        running = true;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "soft-delete-archiver");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runQuietly, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        log.info("[SoftDeleteArchiver] started [afterDays={}, purgeAfterDays={}, batchSize={}, intervalMinutes={}]",
+                archiveAfterDays, purgeAfterDays, batchSize, intervalMinutes);
+    }
+
+    public synchronized void stop() {
+        if (!running) return;
+
+        running = false;
+        scheduler.shutdownNow();
+        log.info("[SoftDeleteArchiver] stopped");
+    }
+
+    private void runQuietly() {
+        try {
+            run();
+        } catch (Exception e) {
+            log.error("[SoftDeleteArchiver] run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public void run() {
+        producer.getShardFactories().forEach((shard, factory) -> run(shard, factory.unwrap(SessionFactory.class)));
+    }
+
+    private void run(String shard, SessionFactory sessionFactory) {
+        Timestamp archiveCutoff = Timestamp.from(Instant.now().minus(archiveAfterDays, ChronoUnit.DAYS));
+        for (ArchiveTable table : TABLES) {
+            int archived = drain(() -> executeBatch(sessionFactory, table.archiveSql(), archiveCutoff));
+            if (archived > 0) {
+                log.info("[SoftDeleteArchiver] archived {} row(s) from {} on {}", archived, table.name(), shard);
+            }
+        }
+
+        if (purgeAfterDays <= 0) return;
+
+        Timestamp purgeCutoff = Timestamp.from(Instant.now().minus(purgeAfterDays, ChronoUnit.DAYS));
+        for (ArchiveTable table : TABLES) {
+            int purged = drain(() -> executeBatch(sessionFactory, table.purgeSql(), purgeCutoff));
+            if (purged > 0) {
+                log.info("[SoftDeleteArchiver] purged {} row(s) from {}_archive on {}", purged, table.name(), shard);
+            }
+        }
+    }
+
+    int drain(IntSupplier batch) {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun && !Thread.currentThread().isInterrupted(); i++) {
+            int moved = batch.getAsInt();
+            total += moved;
+            if (moved < batchSize) break;
+
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int executeBatch(SessionFactory sessionFactory, String sql, Timestamp cutoff) {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            int rows = session.doReturningWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL lock_timeout = '2s'");
+                }
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    ps.setTimestamp(1, cutoff);
+                    ps.setInt(2, batchSize);
+                    return ps.executeUpdate();
+                }
+            });
+            session.getTransaction().commit();
+            return rows;
+        }
+    }
+
+    record ArchiveTable(String name, String columns, String guard) {
+
+        String archiveSql() {
+            return "WITH batch AS ("
+                    + " SELECT t.id FROM " + name + " t"
+                    + " WHERE t.status = '" + Status.DELETED.getValue() + "' AND t.updated_at < ?" + guard
+                    + " ORDER BY t.updated_at LIMIT ? FOR UPDATE SKIP LOCKED"
+                    + "), moved AS ("
+                    + " DELETE FROM " + name + " t USING batch b WHERE t.id = b.id"
+                    + " RETURNING " + qualified("t.")
+                    + ")"
+                    + " INSERT INTO " + name + "_archive (" + columns + ")"
+                    + " SELECT " + columns + " FROM moved";
+        }
+
+        String purgeSql() {
+            return "DELETE FROM " + name + "_archive WHERE id IN ("
+                    + " SELECT id FROM " + name + "_archive WHERE archived_at < ?"
+                    + " LIMIT ? FOR UPDATE SKIP LOCKED)";
+        }
+
+        private String qualified(String alias) {
+            return alias + columns.replace(", ", ", " + alias);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.dev.servlet.infrastructure.persistence.bulk;
+
+import java.util.List;
+
+public record BulkResult<T>(List<T> written, int copied, int inserted, List<ChunkError> errors) {
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    public record ChunkError(int chunk, int offset, int size, String message) {
+    }
+}
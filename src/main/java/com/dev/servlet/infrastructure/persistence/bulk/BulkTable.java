@@ -0,0 +1,16 @@
+package com.dev.servlet.infrastructure.persistence.bulk;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+public record BulkTable<T>(String name,
+                           List<String> columns,
+                           Function<T, String> idGetter,
+                           BiConsumer<T, String> idSetter,
+                           Function<T, Object[]> values) {
+
+    public String columnList() {
+        return String.join(", ", columns);
+    }
+}
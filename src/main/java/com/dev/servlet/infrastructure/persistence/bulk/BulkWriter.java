@@ -0,0 +1,138 @@
+package com.dev.servlet.infrastructure.persistence.bulk;
+
+import com.dev.servlet.core.util.PropertiesUtil;
+import com.dev.servlet.core.util.TimeOrderedUuidGenerator;
+import com.dev.servlet.infrastructure.persistence.bulk.BulkResult.ChunkError;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Slf4j
+public class BulkWriter {
+    private static final int MAX_BIND_PARAMETERS = 32767;
+
+    private final int chunkSize;
+    private final boolean copyEnabled;
+
+    public BulkWriter() {
+        this(PropertiesUtil.getProperty("bulk.chunk.size", 5000),
+                PropertiesUtil.getProperty("bulk.copy.enabled", true));
+    }
+
+    public BulkWriter(int chunkSize, boolean copyEnabled) {
+        this.chunkSize = Math.max(1, chunkSize);
+        this.copyEnabled = copyEnabled;
+    }
+
+    public <T> BulkResult<T> write(Connection connection, BulkTable<T> table, List<T> rows) throws SQLException {
+        for (T row : rows) {
+            if (table.idGetter().apply(row) == null) {
+                table.idSetter().accept(row, TimeOrderedUuidGenerator.next());
+            }
+        }
+
+        CopyManager copyManager = copyEnabled ? copyManager(connection) : null;
+        List<T> written = new ArrayList<>(rows.size());
+        List<ChunkError> errors = new ArrayList<>();
+        int copied = 0;
+        int inserted = 0;
+
+        for (int offset = 0, chunk = 0; offset < rows.size(); offset += chunkSize, chunk++) {
+            List<T> rowsChunk = rows.subList(offset, Math.min(rows.size(), offset + chunkSize));
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                if (copyManager != null) {
+                    try {
+                        copy(copyManager, table, rowsChunk);
+                        copied += rowsChunk.size();
+                        written.addAll(rowsChunk);
+                        connection.releaseSavepoint(savepoint);
+                        continue;
+                    } catch (SQLException | IOException e) {
+                        log.warn("COPY into {} failed for chunk {} ({} rows), retrying with INSERT: {}",
+                                table.name(), chunk, rowsChunk.size(), e.getMessage());
+                        connection.rollback(savepoint);
+                    }
+                }
+
+                insert(connection, table, rowsChunk);
+                inserted += rowsChunk.size();
+                written.addAll(rowsChunk);
+                connection.releaseSavepoint(savepoint);
+
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                log.error("Bulk write into {} failed for chunk {} ({} rows): {}",
+                        table.name(), chunk, rowsChunk.size(), e.getMessage());
+                errors.add(new ChunkError(chunk, offset, rowsChunk.size(), e.getMessage()));
+            }
+        }
+
+        log.info("Bulk write into {}: {} copied, {} inserted, {} failed chunk(s)",
+                table.name(), copied, inserted, errors.size());
+        return new BulkResult<>(written, copied, inserted, errors);
+    }
+
+    private static CopyManager copyManager(Connection connection) {
+        try {
+            return connection.unwrap(PGConnection.class).getCopyAPI();
+        } catch (SQLException e) {
+            log.warn("COPY is not available on this connection, using INSERT: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static <T> void copy(CopyManager copyManager, BulkTable<T> table, List<T> rows) throws SQLException, IOException {
+        StringBuilder csv = new StringBuilder(rows.size() * 128);
+        for (T row : rows) {
+            csv.append(csvLine(table.values().apply(row))).append('\n');
+        }
+        String sql = "COPY " + table.name() + " (" + table.columnList() + ") FROM STDIN WITH (FORMAT csv)";
+        copyManager.copyIn(sql, new StringReader(csv.toString()));
+    }
+
+    private static <T> void insert(Connection connection, BulkTable<T> table, List<T> rows) throws SQLException {
+        int columns = table.columns().size();
+        int rowsPerStatement = Math.max(1, Math.min(1000, MAX_BIND_PARAMETERS / columns));
+        String tuple = "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+
+        for (int from = 0; from < rows.size(); from += rowsPerStatement) {
+            List<T> batch = rows.subList(from, Math.min(rows.size(), from + rowsPerStatement));
+            String sql = "INSERT INTO " + table.name() + " (" + table.columnList() + ") VALUES "
+                    + String.join(", ", Collections.nCopies(batch.size(), tuple));
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                int index = 1;
+                for (T row : batch) {
+                    for (Object value : table.values().apply(row)) {
+                        ps.setObject(index++, value);
+                    }
+                }
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    static String csvLine(Object[] values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) line.append(',');
+            Object value = values[i];
+            if (value == null) continue;
+
+            String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            line.append('"').append(text.replace("\"", "\"\"")).append('"');
+        }
+        return line.toString();
+    }
+}
@@ -4,12 +4,13 @@ import com.dev.servlet.core.exception.ServiceException;
 import com.dev.servlet.core.util.CollectionUtils;
 import com.dev.servlet.domain.model.Category;
 import com.dev.servlet.domain.model.enums.Status;
+import com.dev.servlet.infrastructure.persistence.bulk.BulkTable;
 import com.dev.servlet.infrastructure.persistence.dao.base.BaseDAO;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.hibernate.Session;
+import org.apache.commons.lang3.StringUtils;
 import org.hibernate.criterion.MatchMode;
-import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.ApplicationScoped;
 import javax.persistence.Query;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -18,19 +19,26 @@ import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
-import java.sql.Statement;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
 @Slf4j
 @NoArgsConstructor
-@RequestScoped
+@ApplicationScoped
 public class CategoryDAO extends BaseDAO<Category, String> {
 
+    private static final BulkTable<Category> BULK_TABLE = new BulkTable<>("tb_category",
+            List.of("id", "name", "status", "user_id"),
+            Category::getId, Category::setId,
+            category -> new Object[]{
+                    category.getId(),
+                    StringUtils.upperCase(category.getName()),
+                    Status.ACTIVE.getValue(),
+                    category.getUser().getId()
+            });
+
     @Override
     public List<Category> findAll(Category category) {
-        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaBuilder cb = readEm().getCriteriaBuilder();
         CriteriaQuery<Category> cq = cb.createQuery(Category.class);
         Root<Category> root = cq.from(Category.class);
         Predicate predicate = cb.equal(root.get(STATUS), Status.ACTIVE.getValue());
@@ -44,7 +52,7 @@ public class CategoryDAO extends BaseDAO<Category, String> {
 
         Order desc = cb.asc(root.get(ID));
         cq.select(root).where(predicate).orderBy(desc);
-        return em.createQuery(cq).getResultList();
+        return readEm().createQuery(cq).getResultList();
     }
 
     @Override
@@ -58,7 +66,6 @@ public class CategoryDAO extends BaseDAO<Category, String> {
 
     @Override
     public boolean delete(Category category) {
-        Session session = getNewOpenSession();
         CriteriaBuilder builder = em.getCriteriaBuilder();
         CriteriaUpdate<Category> cu = builder.createCriteriaUpdate(Category.class);
         Root<Category> root = cu.from(Category.class);
@@ -68,46 +75,13 @@ public class CategoryDAO extends BaseDAO<Category, String> {
                 builder.equal(root.get(USER).get(ID), category.getUser().getId()));
         cu.where(predicate);
         Query query = em.createQuery(cu);
-        query.executeUpdate();
-        session.getTransaction().commit();
+        executeInTransaction(query::executeUpdate);
         return true;
     }
 
     @Override
     public List<Category> save(List<Category> categories) throws ServiceException {
-        AtomicReference<String> errors = new AtomicReference<>();
-        Session session = getNewOpenSession();
-        session.doWork(connection -> {
-            String copies = String.join(", ", Collections.nCopies(3, "?"));
-            String sql = "INSERT INTO tb_category (name, status, user_id) VALUES (" + copies + ")";
-            try (var ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-                for (Category category : categories) {
-                    ps.setString(1, category.getName());
-                    ps.setString(2, Status.ACTIVE.getValue());
-                    ps.setString(3, category.getUser().getId());
-                    ps.addBatch();
-                }
-                ps.executeBatch();
-                try (var rs = ps.getGeneratedKeys()) {
-                    int i = 0;
-                    while (rs.next()) {
-                        categories.get(i).setId(rs.getString(1));
-                        i++;
-                    }
-                }
-            } catch (Exception e) {
-                errors.set(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
-            }
-        });
-        if (errors.get() != null) {
-            throw new ServiceException(errors.get());
-        }
-        try {
-            session.getTransaction().commit();
-        } catch (Exception e) {
-            session.getTransaction().rollback();
-        }
-        return categories;
+        return bulkInsert(categories, BULK_TABLE);
     }
 
     @Override
@@ -5,13 +5,16 @@ import com.dev.servlet.core.util.CollectionUtils;
 import com.dev.servlet.domain.model.Inventory;
 import com.dev.servlet.domain.model.Product;
 import com.dev.servlet.domain.model.enums.Status;
+import com.dev.servlet.domain.records.StockAdjustment;
+import com.dev.servlet.domain.response.InventoryResponse;
+import com.dev.servlet.infrastructure.persistence.bulk.BulkTable;
 import com.dev.servlet.infrastructure.persistence.dao.base.BaseDAO;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Session;
 import org.hibernate.criterion.MatchMode;
 
-import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.ApplicationScoped;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -21,20 +24,55 @@ import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 @NoArgsConstructor
-@RequestScoped
+@ApplicationScoped
 public class InventoryDAO extends BaseDAO<Inventory, String> {
+
+    private static final BulkTable<Inventory> BULK_TABLE = new BulkTable<>("tb_inventory",
+            List.of("id", "quantity", "description", "status", "user_id", "product_id"),
+            Inventory::getId, Inventory::setId,
+            inventory -> new Object[]{
+                    inventory.getId(),
+                    inventory.getQuantity(),
+                    inventory.getDescription(),
+                    Status.ACTIVE.getValue(),
+                    inventory.getUser().getId(),
+                    inventory.getProduct().getId()
+            });
+    private static final String ADJUST_SQL = "UPDATE tb_inventory"
+            + " SET quantity = quantity + :delta, version = version + 1"
+            + " WHERE id = :id AND user_id = :userId AND status = :active AND quantity + :delta >= 0"
+            + " RETURNING quantity";
+    private static final String ADJUST_BATCH_SQL = "WITH delta AS ("
+            + " SELECT id, sum(delta)::integer AS delta FROM unnest(?::varchar[], ?::integer[]) AS m(id, delta) GROUP BY id"
+            + "), locked AS ("
+            + " SELECT i.id FROM tb_inventory i JOIN delta d ON d.id = i.id"
+            + " WHERE i.user_id = ? AND i.status = ? ORDER BY i.id FOR UPDATE OF i"
+            + ")"
+            + " UPDATE tb_inventory i SET quantity = i.quantity + d.delta, version = i.version + 1"
+            + " FROM delta d, locked l"
+            + " WHERE i.id = d.id AND l.id = i.id AND i.quantity + d.delta >= 0"
+            + " RETURNING i.id, i.quantity";
     public static final String PRODUCT = "product";
 
+    @Override
+    protected String detailGraph() {
+        return Inventory.DETAIL_GRAPH;
+    }
+
     @Override
     public Optional<Inventory> find(Inventory inventory) {
         List<Inventory> all = findAll(inventory);
@@ -46,9 +84,42 @@ public class InventoryDAO extends BaseDAO<Inventory, String> {
 
     @Override
     public List<Inventory> findAll(Inventory inventory) {
-        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaBuilder cb = readEm().getCriteriaBuilder();
         CriteriaQuery<Inventory> cq = cb.createQuery(Inventory.class);
         Root<Inventory> root = cq.from(Inventory.class);
+        Predicate predicate = buildFindAllPredicate(inventory, cb, root, root.get(PRODUCT));
+
+        Order desc = cb.asc(root.get(ID));
+        cq.select(root).where(predicate).orderBy(desc);
+        TypedQuery<Inventory> typedQuery = withDetailGraph(readEm().createQuery(cq));
+        List<Inventory> inventories = typedQuery.getResultList();
+        if (CollectionUtils.isEmpty(inventories)) {
+            return Collections.emptyList();
+        }
+        return inventories;
+    }
+
+    public List<InventoryResponse> findAllResponses(Inventory inventory) {
+        CriteriaBuilder cb = readEm().getCriteriaBuilder();
+        CriteriaQuery<InventoryResponse> cq = cb.createQuery(InventoryResponse.class);
+        Root<Inventory> root = cq.from(Inventory.class);
+        Join<Inventory, Product> product = root.join(PRODUCT, JoinType.LEFT);
+        Predicate predicate = buildFindAllPredicate(inventory, cb, root, product);
+
+        cq.select(cb.construct(InventoryResponse.class,
+                        root.get(ID),
+                        root.get("quantity"),
+                        root.get("description"),
+                        root.get(STATUS),
+                        product.get(ID),
+                        product.get("name"),
+                        product.get("price")))
+                .where(predicate)
+                .orderBy(cb.asc(root.get(ID)));
+        return readEm().createQuery(cq).getResultList();
+    }
+
+    private Predicate buildFindAllPredicate(Inventory inventory, CriteriaBuilder cb, Root<Inventory> root, Path<Product> product) {
         Predicate predicate = cb.equal(root.get(STATUS), Status.ACTIVE.getValue());
         predicate = cb.and(predicate, cb.equal(root.get(USER).get(ID), inventory.getUser().getId()));
         if (inventory.getId() != null) {
@@ -61,32 +132,23 @@ public class InventoryDAO extends BaseDAO<Inventory, String> {
         if (inventory.getProduct() != null) {
             Predicate pProduct = cb.conjunction();
             if (inventory.getProduct().getId() != null) {
-                pProduct = cb.equal(root.get(PRODUCT).get(ID), inventory.getProduct().getId());
+                pProduct = cb.equal(product.get(ID), inventory.getProduct().getId());
             } else {
                 if (inventory.getProduct().getName() != null) {
-                    Expression<String> upper = cb.upper(root.get(PRODUCT).get("name"));
+                    Expression<String> upper = cb.upper(product.get("name"));
                     pProduct = cb.and(pProduct, cb.like(upper, MatchMode.ANYWHERE.toMatchString(inventory.getProduct().getName().toUpperCase())));
                 }
                 if (inventory.getProduct().getCategory() != null) {
-                    Predicate pCategory = cb.equal(root.get(PRODUCT).get("category").get(ID), inventory.getProduct().getCategory().getId());
+                    Predicate pCategory = cb.equal(product.get("category").get(ID), inventory.getProduct().getCategory().getId());
                     pProduct = cb.and(pProduct, pCategory);
                 }
             }
             predicate = cb.and(predicate, pProduct);
         }
-
-        Order desc = cb.asc(root.get(ID));
-        cq.select(root).where(predicate).orderBy(desc);
-        TypedQuery<Inventory> typedQuery = em.createQuery(cq);
-        List<Inventory> inventories = typedQuery.getResultList();
-        if (CollectionUtils.isEmpty(inventories)) {
-            return Collections.emptyList();
-        }
-        return inventories;
+        return predicate;
     }
     @Override
     public boolean delete(Inventory inventory) {
-        Session session = getNewOpenSession();
         CriteriaBuilder builder = em.getCriteriaBuilder();
         CriteriaUpdate<Inventory> cu = builder.createCriteriaUpdate(Inventory.class);
         Root<Inventory> root = cu.from(Inventory.class);
@@ -96,8 +158,7 @@ public class InventoryDAO extends BaseDAO<Inventory, String> {
                 builder.equal(root.get(USER).get(ID), inventory.getUser().getId()));
         cu.where(predicate);
         Query query = em.createQuery(cu);
-        query.executeUpdate();
-        session.getTransaction().commit();
+        executeInTransaction(query::executeUpdate);
         return true;
     }
 
@@ -116,43 +177,68 @@ public class InventoryDAO extends BaseDAO<Inventory, String> {
         return count > 0;
     }
 
-    @Override
-    public List<Inventory> save(List<Inventory> inventories) throws ServiceException {
-        AtomicReference<String> errors = new AtomicReference<>();
-        Session session = getNewOpenSession();
-        session.doWork(connection -> {
-            String copies = String.join(", ", Collections.nCopies(5, "?"));
-            String sql = "INSERT INTO tb_inventory (id, description, product_id, user_id, status) VALUES (" + copies + ")";
-            try (java.sql.PreparedStatement ps = connection.prepareStatement(sql, java.sql.Statement.RETURN_GENERATED_KEYS)) {
-                for (Inventory inventory : inventories) {
-                    ps.setString(1, inventory.getId());
-                    ps.setString(2, inventory.getDescription());
-                    ps.setString(3, inventory.getProduct().getId());
-                    ps.setString(4, inventory.getUser().getId());
-                    ps.setString(5, Status.ACTIVE.getValue());
-                    ps.addBatch();
-                }
-                try (ResultSet rs = ps.getGeneratedKeys()) {
-                    int i = 0;
+    public Optional<Integer> adjust(String id, String userId, int delta) {
+        @SuppressWarnings("unchecked")
+        List<Number> rows = em.createNativeQuery(ADJUST_SQL)
+                .setParameter("delta", delta)
+                .setParameter("id", id)
+                .setParameter("userId", userId)
+                .setParameter("active", Status.ACTIVE.getValue())
+                .getResultList();
+        evict(List.of(id));
+        return rows.stream().findFirst().map(Number::intValue);
+    }
+
+    public Map<String, Integer> adjust(String userId, Collection<StockAdjustment> adjustments) {
+        String[] ids = adjustments.stream().map(StockAdjustment::id).toArray(String[]::new);
+        Integer[] deltas = adjustments.stream().map(StockAdjustment::delta).toArray(Integer[]::new);
+
+        Map<String, Integer> quantities = em.unwrap(Session.class).doReturningWork(connection -> {
+            Map<String, Integer> result = new LinkedHashMap<>();
+            try (PreparedStatement ps = connection.prepareStatement(ADJUST_BATCH_SQL)) {
+                ps.setArray(1, connection.createArrayOf("varchar", ids));
+                ps.setArray(2, connection.createArrayOf("integer", deltas));
+                ps.setString(3, userId);
+                ps.setString(4, Status.ACTIVE.getValue());
+                try (ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) {
-                        inventories.get(i).setId(rs.getString(1));
-                        i++;
+                        result.put(rs.getString(1), rs.getInt(2));
                     }
                 }
-                ps.executeBatch();
-            } catch (Exception e) {
-                errors.set(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
             }
+            return result;
         });
-        if (errors.get() != null) {
-            throw new ServiceException(errors.get());
-        }
-        try {
-            session.getTransaction().commit();
-        } catch (Exception e) {
-            session.getTransaction().rollback();
-        }
-        return inventories;
+        evict(List.of(ids));
+        return quantities;
+    }
+
+    public boolean exists(String id, String userId) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<Inventory> root = cq.from(Inventory.class);
+        cq.select(cb.count(root)).where(
+                cb.equal(root.get(ID), id),
+                cb.equal(root.get(USER).get(ID), userId),
+                cb.equal(root.get(STATUS), Status.ACTIVE.getValue()));
+        return em.createQuery(cq).getSingleResult() > 0;
+    }
+
+    @Override
+    public Inventory update(Inventory inventory) {
+        return executeInTransaction(() -> {
+            Inventory merged = em.merge(inventory);
+            em.flush();
+            return merged;
+        });
+    }
+
+    private void evict(Collection<String> ids) {
+        ids.forEach(id -> em.getEntityManagerFactory().getCache().evict(Inventory.class, id));
+    }
+
+    @Override
+    public List<Inventory> save(List<Inventory> inventories) throws ServiceException {
+        return bulkInsert(inventories, BULK_TABLE);
     }
     @Override
     protected Predicate buildDefaultPredicateFor(Inventory filter, CriteriaBuilder cb, Root<?> root) {
@@ -2,17 +2,26 @@ package com.dev.servlet.infrastructure.persistence.dao;
 
 import com.dev.servlet.core.exception.ServiceException;
 import com.dev.servlet.core.util.CollectionUtils;
+import com.dev.servlet.core.util.HighlightUtils;
 import com.dev.servlet.domain.model.Category;
 import com.dev.servlet.domain.model.Product;
 import com.dev.servlet.domain.model.enums.Status;
+import com.dev.servlet.domain.records.ProductSearch;
+import com.dev.servlet.domain.records.ProductStats;
+import com.dev.servlet.domain.response.ProductResponse;
+import com.dev.servlet.infrastructure.persistence.IPageRequest;
+import com.dev.servlet.infrastructure.persistence.bulk.BulkTable;
 import com.dev.servlet.infrastructure.persistence.dao.base.BaseDAO;
+import com.dev.servlet.infrastructure.persistence.internal.Projection;
+import com.dev.servlet.infrastructure.persistence.internal.Slice;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
-import org.hibernate.Session;
 import org.hibernate.criterion.MatchMode;
-import javax.enterprise.context.RequestScoped;
+import org.hibernate.query.NativeQuery;
+import javax.enterprise.context.ApplicationScoped;
 import javax.persistence.Query;
+import javax.persistence.Tuple;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -22,20 +31,66 @@ import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
 import java.math.BigDecimal;
 import java.sql.Date;
-import java.sql.Statement;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Set;
 
 @Slf4j
 @NoArgsConstructor
-@RequestScoped
+@ApplicationScoped
 public class ProductDAO extends BaseDAO<Product, String> {
 
+    private static final BulkTable<Product> BULK_TABLE = new BulkTable<>("tb_product",
+            List.of("id", "name", "description", "url_img", "register_date", "price", "user_id", "status", "category_id"),
+            Product::getId, Product::setId,
+            product -> new Object[]{
+                    product.getId(),
+                    product.getName(),
+                    product.getDescription(),
+                    product.getUrl(),
+                    new Date(ObjectUtils.getIfNull(product.getRegisterDate(), new java.util.Date()).getTime()),
+                    product.getPrice(),
+                    product.getUser().getId(),
+                    Status.ACTIVE.getValue(),
+                    product.getCategory() != null ? product.getCategory().getId() : null
+            });
+    private static final Set<String> KEYSET_FIELDS = Set.of(ID, "name", "price", "registerDate");
+    private static final int DESCRIPTION_PREVIEW_LENGTH = 100;
+    private static final String SOFT_DELETE_SQL = "UPDATE tb_product p SET status = :deleted"
+            + " WHERE p.id = :id AND p.user_id = :userId AND p.status <> :deleted"
+            + " AND NOT EXISTS (SELECT 1 FROM tb_inventory i WHERE i.product_id = p.id AND i.status = :active)";
+    private static final String SEARCH_FROM = "FROM tb_product p CROSS JOIN websearch_to_tsquery('simple', :term) q";
+
+    public static final Projection<Product, ProductResponse> LIST_PROJECTION = new Projection<>() {
+        @Override
+        public List<Selection<?>> select(CriteriaBuilder cb, Root<Product> root) {
+            return List.of(
+                    root.get(ID).alias("id"),
+                    root.get("name").alias("name"),
+                    cb.substring(root.get("description"), 1, DESCRIPTION_PREVIEW_LENGTH + 1).alias("description"),
+                    root.get("url").alias("url"),
+                    root.get("registerDate").alias("registerDate"),
+                    root.get("price").alias("price"));
+        }
+
+        @Override
+        public ProductResponse map(Tuple tuple) {
+            return new ProductResponse(
+                    tuple.get("id", String.class),
+                    tuple.get("name", String.class),
+                    tuple.get("description", String.class),
+                    tuple.get("url", String.class),
+                    tuple.get("registerDate", java.util.Date.class),
+                    tuple.get("price", BigDecimal.class));
+        }
+    };
+
     private static Predicate buildDefaultFilter(Product product, CriteriaBuilder criteriaBuilder, Root<Product> root) {
         Predicate predicate = criteriaBuilder.notEqual(root.get(STATUS), Status.DELETED.getValue());
         if (product.getUser() != null) {
@@ -69,6 +124,83 @@ public class ProductDAO extends BaseDAO<Product, String> {
         }
         return predicate;
     }
+
+    public Slice<ProductResponse> search(ProductSearch search, IPageRequest pageRequest) {
+        String sql = "SELECT p.id, p.name, p.url_img, p.register_date, p.price, "
+                + "ts_headline('simple', p.name, q, :nameOptions), "
+                + "ts_headline('simple', coalesce(p.description, ''), q, :descriptionOptions), "
+                + "ts_rank_cd(p.search_vector, q) + similarity(upper(p.name), upper(:term)) AS rank "
+                + SEARCH_FROM + searchFilter(search)
+                + " ORDER BY rank DESC, p.id LIMIT :limit OFFSET :offset";
+
+        Query query = bindSearch(readEm().createNativeQuery(sql), search)
+                .setParameter("nameOptions", HighlightUtils.headlineOptions(true))
+                .setParameter("descriptionOptions", HighlightUtils.headlineOptions(false))
+                .setParameter("limit", pageRequest.getPageSize() + 1)
+                .setParameter("offset", pageRequest.getFirstResult());
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        boolean hasNext = rows.size() > pageRequest.getPageSize();
+        List<ProductResponse> content = rows.stream()
+                .limit(pageRequest.getPageSize())
+                .map(ProductDAO::toSearchResponse)
+                .toList();
+        return new Slice<>(content, hasNext, null, null);
+    }
+
+    public long searchCount(ProductSearch search) {
+        String sql = "SELECT count(*) " + SEARCH_FROM + searchFilter(search);
+        return ((Number) bindSearch(readEm().createNativeQuery(sql), search).getSingleResult()).longValue();
+    }
+
+    public BigDecimal searchTotalPrice(ProductSearch search) {
+        String sql = "SELECT coalesce(sum(p.price), 0) " + SEARCH_FROM + searchFilter(search);
+        Object total = bindSearch(readEm().createNativeQuery(sql), search).getSingleResult();
+        return total != null ? (BigDecimal) total : BigDecimal.ZERO;
+    }
+
+    private static String searchFilter(ProductSearch search) {
+        String filter = " WHERE p.user_id = :userId AND p.status <> :deleted"
+                + " AND (p.search_vector @@ q OR upper(p.name) % upper(:term) OR upper(p.description) LIKE :contains)";
+        return search.categoryId() != null ? filter + " AND p.category_id = :categoryId" : filter;
+    }
+
+    private static Query bindSearch(Query query, ProductSearch search) {
+        query.setParameter("term", search.text())
+                .setParameter("userId", search.userId())
+                .setParameter("deleted", Status.DELETED.getValue())
+                .setParameter("contains", MatchMode.ANYWHERE.toMatchString(search.text().toUpperCase()));
+        if (search.categoryId() != null) {
+            query.setParameter("categoryId", search.categoryId());
+        }
+        return query;
+    }
+
+    private static ProductResponse toSearchResponse(Object[] row) {
+        ProductResponse response = new ProductResponse(
+                (String) row[0],
+                (String) row[1],
+                null,
+                (String) row[2],
+                (java.util.Date) row[3],
+                (BigDecimal) row[4]);
+        response.setNameHighlight(HighlightUtils.toHtml((String) row[5]));
+        response.setDescriptionHighlight(HighlightUtils.toHtml((String) row[6]));
+        response.setRank(((Number) row[7]).doubleValue());
+        return response;
+    }
+
+    @Override
+    protected Set<String> keysetFields() {
+        return KEYSET_FIELDS;
+    }
+
+    @Override
+    protected String detailGraph() {
+        return Product.DETAIL_GRAPH;
+    }
+
     @Override
     public Optional<Product> find(Product product) {
         List<Product> all = findAll(product);
@@ -79,13 +211,13 @@ public class ProductDAO extends BaseDAO<Product, String> {
     }
     @Override
     public List<Product> findAll(Product product) {
-        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaBuilder cb = readEm().getCriteriaBuilder();
         CriteriaQuery<Product> query = cb.createQuery(Product.class).distinct(true);
         Root<Product> root = query.from(Product.class);
         Predicate predicate = buildDefaultFilter(product, cb, root);
         javax.persistence.criteria.Order descId = cb.asc(root.get(ID));
         query.where(predicate).select(root).orderBy(descId);
-        TypedQuery<Product> typedQuery = em.createQuery(query);
+        TypedQuery<Product> typedQuery = withDetailGraph(readEm().createQuery(query));
         List<Product> resultList = typedQuery.getResultList();
         if (!CollectionUtils.isEmpty(resultList)) {
             return resultList;
@@ -94,7 +226,6 @@ public class ProductDAO extends BaseDAO<Product, String> {
     }
     @Override
     public boolean delete(Product product) {
-        Session session = getNewOpenSession();
         CriteriaBuilder builder = em.getCriteriaBuilder();
         CriteriaUpdate<Product> cu = builder.createCriteriaUpdate(Product.class);
         Root<Product> root = cu.from(Product.class);
@@ -103,66 +234,110 @@ public class ProductDAO extends BaseDAO<Product, String> {
         predicate = builder.and(predicate, builder.equal(root.get(USER).get(ID), product.getUser().getId()));
         cu.where(predicate);
         Query query = em.createQuery(cu);
-        query.executeUpdate();
-        session.getTransaction().commit();
+        executeInTransaction(query::executeUpdate);
         return true;
     }
-    @Override
-    public List<Product> save(List<Product> products) throws ServiceException {
-        AtomicReference<String> errors = new AtomicReference<>();
-        Session session = getNewOpenSession();
-        session.doWork(connection -> {
-            String copies = String.join(", ", Collections.nCopies(9, "?"));
-            String sql = "INSERT INTO tb_product (id, name, description, url_img, register_date, price, user_id, status, category_id) VALUES (" + copies + ")";
-            try (var ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-                for (Product product : products) {
-                    ps.setString(1, UUID.randomUUID().toString());
-                    ps.setString(2, product.getName());
-                    ps.setString(3, product.getDescription());
-                    ps.setString(4, product.getUrl());
-                    ps.setDate(5, new Date(product.getRegisterDate().getTime()));
-                    ps.setBigDecimal(6, product.getPrice());
-                    ps.setString(7, product.getUser().getId());
-                    ps.setString(8, Status.ACTIVE.getValue());
-                    if (product.getCategory() != null) {
-                        ps.setString(9, product.getCategory().getId());
-                    } else {
-                        ps.setNull(9, java.sql.Types.BIGINT);
-                    }
-                    ps.addBatch();
-                }
-                ps.executeBatch();
-                try (var rs = ps.getGeneratedKeys()) {
-                    int i = 0;
-                    while (rs.next()) {
-                        products.get(i).setId(rs.getString(1));
-                        i++;
-                    }
-                }
-            } catch (Exception e) {
-                errors.set(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
-            }
-        });
-        if (errors.get() != null) {
-            throw new ServiceException(errors.get());
+    public int update(String id, String userId, Product changes) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (changes.getName() != null) values.put("name", changes.getName());
+        if (changes.getDescription() != null) values.put("description", changes.getDescription());
+        if (changes.getUrl() != null) values.put("url", changes.getUrl());
+        if (changes.getPrice() != null) values.put("price", changes.getPrice());
+        if (changes.getCategory() != null && changes.getCategory().getId() != null) {
+            values.put("category", em.getReference(Category.class, changes.getCategory().getId()));
         }
-        try {
-            session.getTransaction().commit();
-        } catch (Exception e) {
-            session.getTransaction().rollback();
+
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        if (values.isEmpty()) {
+            CriteriaQuery<Long> cq = builder.createQuery(Long.class);
+            Root<Product> root = cq.from(Product.class);
+            cq.select(builder.count(root)).where(ownedBy(builder, root, id, userId));
+            return em.createQuery(cq).getSingleResult().intValue();
         }
-        return products;
+
+        CriteriaUpdate<Product> cu = builder.createCriteriaUpdate(Product.class);
+        Root<Product> root = cu.from(Product.class);
+        values.forEach(cu::set);
+        cu.where(ownedBy(builder, root, id, userId));
+        return executeInTransaction(() -> em.createQuery(cu).executeUpdate());
+    }
+
+    public int softDelete(String id, String userId) {
+        Query query = em.createNativeQuery(SOFT_DELETE_SQL)
+                .setParameter("deleted", Status.DELETED.getValue())
+                .setParameter("active", Status.ACTIVE.getValue())
+                .setParameter("id", id)
+                .setParameter("userId", userId);
+        query.unwrap(NativeQuery.class).addSynchronizedEntityClass(Product.class);
+        return executeInTransaction(query::executeUpdate);
+    }
+
+    private static Predicate ownedBy(CriteriaBuilder builder, Root<Product> root, String id, String userId) {
+        return builder.and(
+                builder.equal(root.get(ID), id),
+                builder.equal(root.get(USER).get(ID), userId),
+                builder.notEqual(root.get(STATUS), Status.DELETED.getValue()));
+    }
+
+    @Override
+    public List<Product> save(List<Product> products) throws ServiceException {
+        return bulkInsert(products, BULK_TABLE);
     }
 
     public BigDecimal calculateTotalPriceFor(Product filter) {
-        CriteriaBuilder builder = em.getCriteriaBuilder();
+        if (isAggregated(filter)) {
+            Optional<ProductStats> stats = findStats(filter.getUser().getId(), categoryId(filter));
+            if (stats.isPresent()) return stats.get().totalPrice();
+        }
+
+        CriteriaBuilder builder = readEm().getCriteriaBuilder();
         CriteriaQuery<BigDecimal> query = builder.createQuery(BigDecimal.class);
         Root<Product> root = query.from(Product.class);
         Predicate predicate = buildDefaultFilter(filter, builder, root);
         query.where(predicate).select(builder.sum(root.get("price")));
-        BigDecimal totalPrice = em.createQuery(query).getSingleResult();
+        BigDecimal totalPrice = readEm().createQuery(query).getSingleResult();
         return ObjectUtils.getIfNull(totalPrice, BigDecimal.ZERO);
     }
+    @Override
+    public long count(IPageRequest pageRequest) {
+        Product filter = (Product) pageRequest.getFilter();
+        if (isAggregated(filter)) {
+            Optional<ProductStats> stats = findStats(filter.getUser().getId(), categoryId(filter));
+            if (stats.isPresent()) return stats.get().productCount();
+        }
+        return super.count(pageRequest);
+    }
+
+    public Optional<ProductStats> findStats(String userId, String categoryId) {
+        Query query = categoryId == null
+                ? readEm().createNativeQuery("SELECT product_count, total_price, stock_units, inventory_value"
+                        + " FROM tb_user_stats WHERE user_id = :userId")
+                : readEm().createNativeQuery("SELECT product_count, total_price, stock_units, inventory_value"
+                        + " FROM tb_category_stats WHERE user_id = :userId AND category_id = :categoryId")
+                .setParameter("categoryId", categoryId);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.setParameter("userId", userId).getResultList();
+        return rows.stream().findFirst().map(row -> new ProductStats(
+                ((Number) row[0]).longValue(),
+                (BigDecimal) row[1],
+                ((Number) row[2]).longValue(),
+                (BigDecimal) row[3]));
+    }
+
+    static boolean isAggregated(Product filter) {
+        return filter != null
+                && filter.getUser() != null
+                && filter.getId() == null
+                && filter.getName() == null
+                && filter.getDescription() == null
+                && (filter.getCategory() == null || filter.getCategory().getId() != null);
+    }
+
+    private static String categoryId(Product filter) {
+        return filter.getCategory() != null ? filter.getCategory().getId() : null;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected Predicate buildDefaultPredicateFor(Product filter, CriteriaBuilder cb, Root<?> root) {
@@ -1,40 +1,82 @@
 package com.dev.servlet.infrastructure.persistence.dao;
 
+import com.dev.servlet.config.EntityManagerProducer;
+import com.dev.servlet.core.util.PropertiesUtil;
 import com.dev.servlet.domain.model.UserActivityLog;
 import com.dev.servlet.infrastructure.persistence.dao.base.BaseDAO;
 import lombok.NoArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.criterion.MatchMode;
 
-import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 
 @NoArgsConstructor
-@RequestScoped
+@ApplicationScoped
 public class UserActivityLogDAO extends BaseDAO<UserActivityLog, String> {
+    private static final String TIMESTAMP = "timestamp";
+    private static final Set<String> KEYSET_FIELDS = Set.of(ID, TIMESTAMP);
+    private EntityManagerProducer entityManagerProducer;
+
+    @Inject
+    public void setEntityManagerProducer(EntityManagerProducer entityManagerProducer) {
+        this.entityManagerProducer = entityManagerProducer;
+    }
+
+    @Override
+    public UserActivityLog save(UserActivityLog activityLog) {
+        // audit rows live with the rest of the user's data so history reads and shard moves see them
+        String shard = shardRouter.shardFor(activityLog.getUserId());
+        EntityManager auditEm = entityManagerProducer.getShardFactory(shard).createEntityManager();
+        try {
+            auditEm.getTransaction().begin();
+            auditEm.persist(activityLog);
+            auditEm.getTransaction().commit();
+            return activityLog;
+        } catch (Exception e) {
+            if (auditEm.getTransaction().isActive()) {
+                auditEm.getTransaction().rollback();
+            }
+            throw e;
+        } finally {
+            auditEm.close();
+        }
+    }
+
+    @Override
+    protected Set<String> keysetFields() {
+        return KEYSET_FIELDS;
+    }
 
     @Override
     public Collection<UserActivityLog> findAll(UserActivityLog object) {
-        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaBuilder cb = readEm().getCriteriaBuilder();
         CriteriaQuery<UserActivityLog> cq = cb.createQuery(UserActivityLog.class);
         Root<UserActivityLog> root = cq.from(UserActivityLog.class);
         Predicate predicate = buildDefaultPredicateFor(object, cb, root);
-        cq.where(predicate).orderBy(cb.desc(root.get("timestamp")));
-        TypedQuery<UserActivityLog> query = em.createQuery(cq);
+        cq.where(predicate).orderBy(cb.desc(root.get(TIMESTAMP)));
+        TypedQuery<UserActivityLog> query = readEm().createQuery(cq);
         return query.getResultList();
     }
 
     @Override
     protected Predicate buildDefaultPredicateFor(UserActivityLog filter, CriteriaBuilder cb, Root<?> root) {
-        Predicate predicate = cb.conjunction();
+        Predicate predicate = cb.greaterThanOrEqualTo(root.get(TIMESTAMP), queryWindowStart());
         if (filter.getUserId() != null) {
             predicate = cb.and(predicate, cb.equal(root.get("userId"), filter.getUserId()));
         }
@@ -53,8 +95,32 @@ public class UserActivityLogDAO extends BaseDAO<UserActivityLog, String> {
         return predicate;
     }
 
+    @Override
+    protected CountQuery estimateQuery(UserActivityLog filter) {
+        StringBuilder sql = new StringBuilder("FROM tb_user_activity_log WHERE timestamp >= ?");
+        List<Object> params = new ArrayList<>();
+        params.add(new Timestamp(queryWindowStart().getTime()));
+        if (filter.getUserId() != null) {
+            sql.append(" AND user_id = ?");
+            params.add(filter.getUserId());
+        }
+        if (filter.getAction() != null) {
+            sql.append(" AND upper(action) LIKE ?");
+            params.add(MatchMode.ANYWHERE.toMatchString(filter.getAction().toUpperCase()));
+        }
+        if (filter.getHttpStatusCode() != null) {
+            sql.append(" AND http_status_code = ?");
+            params.add(filter.getHttpStatusCode());
+        }
+        if (filter.getStatus() != null) {
+            sql.append(" AND status = ?");
+            params.add(filter.getStatus().name());
+        }
+        return new CountQuery(sql.toString(), params);
+    }
+
     public List<UserActivityLog> findByUserIdAndDateRange(String userId, Date startDate, Date endDate, String status) {
-        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaBuilder cb = readEm().getCriteriaBuilder();
         CriteriaQuery<UserActivityLog> cq = cb.createQuery(UserActivityLog.class);
         Root<UserActivityLog> root = cq.from(UserActivityLog.class);
 
@@ -63,16 +129,19 @@ public class UserActivityLogDAO extends BaseDAO<UserActivityLog, String> {
             predicate = cb.and(predicate, cb.equal(root.get("status"), status.toUpperCase()));
         }
 
-        if (startDate != null) {
-            predicate = cb.and(predicate, cb.greaterThanOrEqualTo(root.get("timestamp"), startDate));
-        }
+        Date lowerBound = startDate != null ? startDate : queryWindowStart();
+        predicate = cb.and(predicate, cb.greaterThanOrEqualTo(root.get(TIMESTAMP), lowerBound));
         if (endDate != null) {
-            predicate = cb.and(predicate, cb.lessThanOrEqualTo(root.get("timestamp"), endDate));
+            predicate = cb.and(predicate, cb.lessThanOrEqualTo(root.get(TIMESTAMP), endDate));
         }
 
-        cq.where(predicate).orderBy(cb.desc(root.get("timestamp")));
-        TypedQuery<UserActivityLog> query = em.createQuery(cq);
+        cq.where(predicate).orderBy(cb.desc(root.get(TIMESTAMP)));
+        TypedQuery<UserActivityLog> query = readEm().createQuery(cq);
         return query.getResultList();
     }
-}
 
+    private static Date queryWindowStart() {
+        int days = PropertiesUtil.getProperty("activity.query.window.days", 365);
+        return Date.from(Instant.now().minus(days, ChronoUnit.DAYS));
+    }
+}
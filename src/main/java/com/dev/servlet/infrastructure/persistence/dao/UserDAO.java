@@ -3,11 +3,13 @@ package com.dev.servlet.infrastructure.persistence.dao;
 import com.dev.servlet.core.util.CollectionUtils;
 import com.dev.servlet.domain.model.User;
 import com.dev.servlet.domain.model.enums.Status;
+import com.dev.servlet.infrastructure.persistence.Directory;
 import com.dev.servlet.infrastructure.persistence.dao.base.BaseDAO;
 import lombok.NoArgsConstructor;
-import org.hibernate.Session;
 
-import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -20,10 +22,26 @@ import java.util.List;
 import java.util.Optional;
 
 @NoArgsConstructor
-@RequestScoped
+@ApplicationScoped
 public class UserDAO extends BaseDAO<User, String> {
     public static final String CREDENTIALS = "credentials";
 
+    @Inject
+    @Override
+    public void setEm(@Directory EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    protected EntityManager readEm() {
+        return shardRouter != null && shardRouter.isEnabled() ? em : super.readEm();
+    }
+
+    @Override
+    protected String detailGraph() {
+        return User.DETAIL_GRAPH;
+    }
+
     @Override
     public List<User> findAll(User user) {
         CriteriaBuilder cb = em.getCriteriaBuilder();
@@ -32,7 +50,7 @@ public class UserDAO extends BaseDAO<User, String> {
         Predicate predicate = buildDefaultPredicateFor(user, cb, root);
         Order descId = cb.asc(root.get(ID));
         cq.select(root).where(predicate).orderBy(descId);
-        TypedQuery<User> query = em.createQuery(cq);
+        TypedQuery<User> query = withDetailGraph(em.createQuery(cq));
         return query.getResultList();
     }
 
@@ -47,7 +65,6 @@ public class UserDAO extends BaseDAO<User, String> {
 
     @Override
     public boolean delete(User user) {
-        Session session = getNewOpenSession();
         CriteriaBuilder builder = em.getCriteriaBuilder();
         CriteriaUpdate<User> cu = builder.createCriteriaUpdate(User.class);
         Root<User> root = cu.from(User.class);
@@ -55,8 +72,7 @@ public class UserDAO extends BaseDAO<User, String> {
         Predicate predicate = builder.equal(root.get(ID), user.getId());
         cu.where(predicate);
         Query query = em.createQuery(cu);
-        query.executeUpdate();
-        session.getTransaction().commit();
+        executeInTransaction(query::executeUpdate);
         return true;
     }
 
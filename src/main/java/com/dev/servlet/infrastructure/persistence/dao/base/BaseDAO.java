@@ -4,23 +4,49 @@ import com.dev.servlet.core.exception.ServiceException;
 import com.dev.servlet.core.util.ClassUtil;
 import com.dev.servlet.domain.records.Sort;
 import com.dev.servlet.infrastructure.persistence.IPageRequest;
+import com.dev.servlet.infrastructure.persistence.Replica;
+import com.dev.servlet.infrastructure.persistence.bulk.BulkResult;
+import com.dev.servlet.infrastructure.persistence.bulk.BulkTable;
+import com.dev.servlet.infrastructure.persistence.bulk.BulkWriter;
+import com.dev.servlet.infrastructure.persistence.internal.Cursor;
+import com.dev.servlet.infrastructure.persistence.internal.Projection;
+import com.dev.servlet.infrastructure.persistence.internal.ReplicaRouter;
+import com.dev.servlet.infrastructure.persistence.internal.Slice;
+import com.dev.servlet.infrastructure.persistence.shard.ShardRouter;
 import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Session;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.io.IOException;
 import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
 
 @Slf4j
 @NoArgsConstructor
@@ -28,25 +54,60 @@ public abstract class BaseDAO<T, ID> implements Serializable {
     protected static final String STATUS = "status";
     protected static final String USER = "user";
     protected static final String ID = "id";
+    protected static final String LOAD_GRAPH = "javax.persistence.loadgraph";
+    private static final String CURSOR_ID = "cursorId";
+    private static final String CURSOR_VALUE = "cursorValue";
+    private static final ObjectMapper JSON = new ObjectMapper();
     protected EntityManager em;
+    protected ShardRouter shardRouter;
+    private EntityManager replicaEm;
+    private ReplicaRouter replicaRouter;
     private Class<T> specialization;
+    private BulkWriter bulkWriter;
 
     public abstract Collection<T> findAll(T object);
 
     protected abstract Predicate buildDefaultPredicateFor(T filter, CriteriaBuilder cb, Root<?> root);
 
+    protected Set<String> keysetFields() {
+        return Set.of(ID);
+    }
+
+    protected String detailGraph() {
+        return null;
+    }
+
     @Inject
     public void setEm(EntityManager em) {
         this.em = em;
     }
 
+    @Inject
+    public void setReplicaEm(@Replica EntityManager replicaEm) {
+        this.replicaEm = replicaEm;
+    }
+
+    @Inject
+    public void setReplicaRouter(ReplicaRouter replicaRouter) {
+        this.replicaRouter = replicaRouter;
+    }
+
+    @Inject
+    public void setShardRouter(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
     @PostConstruct
     public void init() {
         specialization = ClassUtil.getSubClassType(this.getClass());
+        bulkWriter = new BulkWriter();
     }
 
     public Optional<T> findById(ID id) {
-        T value = em.find(specialization, id);
+        String graph = detailGraph();
+        T value = graph == null
+                ? em.find(specialization, id)
+                : em.find(specialization, id, Map.of(LOAD_GRAPH, em.getEntityGraph(graph)));
         return Optional.ofNullable(value);
     }
 
@@ -83,7 +144,22 @@ public abstract class BaseDAO<T, ID> implements Serializable {
         return false;
     }
 
-    private void beginTransaction() {
+    protected <X> TypedQuery<X> withDetailGraph(TypedQuery<X> query) {
+        String graph = detailGraph();
+        return graph == null ? query : query.setHint(LOAD_GRAPH, readEm().getEntityGraph(graph));
+    }
+
+    protected EntityManager readEm() {
+        if (replicaRouter != null && replicaRouter.isReadOnlyScope() && !em.getTransaction().isActive()) {
+            return replicaEm;
+        }
+        return em;
+    }
+
+    private void beginTransaction() throws ServiceException {
+        if (shardRouter != null) {
+            shardRouter.checkWritable();
+        }
         if (!em.getTransaction().isActive()) {
             em.getTransaction().begin();
         }
@@ -92,6 +168,9 @@ public abstract class BaseDAO<T, ID> implements Serializable {
     protected void commitTransaction() {
         try {
             em.getTransaction().commit();
+            if (replicaRouter != null) {
+                replicaRouter.recordWrite();
+            }
         } catch (Exception e) {
             log.error("Error committing transaction: {}", e.getMessage());
             rollbackTransaction();
@@ -109,7 +188,17 @@ public abstract class BaseDAO<T, ID> implements Serializable {
         }
     }
 
-    private <R> R executeInTransaction(TransactionAction<R> action) {
+    protected <R> R executeInTransaction(TransactionAction<R> action) {
+        if (em.getTransaction().isActive()) {
+            try {
+                return action.execute();
+            } catch (Exception e) {
+                log.error("Transaction failed: {}", e.getMessage());
+                em.getTransaction().setRollbackOnly();
+                throw new RuntimeException("Transaction failed", e);
+            }
+        }
+
         try {
             beginTransaction();
             R result = action.execute();
@@ -122,42 +211,240 @@ public abstract class BaseDAO<T, ID> implements Serializable {
         }
     }
 
-    protected Session getNewOpenSession() {
+    protected List<T> bulkInsert(List<T> rows, BulkTable<T> table) throws ServiceException {
         Session session = em.unwrap(Session.class);
-        session.beginTransaction();
-        return session;
+        try {
+            // a failed chunk fails the whole insert so the transaction never commits a partial import
+            return executeInTransaction(() -> {
+                BulkResult<T> result = session.doReturningWork(connection -> bulkWriter.write(connection, table, rows));
+                if (result.hasErrors()) {
+                    BulkResult.ChunkError first = result.errors().get(0);
+                    throw new IllegalStateException(result.errors().size() + " chunk(s) failed, first at row "
+                            + first.offset() + ": " + first.message());
+                }
+                return result.written();
+            });
+        } catch (Exception e) {
+            log.error("Bulk insert into {} failed: {}", table.name(), e.getMessage());
+            throw new ServiceException(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        }
     }
 
-    @SuppressWarnings("unchecked")
     public List<T> getAllPageable(IPageRequest pageRequest) {
-        CriteriaBuilder cb = em.getCriteriaBuilder();
+        return fetchEntities(pageRequest, null, null, pageRequest.getPageSize());
+    }
+
+    public Slice<T> getSlice(IPageRequest pageRequest) {
+        return slice(pageRequest,
+                (sort, cursor, maxResults) -> fetchEntities(pageRequest, sort, cursor, maxResults),
+                this::attributeValue);
+    }
+
+    public <P> Slice<P> getSlice(IPageRequest pageRequest, Projection<T, P> projection) {
+        Slice<Tuple> slice = slice(pageRequest,
+                (sort, cursor, maxResults) -> fetchTuples(pageRequest, projection, sort, cursor, maxResults),
+                (tuple, attribute) -> tuple.get(ID.equals(attribute) ? CURSOR_ID : CURSOR_VALUE));
+        List<P> content = slice.content().stream().map(projection::map).toList();
+        return new Slice<>(content, slice.hasNext(), slice.previousCursor(), slice.nextCursor());
+    }
+
+    private <R> Slice<R> slice(IPageRequest pageRequest, RowFetcher<R> fetcher, BiFunction<R, String, Object> valueOf) {
+        Sort sort = keysetSort(pageRequest.getSort());
+        Cursor cursor = sort != null ? decodeCursor(pageRequest.getCursor(), sort) : null;
+
+        List<R> rows = fetcher.fetch(sort, cursor, pageRequest.getPageSize() + 1);
+        boolean hasMore = rows.size() > pageRequest.getPageSize();
+        List<R> content = new ArrayList<>(rows.subList(0, Math.min(rows.size(), pageRequest.getPageSize())));
+        boolean backward = cursor != null && cursor.backward();
+        if (backward) {
+            Collections.reverse(content);
+        }
+        if (content.isEmpty()) {
+            return new Slice<>(content, false, null, null);
+        }
+
+        boolean hasNext = backward || hasMore;
+        if (sort == null) {
+            return new Slice<>(content, hasNext, null, null);
+        }
+
+        boolean hasPrevious = cursor == null ? pageRequest.getFirstResult() > 0 : !backward || hasMore;
+        String previous = hasPrevious ? cursorOf(valueOf, content.get(0), sort, true) : null;
+        String next = hasNext ? cursorOf(valueOf, content.get(content.size() - 1), sort, false) : null;
+        return new Slice<>(content, hasNext, previous, next);
+    }
+
+    private List<T> fetchEntities(IPageRequest pageRequest, Sort sort, Cursor cursor, int maxResults) {
+        CriteriaBuilder cb = readEm().getCriteriaBuilder();
         CriteriaQuery<T> query = cb.createQuery(specialization);
         Root<T> root = query.from(specialization);
-        if (pageRequest.getSort() != null && pageRequest.getSort().getField() != null) {
-            Path<Object> path = root.get(pageRequest.getSort().getField());
-            query.orderBy(pageRequest.getSort().getDirection() == Sort.Direction.DESC ? cb.desc(path) : cb.asc(path));
+        query.select(root).distinct(true);
+        return fetchRows(query, root, pageRequest, sort, cursor, maxResults);
+    }
+
+    private List<Tuple> fetchTuples(IPageRequest pageRequest, Projection<T, ?> projection, Sort sort, Cursor cursor, int maxResults) {
+        CriteriaBuilder cb = readEm().getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(specialization);
+
+        List<Selection<?>> selections = new ArrayList<>(projection.select(cb, root));
+        selections.add(root.get(ID).alias(CURSOR_ID));
+        if (sort != null) {
+            selections.add(root.get(sort.getField()).alias(CURSOR_VALUE));
         }
+        query.multiselect(selections);
+        return fetchRows(query, root, pageRequest, sort, cursor, maxResults);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> List<R> fetchRows(CriteriaQuery<R> query, Root<T> root, IPageRequest pageRequest,
+                                  Sort sort, Cursor cursor, int maxResults) {
+        CriteriaBuilder cb = readEm().getCriteriaBuilder();
         Predicate predicate = buildDefaultPredicateFor((T) pageRequest.getFilter(), cb, root);
-        query.where(predicate).select(root).distinct(true);
-        TypedQuery<T> typedQuery = em.createQuery(query)
-                .setFirstResult(pageRequest.getFirstResult())
-                .setMaxResults(pageRequest.getPageSize());
+        if (cursor != null) {
+            predicate = cb.and(predicate, seek(cb, root, sort, cursor));
+        }
+        query.where(predicate);
+
+        Sort order = cursor != null ? sort : pageRequest.getSort();
+        if (order != null && order.getField() != null) {
+            boolean ascending = (order.getDirection() != Sort.Direction.DESC) != (cursor != null && cursor.backward());
+            Path<Object> path = root.get(order.getField());
+            Path<Object> id = root.get(ID);
+            query.orderBy(ascending ? cb.asc(path) : cb.desc(path), ascending ? cb.asc(id) : cb.desc(id));
+        }
+
+        TypedQuery<R> typedQuery = readEm().createQuery(query).setMaxResults(maxResults);
+        if (cursor == null) {
+            typedQuery.setFirstResult(pageRequest.getFirstResult());
+        }
         return typedQuery.getResultList();
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate seek(CriteriaBuilder cb, Root<T> root, Sort sort, Cursor cursor) {
+        boolean ascending = (sort.getDirection() == Sort.Direction.ASC) != cursor.backward();
+        Path<Comparable> path = root.get(sort.getField());
+        Path<String> id = root.get(ID);
+        Comparable value = cursor.typedValue(path.getJavaType());
+        Predicate tiebreak = ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+
+        if (ID.equals(sort.getField())) {
+            return tiebreak;
+        }
+        // null keys sort after every value in ascending order (PostgreSQL's default), ordered by id alone
+        if (value == null) {
+            Predicate nulls = cb.and(cb.isNull(path), tiebreak);
+            return ascending ? nulls : cb.or(cb.isNotNull(path), nulls);
+        }
+        Predicate bound = ascending ? cb.greaterThanOrEqualTo(path, value) : cb.lessThanOrEqualTo(path, value);
+        Predicate after = ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+        Predicate seek = cb.and(bound, cb.or(after, tiebreak));
+        return ascending ? cb.or(seek, cb.isNull(path)) : seek;
+    }
+
+    private Sort keysetSort(Sort sort) {
+        String field = sort != null && sort.getField() != null ? sort.getField() : ID;
+        if (!keysetFields().contains(field)) return null;
+
+        Sort.Direction direction = sort != null && sort.getDirection() == Sort.Direction.DESC
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+        return Sort.by(field).direction(direction);
+    }
+
+    private Cursor decodeCursor(String token, Sort sort) {
+        if (token == null) return null;
+        try {
+            Cursor cursor = Cursor.decode(token);
+            if (!cursor.matches(sort)) return null;
+
+            cursor.typedValue(readEm().getMetamodel().entity(specialization).getAttribute(sort.getField()).getJavaType());
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring invalid cursor: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private <R> String cursorOf(BiFunction<R, String, Object> valueOf, R row, Sort sort, boolean backward) {
+        Object value = valueOf.apply(row, sort.getField());
+        String id = String.valueOf(valueOf.apply(row, ID));
+        String formatted = value instanceof Date date ? String.valueOf(date.getTime()) : value != null ? value.toString() : null;
+        return new Cursor(sort.getField(), sort.getDirection(), formatted, id, backward).encode();
+    }
+
+    private Object attributeValue(T entity, String attribute) {
+        Member member = readEm().getMetamodel().entity(specialization).getAttribute(attribute).getJavaMember();
+        try {
+            if (member instanceof Field field) {
+                field.setAccessible(true);
+                return field.get(entity);
+            }
+            return ((Method) member).invoke(entity);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot read attribute " + attribute, e);
+        }
+    }
+
+    /**
+     * Returns the {@code FROM ... WHERE ...} part of a native query matching the list filter, used to
+     * ask the planner for a row estimate. DAOs that do not provide one always count exactly.
+     */
+    protected CountQuery estimateQuery(T filter) {
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public long estimateCount(IPageRequest pageRequest) {
+        CountQuery countQuery = estimateQuery((T) pageRequest.getFilter());
+        if (countQuery == null) {
+            return count(pageRequest);
+        }
+
+        try {
+            return readEm().unwrap(Session.class).doReturningWork(connection -> {
+                try (PreparedStatement ps = connection.prepareStatement("EXPLAIN (FORMAT JSON) SELECT 1 " + countQuery.sql())) {
+                    for (int i = 0; i < countQuery.params().size(); i++) {
+                        ps.setObject(i + 1, countQuery.params().get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        rs.next();
+                        JsonNode plan = JSON.readTree(rs.getString(1));
+                        return plan.path(0).path("Plan").path("Plan Rows").asLong();
+                    } catch (IOException e) {
+                        throw new SQLException("Unreadable query plan", e);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Falling back to exact count for {}: {}", specialization.getSimpleName(), e.getMessage());
+            return count(pageRequest);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public long count(IPageRequest pageRequest) {
-        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaBuilder cb = readEm().getCriteriaBuilder();
         CriteriaQuery<Long> query = cb.createQuery(Long.class);
         Root<T> root = query.from(specialization);
         Predicate predicate = buildDefaultPredicateFor((T) pageRequest.getFilter(), cb, root);
         query.where(predicate).select(cb.count(root));
-        TypedQuery<Long> typedQuery = em.createQuery(query);
+        TypedQuery<Long> typedQuery = readEm().createQuery(query);
         Long count = typedQuery.getSingleResult();
         return count != null ? count : 0L;
     }
+
+    public record CountQuery(String sql, List<Object> params) {
+    }
+
     @FunctionalInterface
-    private interface TransactionAction<R> {
+    protected interface TransactionAction<R> {
         R execute();
     }
+
+    @FunctionalInterface
+    private interface RowFetcher<R> {
+        List<R> fetch(Sort sort, Cursor cursor, int maxResults);
+    }
 }
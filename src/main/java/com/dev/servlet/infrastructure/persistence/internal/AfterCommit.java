@@ -0,0 +1,53 @@
+package com.dev.servlet.infrastructure.persistence.internal;
+
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class AfterCommit {
+
+    private static final ThreadLocal<List<Runnable>> CALLBACKS = new ThreadLocal<>();
+
+    public static void run(Runnable callback) {
+        List<Runnable> callbacks = CALLBACKS.get();
+        if (callbacks == null) {
+            callback.run();
+        } else {
+            callbacks.add(callback);
+        }
+    }
+
+    static boolean isActive() {
+        return CALLBACKS.get() != null;
+    }
+
+    static void begin() {
+        CALLBACKS.set(new ArrayList<>());
+    }
+
+    static void commit() {
+        List<Runnable> callbacks = CALLBACKS.get();
+        CALLBACKS.remove();
+        if (callbacks == null) return;
+
+        for (Runnable callback : callbacks) {
+            try {
+                callback.run();
+            } catch (Exception e) {
+                log.error("After-commit callback failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    static void discard() {
+        List<Runnable> callbacks = CALLBACKS.get();
+        CALLBACKS.remove();
+        if (callbacks != null && !callbacks.isEmpty()) {
+            log.debug("Discarded {} after-commit callback(s) on rollback", callbacks.size());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.dev.servlet.infrastructure.persistence.internal;
+
+import com.dev.servlet.domain.records.Sort;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.StringUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+public record Cursor(@JsonProperty("f") String field,
+                     @JsonProperty("d") Sort.Direction direction,
+                     @JsonProperty("v") String value,
+                     @JsonProperty("i") String id,
+                     @JsonProperty("b") boolean backward) {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    public String encode() {
+        try {
+            byte[] json = mapper.writeValueAsBytes(this);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot encode cursor", e);
+        }
+    }
+
+    public static Cursor decode(String token) {
+        if (StringUtils.isBlank(token)) {
+            throw new IllegalArgumentException("Cursor is empty");
+        }
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token.trim());
+            Cursor cursor = mapper.readValue(new String(json, StandardCharsets.UTF_8), Cursor.class);
+            if (StringUtils.isAnyBlank(cursor.field(), cursor.id()) || cursor.direction() == null) {
+                throw new IllegalArgumentException("Incomplete cursor");
+            }
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    /**
+     * Parses the sort key for an attribute of the given type. A {@code null} value stands for a row
+     * whose sort key is null; anything that does not parse throws {@link IllegalArgumentException}.
+     */
+    @SuppressWarnings("rawtypes")
+    public Comparable typedValue(Class<?> type) {
+        if (value == null) return null;
+        if (Date.class.isAssignableFrom(type)) return new Date(Long.parseLong(value));
+        if (BigDecimal.class.equals(type)) return new BigDecimal(value);
+        if (Long.class.equals(type) || long.class.equals(type)) return Long.valueOf(value);
+        if (Integer.class.equals(type) || int.class.equals(type)) return Integer.valueOf(value);
+        return value;
+    }
+
+    public boolean matches(Sort sort) {
+        return sort != null && field.equals(sort.getField()) && direction == sort.getDirection();
+    }
+}
@@ -1,6 +1,7 @@
 package com.dev.servlet.infrastructure.persistence.internal;
 
 import com.dev.servlet.domain.records.Sort;
+import com.dev.servlet.infrastructure.persistence.CountStrategy;
 import com.dev.servlet.infrastructure.persistence.IPageRequest;
 import lombok.Builder;
 import lombok.Data;
@@ -17,6 +18,9 @@ public final class PageRequest implements IPageRequest, Serializable {
     private int initialPage;
     private int pageSize;
     private Object filter;
+    private String cursor;
+    @Builder.Default
+    private CountStrategy countStrategy = CountStrategy.EXACT;
 
     public static PageRequest of(int initialPage, int pageSize, Object filter, Sort sort) {
         return PageRequest.builder().initialPage(initialPage).pageSize(pageSize).filter(filter).sort(sort).build();
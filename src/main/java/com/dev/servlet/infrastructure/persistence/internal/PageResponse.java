@@ -1,6 +1,8 @@
 package com.dev.servlet.infrastructure.persistence.internal;
 
+import com.dev.servlet.core.util.CloneUtil;
 import com.dev.servlet.domain.records.Sort;
+import com.dev.servlet.infrastructure.persistence.CountStrategy;
 import com.dev.servlet.infrastructure.persistence.IPageable;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
@@ -23,6 +25,27 @@ public final class PageResponse<T> implements IPageable<T> {
     private int pageSize;
     private long totalElements;
     private Sort sort;
+    private String nextCursor;
+    private String previousCursor;
+    private CountStrategy countStrategy;
+
+    public static <T> PageResponse<T> copyOf(IPageable<T> page) {
+        return PageResponse.<T>builder()
+                .content(CloneUtil.cloneList(page.getContent()))
+                .currentPage(page.getCurrentPage())
+                .pageSize(page.getPageSize())
+                .totalElements(page.getTotalElements())
+                .sort(page.getSort())
+                .nextCursor(page.getNextCursor())
+                .previousCursor(page.getPreviousCursor())
+                .countStrategy(page.getCountStrategy())
+                .build();
+    }
+
+    @Override
+    public CountStrategy getCountStrategy() {
+        return countStrategy != null ? countStrategy : CountStrategy.EXACT;
+    }
 
     public int getTotalPages() {
         double totalPerPage = Math.ceil(totalElements * 1.0 / pageSize);
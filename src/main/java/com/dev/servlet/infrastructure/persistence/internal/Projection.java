@@ -0,0 +1,13 @@
+package com.dev.servlet.infrastructure.persistence.internal;
+
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.List;
+
+public interface Projection<T, P> {
+    List<Selection<?>> select(CriteriaBuilder cb, Root<T> root);
+
+    P map(Tuple tuple);
+}
@@ -0,0 +1,73 @@
+package com.dev.servlet.infrastructure.persistence.internal;
+
+import com.dev.servlet.core.util.PropertiesUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+@Slf4j
+@ApplicationScoped
+public class ReplicaRouter {
+    public static final String USER_MDC_KEY = "userId";
+
+    private static final ThreadLocal<Boolean> READ_ONLY_SCOPE = new ThreadLocal<>();
+
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long pinMillis;
+    private final LongSupplier clock;
+
+    public ReplicaRouter() {
+        this(PropertiesUtil.getProperty("db.replica.enabled", false),
+                PropertiesUtil.getProperty("db.replica.pin.ms", 5000L),
+                System::currentTimeMillis);
+    }
+
+    public ReplicaRouter(boolean enabled, long pinMillis, LongSupplier clock) {
+        this.enabled = enabled;
+        this.pinMillis = pinMillis;
+        this.clock = clock;
+    }
+
+    public boolean enterReadOnlyScope() {
+        if (!enabled || READ_ONLY_SCOPE.get() != null || isPinned(MDC.get(USER_MDC_KEY))) {
+            return false;
+        }
+        READ_ONLY_SCOPE.set(Boolean.TRUE);
+        return true;
+    }
+
+    public void exitReadOnlyScope() {
+        READ_ONLY_SCOPE.remove();
+    }
+
+    public boolean isReadOnlyScope() {
+        return READ_ONLY_SCOPE.get() != null;
+    }
+
+    public void recordWrite() {
+        String userId = MDC.get(USER_MDC_KEY);
+        if (!enabled || userId == null) return;
+
+        long now = clock.getAsLong();
+        pinnedUntil.put(userId, now + pinMillis);
+        if (pinnedUntil.size() > 10_000) {
+            pinnedUntil.values().removeIf(until -> until <= now);
+        }
+    }
+
+    public boolean isPinned(String userId) {
+        if (userId == null) return false;
+
+        Long until = pinnedUntil.get(userId);
+        if (until == null) return false;
+        if (until > clock.getAsLong()) return true;
+
+        pinnedUntil.remove(userId, until);
+        return false;
+    }
+}
@@ -0,0 +1,6 @@
+package com.dev.servlet.infrastructure.persistence.internal;
+
+import java.util.List;
+
+public record Slice<T>(List<T> content, boolean hasNext, String previousCursor, String nextCursor) {
+}
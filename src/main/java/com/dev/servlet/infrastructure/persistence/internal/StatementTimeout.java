@@ -0,0 +1,114 @@
+package com.dev.servlet.infrastructure.persistence.internal;
+
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class StatementTimeout {
+
+    public static final String QUERY_CANCELED = "57014";
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final ScheduledThreadPoolExecutor WATCHDOG = watchdog();
+
+    /**
+     * Opens a budget for the database work of the current thread. The clock starts at the first
+     * statement, so validation, rendering or remote calls made before it are not charged.
+     */
+    public static Scope open(long timeoutMillis) {
+        Scope scope = new Scope(Math.max(0, TimeUnit.MILLISECONDS.toNanos(timeoutMillis)), true, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static Scope unbounded() {
+        Scope scope = new Scope(0, false, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static ScheduledFuture<?> watch(Statement statement) throws SQLTimeoutException {
+        Scope scope = CURRENT.get();
+        if (scope == null) return null;
+
+        long now = System.nanoTime();
+        Long deadline = scope.deadline(now);
+        if (deadline == null) return null;
+
+        long remaining = deadline - now;
+        if (remaining <= 0) {
+            throw new SQLTimeoutException("Request deadline exceeded before the statement started", QUERY_CANCELED);
+        }
+        return WATCHDOG.schedule(() -> cancel(statement), remaining, TimeUnit.NANOSECONDS);
+    }
+
+    public static boolean isCancellation(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof SQLTimeoutException || t instanceof SQLException e && QUERY_CANCELED.equals(e.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void cancel(Statement statement) {
+        try {
+            statement.cancel();
+            log.warn("Cancelled a statement that exceeded its request deadline");
+        } catch (SQLException e) {
+            log.debug("Failed to cancel statement: {}", e.getMessage());
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor watchdog() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "statement-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final long timeoutNanos;
+        private final boolean inherit;
+        private final Scope previous;
+        private Long deadlineNanos;
+
+        private Scope(long timeoutNanos, boolean inherit, Scope previous) {
+            this.timeoutNanos = timeoutNanos;
+            this.inherit = inherit;
+            this.previous = previous;
+        }
+
+        private Long deadline(long now) {
+            if (timeoutNanos > 0 && deadlineNanos == null) {
+                deadlineNanos = now + timeoutNanos;
+            }
+            Long deadline = deadlineNanos;
+            Long outer = inherit && previous != null ? previous.deadline(now) : null;
+            if (outer != null && (deadline == null || outer - deadline < 0)) {
+                deadline = outer;
+            }
+            return deadline;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
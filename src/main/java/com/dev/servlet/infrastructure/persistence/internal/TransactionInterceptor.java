@@ -0,0 +1,126 @@
+package com.dev.servlet.infrastructure.persistence.internal;
+
+import com.dev.servlet.infrastructure.persistence.Propagation;
+import com.dev.servlet.infrastructure.persistence.Transactional;
+import com.dev.servlet.infrastructure.persistence.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+import java.sql.Statement;
+
+@Slf4j
+@Interceptor
+@Transactional
+@Priority(Interceptor.Priority.PLATFORM_AFTER)
+public class TransactionInterceptor {
+
+    private final EntityManager em;
+    private final ReplicaRouter replicaRouter;
+    private final ShardRouter shardRouter;
+
+    @Inject
+    public TransactionInterceptor(EntityManager em, ReplicaRouter replicaRouter, ShardRouter shardRouter) {
+        this.em = em;
+        this.replicaRouter = replicaRouter;
+        this.shardRouter = shardRouter;
+    }
+
+    @AroundInvoke
+    public Object manageTransaction(InvocationContext context) throws Exception {
+        if (em.getTransaction().isActive()) {
+            return context.proceed();
+        }
+
+        Transactional config = resolveConfig(context);
+        Propagation propagation = config != null ? config.propagation() : Propagation.REQUIRED;
+        return switch (propagation) {
+            case MANDATORY -> throw new IllegalStateException("No active transaction for " + methodName(context));
+            case SUPPORTS -> context.proceed();
+            case REQUIRED -> config != null && config.readOnly()
+                    ? proceedReadOnly(context)
+                    : proceedInTransaction(context, false);
+        };
+    }
+
+    private Object proceedReadOnly(InvocationContext context) throws Exception {
+        if (!replicaRouter.enterReadOnlyScope()) {
+            return proceedInTransaction(context, true);
+        }
+        try {
+            return context.proceed();
+        } finally {
+            replicaRouter.exitReadOnlyScope();
+        }
+    }
+
+    private Object proceedInTransaction(InvocationContext context, boolean readOnly) throws Exception {
+        Session session = em.unwrap(Session.class);
+        EntityTransaction transaction = em.getTransaction();
+        FlushMode flushMode = session.getHibernateFlushMode();
+        boolean defaultReadOnly = session.isDefaultReadOnly();
+
+        if (!readOnly) {
+            shardRouter.checkWritable();
+        }
+        transaction.begin();
+        AfterCommit.begin();
+        try {
+            if (readOnly) {
+                session.setDefaultReadOnly(true);
+                session.setHibernateFlushMode(FlushMode.MANUAL);
+                session.doWork(connection -> {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SET TRANSACTION READ ONLY");
+                    }
+                });
+            }
+
+            Object result = context.proceed();
+            if (transaction.getRollbackOnly()) {
+                log.warn("Transaction for {} was marked rollback-only", methodName(context));
+                transaction.rollback();
+                AfterCommit.discard();
+            } else {
+                transaction.commit();
+                if (!readOnly) {
+                    replicaRouter.recordWrite();
+                }
+                AfterCommit.commit();
+            }
+            return result;
+
+        } catch (Exception e) {
+            AfterCommit.discard();
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+
+        } finally {
+            if (readOnly) {
+                session.setDefaultReadOnly(defaultReadOnly);
+                session.setHibernateFlushMode(flushMode);
+            }
+        }
+    }
+
+    private static Transactional resolveConfig(InvocationContext context) {
+        Transactional config = context.getMethod().getAnnotation(Transactional.class);
+        if (config != null || context.getTarget() == null) {
+            return config;
+        }
+        return context.getTarget().getClass().getAnnotation(Transactional.class);
+    }
+
+    private static String methodName(InvocationContext context) {
+        return context.getMethod().getDeclaringClass().getSimpleName() + "." + context.getMethod().getName();
+    }
+}
@@ -0,0 +1,179 @@
+package com.dev.servlet.infrastructure.persistence.partition;
+
+import com.dev.servlet.config.EntityManagerProducer;
+import com.dev.servlet.core.util.PropertiesUtil;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Singleton
+@NoArgsConstructor
+public class ActivityLogPartitionManager {
+
+    static final String PARENT = "tb_user_activity_log";
+    private static final String PREFIX = PARENT + "_";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+    @Inject
+    private EntityManagerProducer producer;
+
+    private boolean enabled;
+    private int monthsAhead;
+    private int retentionMonths;
+    private boolean dropExpired;
+    private long intervalHours;
+
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        this.enabled = PropertiesUtil.getProperty("activity.partition.enabled", true);
+        this.monthsAhead = PropertiesUtil.getProperty("activity.partition.months.ahead", 3);
+        this.retentionMonths = PropertiesUtil.getProperty("activity.retention.months", 12);
+        this.dropExpired = PropertiesUtil.getProperty("activity.retention.drop", true);
+        this.intervalHours = PropertiesUtil.getProperty("activity.partition.interval.hours", 24L);
+    }
+
+    public synchronized void start() {
+        if (!enabled || running) {
+            log.info("[ActivityLogPartitionManager] not started [enabled={}, running={}]", enabled, running);
+            return;
+        }
+
+        running = true;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "activity-log-partitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runQuietly, 0, intervalHours, TimeUnit.HOURS);
+        log.info("[ActivityLogPartitionManager] started [monthsAhead={}, retentionMonths={}, dropExpired={}]",
+                monthsAhead, retentionMonths, dropExpired);
+    }
+
+    public synchronized void stop() {
+        if (!running) return;
+
+        running = false;
+        scheduler.shutdownNow();
+        log.info("[ActivityLogPartitionManager] stopped");
+    }
+
+    private void runQuietly() {
+        try {
+            run(YearMonth.now());
+        } catch (Exception e) {
+            log.error("[ActivityLogPartitionManager] run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public void run(YearMonth current) {
+        producer.getShardFactories().values().forEach(factory -> run(current, factory.unwrap(SessionFactory.class)));
+    }
+
+    private void run(YearMonth current, SessionFactory sessionFactory) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                executeDdl(sessionFactory, createSql(month));
+            } catch (Exception e) {
+                log.warn("[ActivityLogPartitionManager] could not create {}: {}", partitionName(month), e.getMessage());
+            }
+        }
+
+        if (retentionMonths <= 0) return;
+
+        for (String partition : expired(partitions(sessionFactory), current.minusMonths(retentionMonths))) {
+            try {
+                if (dropExpired) {
+                    executeDdl(sessionFactory, "ALTER TABLE " + PARENT + " DETACH PARTITION " + partition, "DROP TABLE " + partition);
+                } else {
+                    executeDdl(sessionFactory, "ALTER TABLE " + PARENT + " DETACH PARTITION " + partition);
+                }
+                log.info("[ActivityLogPartitionManager] {} {}", dropExpired ? "dropped" : "detached", partition);
+            } catch (Exception e) {
+                log.warn("[ActivityLogPartitionManager] could not retire {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return PREFIX + month.format(SUFFIX);
+    }
+
+    static String createSql(YearMonth month) {
+        return "CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF " + PARENT
+                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+
+    static List<String> expired(Collection<String> partitions, YearMonth oldestKept) {
+        List<String> expired = new ArrayList<>();
+        for (String partition : partitions) {
+            if (!partition.startsWith(PREFIX)) continue;
+            try {
+                YearMonth month = YearMonth.parse(partition.substring(PREFIX.length()), SUFFIX);
+                if (month.isBefore(oldestKept)) {
+                    expired.add(partition);
+                }
+            } catch (DateTimeParseException ignored) {
+            }
+        }
+        expired.sort(null);
+        return expired;
+    }
+
+    private List<String> partitions(SessionFactory sessionFactory) {
+        try (Session session = sessionFactory.openSession()) {
+            return session.doReturningWork(connection -> {
+                String sql = "SELECT c.relname FROM pg_inherits i"
+                        + " JOIN pg_class c ON c.oid = i.inhrelid"
+                        + " JOIN pg_class p ON p.oid = i.inhparent"
+                        + " WHERE p.relname = ?";
+                List<String> names = new ArrayList<>();
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    ps.setString(1, PARENT);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            names.add(rs.getString(1));
+                        }
+                    }
+                }
+                return names;
+            });
+        }
+    }
+
+    private void executeDdl(SessionFactory sessionFactory, String... statements) {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            session.doWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL lock_timeout = '5s'");
+                    for (String sql : statements) {
+                        statement.execute(sql);
+                    }
+                }
+            });
+            session.getTransaction().commit();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.dev.servlet.infrastructure.persistence.shard;
+
+import com.dev.servlet.config.EntityManagerProducer;
+import com.dev.servlet.core.exception.ServiceException;
+import com.dev.servlet.core.util.PropertiesUtil;
+import com.dev.servlet.core.util.ThrowableUtils;
+import com.dev.servlet.infrastructure.persistence.internal.StatementTimeout;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.servlet.http.HttpServletResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@ApplicationScoped
+@NoArgsConstructor
+public class ShardMover {
+
+    static final List<String> TABLES = List.of(
+            "tb_category",
+            "tb_product",
+            "tb_inventory",
+            "tb_user_activity_log",
+            "tb_category_archive",
+            "tb_product_archive",
+            "tb_inventory_archive"
+    );
+    static final List<String> DERIVED_TABLES = List.of("tb_category_stats", "tb_user_stats");
+    private static final String COLUMNS_SQL = "SELECT column_name FROM information_schema.columns"
+            + " WHERE table_schema = current_schema() AND table_name = ? AND is_generated = 'NEVER'"
+            + " ORDER BY ordinal_position";
+
+    @Inject
+    private EntityManagerProducer producer;
+
+    @Inject
+    private ShardRouter router;
+
+    public synchronized Map<String, Integer> move(String userId, String target) throws ServiceException {
+        if (!router.isEnabled()) {
+            throw ThrowableUtils.serviceError(HttpServletResponse.SC_BAD_REQUEST, "Sharding is not enabled.");
+        }
+        if (!router.shards().contains(target)) {
+            throw ThrowableUtils.serviceError(HttpServletResponse.SC_BAD_REQUEST, "Unknown shard: " + target);
+        }
+        router.evict(userId);
+
+        try (StatementTimeout.Scope ignored = StatementTimeout.unbounded()) {
+            return move(userId, router.placement(userId).shard(), target);
+        }
+    }
+
+    private Map<String, Integer> move(String userId, String source, String target) throws ServiceException {
+        if (!router.beginMove(userId, target)) {
+            throw ThrowableUtils.serviceError(HttpServletResponse.SC_CONFLICT,
+                    "User is already on " + target + " or being moved.");
+        }
+        router.evict(userId);
+        log.info("[ShardMover] moving user {} from {} to {}", userId, source, target);
+
+        Map<String, Integer> copied;
+        try {
+            // every node must see the moving flag and finish in-flight writes before the snapshot is taken
+            TimeUnit.MILLISECONDS.sleep(PropertiesUtil.getProperty("db.shards.move.drain.ms", router.drainMillis()));
+            copied = copy(userId, source, target);
+        } catch (Exception e) {
+            router.abortMove(userId);
+            router.evict(userId);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("[ShardMover] move of user {} to {} failed, kept on {}: {}", userId, target, source, e.getMessage(), e);
+            throw ThrowableUtils.internalServerError("Could not move user to " + target + ": " + e.getMessage());
+        }
+
+        if (!router.completeMove(userId, target)) {
+            router.evict(userId);
+            throw ThrowableUtils.serviceError(HttpServletResponse.SC_CONFLICT,
+                    "Directory entry changed while moving, copied rows on " + target + " must be reviewed.");
+        }
+        router.evict(userId);
+
+        try {
+            purge(userId, source);
+        } catch (Exception e) {
+            log.error("[ShardMover] user {} moved to {} but rows remain on {}: {}", userId, target, source, e.getMessage(), e);
+        }
+        log.info("[ShardMover] moved user {} from {} to {} {}", userId, source, target, copied);
+        return copied;
+    }
+
+    private Map<String, Integer> copy(String userId, String source, String target) {
+        Map<String, Integer> copied = new LinkedHashMap<>();
+        try (Session from = openSession(source); Session to = openSession(target)) {
+            from.beginTransaction();
+            to.beginTransaction();
+            try {
+                from.doWork(connection -> {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ, READ ONLY");
+                    }
+                });
+                from.doWork(reader -> to.doWork(writer -> {
+                    for (String table : TABLES) {
+                        copied.put(table, copyTable(reader, writer, table, userId));
+                    }
+                }));
+                to.getTransaction().commit();
+            } finally {
+                if (to.getTransaction().isActive()) {
+                    to.getTransaction().rollback();
+                }
+                from.getTransaction().rollback();
+            }
+        }
+        return copied;
+    }
+
+    int copyTable(Connection reader, Connection writer, String table, String userId) throws SQLException {
+        int batchSize = PropertiesUtil.getProperty("db.shards.move.batch.size", 500);
+        List<String> columns = writableColumns(writer, table);
+        String names = String.join(", ", columns);
+        String placeholders = String.join(", ", Collections.nCopies(columns.size(), "?"));
+
+        try (PreparedStatement select = reader.prepareStatement("SELECT " + names + " FROM " + table + " WHERE user_id = ?");
+             PreparedStatement insert = writer.prepareStatement(
+                     "INSERT INTO " + table + " (" + names + ") VALUES (" + placeholders + ") ON CONFLICT DO NOTHING")) {
+            select.setFetchSize(batchSize);
+            select.setString(1, userId);
+            int rows = 0;
+            try (ResultSet rs = select.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    for (int i = 1; i <= columns.size(); i++) {
+                        insert.setObject(i, rs.getObject(i), meta.getColumnType(i));
+                    }
+                    insert.addBatch();
+                    if (++rows % batchSize == 0) {
+                        insert.executeBatch();
+                    }
+                }
+            }
+            if (rows % batchSize != 0) {
+                insert.executeBatch();
+            }
+            return rows;
+        }
+    }
+
+    private static List<String> writableColumns(Connection connection, String table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(COLUMNS_SQL)) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString(1));
+                }
+            }
+        }
+        if (columns.isEmpty()) {
+            throw new SQLException("Table " + table + " not found on the target shard");
+        }
+        return columns;
+    }
+
+    private void purge(String userId, String source) {
+        try (Session session = openSession(source)) {
+            session.beginTransaction();
+            session.doWork(connection -> {
+                for (int i = TABLES.size() - 1; i >= 0; i--) {
+                    delete(connection, TABLES.get(i), userId);
+                }
+                for (String table : DERIVED_TABLES) {
+                    delete(connection, table, userId);
+                }
+            });
+            session.getTransaction().commit();
+        }
+    }
+
+    private static void delete(Connection connection, String table, String userId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("DELETE FROM " + table + " WHERE user_id = ?")) {
+            ps.setString(1, userId);
+            ps.executeUpdate();
+        }
+    }
+
+    private Session openSession(String shard) {
+        return producer.getShardFactory(shard).unwrap(SessionFactory.class).openSession();
+    }
+}
@@ -0,0 +1,285 @@
+package com.dev.servlet.infrastructure.persistence.shard;
+
+import com.dev.servlet.config.EntityManagerProducer;
+import com.dev.servlet.core.exception.ServiceException;
+import com.dev.servlet.core.util.PropertiesUtil;
+import com.dev.servlet.core.util.ThrowableUtils;
+import com.dev.servlet.infrastructure.persistence.internal.ReplicaRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.slf4j.MDC;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.persistence.EntityManagerFactory;
+import javax.servlet.http.HttpServletResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+@Slf4j
+@ApplicationScoped
+public class ShardRouter {
+
+    private static final String FIND_SQL = "SELECT shard, moving_to FROM tb_user_shard WHERE user_id = ?";
+    private static final String PLACE_SQL = "INSERT INTO tb_user_shard (user_id, shard) VALUES (?, ?) ON CONFLICT (user_id) DO NOTHING";
+    private static final String BEGIN_MOVE_SQL = "UPDATE tb_user_shard SET moving_to = ?, updated_at = CURRENT_TIMESTAMP"
+            + " WHERE user_id = ? AND moving_to IS NULL AND shard <> ?";
+    private static final String COMPLETE_MOVE_SQL = "UPDATE tb_user_shard SET shard = moving_to, moving_to = NULL, updated_at = CURRENT_TIMESTAMP"
+            + " WHERE user_id = ? AND moving_to = ?";
+    private static final String ABORT_MOVE_SQL = "UPDATE tb_user_shard SET moving_to = NULL, updated_at = CURRENT_TIMESTAMP"
+            + " WHERE user_id = ? AND moving_to IS NOT NULL";
+    private static final String COUNT_SQL = "SELECT shard, count(*), count(moving_to) FROM tb_user_shard GROUP BY shard";
+
+    private final Map<String, Cached> placements = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final ShardRing ring;
+    private final long cacheMillis;
+    private final long fanOutTimeoutMillis;
+    private final LongSupplier clock;
+    private final ThreadPoolExecutor fanOutExecutor;
+
+    @Inject
+    private EntityManagerProducer producer;
+
+    public ShardRouter() {
+        this(isShardingEnabled(),
+                new ShardRing(configuredShards(), PropertiesUtil.getProperty("db.shards.virtual.nodes", 128)),
+                PropertiesUtil.getProperty("db.shards.directory.cache.ms", 5000L),
+                PropertiesUtil.getProperty("db.shards.fanout.timeout.ms", 15000L),
+                System::currentTimeMillis);
+    }
+
+    public ShardRouter(boolean enabled, ShardRing ring, long cacheMillis, long fanOutTimeoutMillis, LongSupplier clock) {
+        this.enabled = enabled;
+        this.ring = ring;
+        this.cacheMillis = cacheMillis;
+        this.fanOutTimeoutMillis = fanOutTimeoutMillis;
+        this.clock = clock;
+
+        int threads = Math.max(1, ring.shards().size());
+        this.fanOutExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "shard-fanout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.fanOutExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public static boolean isShardingEnabled() {
+        return PropertiesUtil.getProperty("db.shards.enabled", false);
+    }
+
+    public static List<String> configuredShards() {
+        return Arrays.stream(PropertiesUtil.getProperty("db.shards.names", "shard0").split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<String> shards() {
+        return ring.shards();
+    }
+
+    public String directoryShard() {
+        return ring.shards().get(0);
+    }
+
+    public String currentShard() {
+        return shardFor(MDC.get(ReplicaRouter.USER_MDC_KEY));
+    }
+
+    public String shardFor(String userId) {
+        if (!enabled || userId == null) {
+            return directoryShard();
+        }
+        return placement(userId).shard();
+    }
+
+    public Placement placement(String userId) {
+        long now = clock.getAsLong();
+        Cached cached = placements.get(userId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.placement();
+        }
+
+        Placement placement = load(userId);
+        placements.put(userId, new Cached(placement, now + cacheMillis));
+        if (placements.size() > 100_000) {
+            placements.values().removeIf(entry -> entry.expiresAt() <= now);
+        }
+        return placement;
+    }
+
+    public void checkWritable() throws ServiceException {
+        String userId = MDC.get(ReplicaRouter.USER_MDC_KEY);
+        if (!enabled || userId == null) return;
+
+        if (placement(userId).isMoving()) {
+            throw ThrowableUtils.serviceError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                    "Your data is being relocated, please try again in a moment.");
+        }
+    }
+
+    public void evict(String userId) {
+        placements.remove(userId);
+    }
+
+    public long drainMillis() {
+        return cacheMillis + PropertiesUtil.getProperty("db.statement.timeout.ms", 5000L);
+    }
+
+    boolean beginMove(String userId, String target) {
+        return updateDirectory(BEGIN_MOVE_SQL, target, userId, target) == 1;
+    }
+
+    boolean completeMove(String userId, String target) {
+        return updateDirectory(COMPLETE_MOVE_SQL, userId, target) == 1;
+    }
+
+    void abortMove(String userId) {
+        updateDirectory(ABORT_MOVE_SQL, userId);
+    }
+
+    public Map<String, Map<String, Long>> directoryCounts() {
+        return withDirectory(session -> session.doReturningWork(connection -> {
+            Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(COUNT_SQL)) {
+                while (rs.next()) {
+                    counts.put(rs.getString(1), Map.of("users", rs.getLong(2), "moving", rs.getLong(3)));
+                }
+            }
+            return counts;
+        }));
+    }
+
+    public <R> Map<String, R> fanOut(Function<Session, R> query) throws ServiceException {
+        Map<String, Future<R>> futures = new LinkedHashMap<>();
+        producer.getShardFactories().forEach((shard, factory) ->
+                futures.put(shard, fanOutExecutor.submit(() -> readOnly(factory, query))));
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fanOutTimeoutMillis);
+        Map<String, R> results = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, Future<R>> entry : futures.entrySet()) {
+                results.put(entry.getKey(), entry.getValue().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (TimeoutException e) {
+            throw ThrowableUtils.serviceError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                    "Cross-shard query did not complete in " + fanOutTimeoutMillis + "ms");
+        } catch (ExecutionException e) {
+            log.error("Cross-shard query failed: {}", e.getCause().getMessage(), e.getCause());
+            throw ThrowableUtils.internalServerError("Cross-shard query failed: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ThrowableUtils.internalServerError("Cross-shard query interrupted");
+        } finally {
+            futures.values().forEach(future -> future.cancel(true));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdownNow();
+    }
+
+    Placement load(String userId) {
+        return withDirectory(session -> session.doReturningWork(connection -> {
+            Placement placement = find(connection, userId);
+            if (placement != null) return placement;
+
+            try (PreparedStatement ps = connection.prepareStatement(PLACE_SQL)) {
+                ps.setString(1, userId);
+                ps.setString(2, ring.shardFor(userId));
+                ps.executeUpdate();
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+            return find(connection, userId);
+        }));
+    }
+
+    private static Placement find(Connection connection, String userId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(FIND_SQL)) {
+            ps.setString(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? new Placement(rs.getString(1), rs.getString(2)) : null;
+            }
+        }
+    }
+
+    private int updateDirectory(String sql, String... params) {
+        return withDirectory(session -> session.doReturningWork(connection -> {
+            int rows;
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (int i = 0; i < params.length; i++) {
+                    ps.setString(i + 1, params[i]);
+                }
+                rows = ps.executeUpdate();
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+            return rows;
+        }));
+    }
+
+    private <R> R withDirectory(Function<Session, R> work) {
+        try (Session session = producer.getEntityManagerFactory().unwrap(SessionFactory.class).openSession()) {
+            return work.apply(session);
+        }
+    }
+
+    private <R> R readOnly(EntityManagerFactory factory, Function<Session, R> query) {
+        try (Session session = factory.unwrap(SessionFactory.class).openSession()) {
+            session.setDefaultReadOnly(true);
+            session.beginTransaction();
+            try {
+                session.doWork(connection -> {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SET TRANSACTION READ ONLY");
+                        statement.execute("SET LOCAL statement_timeout = " + fanOutTimeoutMillis);
+                    }
+                });
+                return query.apply(session);
+            } finally {
+                session.getTransaction().rollback();
+            }
+        }
+    }
+
+    public record Placement(String shard, String movingTo) {
+
+        public boolean isMoving() {
+            return movingTo != null;
+        }
+    }
+
+    private record Cached(Placement placement, long expiresAt) {
+    }
+}
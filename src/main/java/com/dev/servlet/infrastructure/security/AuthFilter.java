@@ -5,6 +5,7 @@ import com.dev.servlet.core.exception.ServiceException;
 import com.dev.servlet.core.util.EndpointParser;
 import com.dev.servlet.core.util.JwtUtil;
 import com.dev.servlet.core.util.PropertiesUtil;
+import com.dev.servlet.infrastructure.persistence.internal.ReplicaRouter;
 import com.dev.servlet.service.AuditService;
 import com.dev.servlet.service.AuthCookieService;
 import com.dev.servlet.service.AuthService;
@@ -12,6 +13,7 @@ import com.dev.servlet.domain.response.RefreshTokenResponse;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
@@ -78,6 +80,7 @@ public class AuthFilter implements Filter {
         boolean tokenValid = token != null && jwtUtil.validateToken(token);
         if (tokenValid) {
             log.debug("Valid token access [endpoint={}]", httpRequest.getRequestURI());
+            MDC.put(ReplicaRouter.USER_MDC_KEY, jwtUtil.getUserId(token));
             auditService.auditSuccess("auth_filter:valid_token", null, null);
             dispatcher.dispatch(httpRequest, httpResponse);
             return;
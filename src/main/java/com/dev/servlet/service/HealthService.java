@@ -8,5 +8,8 @@ public interface HealthService {
     Map<String, Object> getLivenessStatus();
     boolean isDatabaseHealthy();
     boolean isCacheHealthy();
+    Map<String, Object> getCacheStatistics();
+    Map<String, Object> getPoolStatistics();
+    Map<String, Object> getQueryStatistics();
 }
 
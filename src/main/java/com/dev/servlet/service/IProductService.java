@@ -3,6 +3,7 @@ package com.dev.servlet.service;
 import com.dev.servlet.core.exception.ServiceException;
 import com.dev.servlet.core.mapper.Mapper;
 import com.dev.servlet.domain.model.Product;
+import com.dev.servlet.domain.records.ProductSearch;
 import com.dev.servlet.domain.request.ProductRequest;
 import com.dev.servlet.domain.response.ProductResponse;
 import com.dev.servlet.infrastructure.persistence.IPageRequest;
@@ -26,4 +27,10 @@ public interface IProductService {
     Optional<List<ProductResponse>> scrape(String url, String environment, String auth);
 
     <U> IPageable<U> getAllPageable(IPageRequest pageRequest, String auth, Mapper<Product, U> mapper);
+
+    IPageable<ProductResponse> getProductsPage(IPageRequest pageRequest, String auth);
+
+    IPageable<ProductResponse> searchProducts(IPageRequest pageRequest, ProductSearch search, String auth);
+
+    BigDecimal calculateTotalPriceFor(IPageable<?> page, ProductSearch search);
 }
@@ -4,9 +4,12 @@ import com.dev.servlet.core.exception.ServiceException;
 import com.dev.servlet.domain.model.Inventory;
 import com.dev.servlet.domain.request.InventoryCreateRequest;
 import com.dev.servlet.domain.request.InventoryRequest;
+import com.dev.servlet.domain.request.StockAdjustmentRequest;
+import com.dev.servlet.domain.request.StockMovementRequest;
 import com.dev.servlet.domain.response.InventoryResponse;
 
 import java.util.List;
+import java.util.Map;
 
 public interface IStockService {
     InventoryResponse register(InventoryCreateRequest request, String auth) throws ServiceException;
@@ -19,5 +22,9 @@ public interface IStockService {
 
     void delete(InventoryRequest request, String auth) throws ServiceException;
 
+    Integer adjust(StockAdjustmentRequest request, String auth) throws ServiceException;
+
+    Map<String, Integer> adjust(StockMovementRequest request, String auth) throws ServiceException;
+
     boolean hasInventory(Inventory request, String auth);
 }
@@ -0,0 +1,10 @@
+package com.dev.servlet.service;
+
+import com.dev.servlet.domain.records.ResourceVersion;
+import com.dev.servlet.domain.request.Request;
+
+import java.util.Optional;
+
+public interface ResourceVersionService {
+    Optional<ResourceVersion> getVersion(Request request, String csrfToken);
+}
@@ -0,0 +1,12 @@
+package com.dev.servlet.service;
+
+import com.dev.servlet.core.exception.ServiceException;
+import com.dev.servlet.domain.request.ShardMoveRequest;
+
+import java.util.Map;
+
+public interface ShardService {
+    Map<String, Object> getShardStatistics() throws ServiceException;
+
+    Map<String, Integer> move(ShardMoveRequest request) throws ServiceException;
+}
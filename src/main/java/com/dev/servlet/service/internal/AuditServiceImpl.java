@@ -1,8 +1,10 @@
 package com.dev.servlet.service.internal;
 
+import com.dev.servlet.config.WarmupRunner;
 import com.dev.servlet.core.util.JwtUtil;
 import com.dev.servlet.domain.model.UserActivityLog;
 import com.dev.servlet.domain.model.enums.ActivityStatus;
+import com.dev.servlet.infrastructure.persistence.internal.StatementTimeout;
 import com.dev.servlet.service.AuditService;
 import com.dev.servlet.service.UserActivityService;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -40,6 +42,8 @@ public class AuditServiceImpl implements AuditService {
     }
 
     private void audit(String event, String token, ActivityStatus outcome, Object payload) {
+        if (MDC.get(WarmupRunner.WARMUP_MDC_KEY) != null) return;
+
         try {
             Map<String, Object> record = new HashMap<>();
             record.put("event", event);
@@ -96,7 +100,9 @@ public class AuditServiceImpl implements AuditService {
                     .executionTimeMs(System.currentTimeMillis() - startTimeMillis)
                     .build();
 
-            activityService.logActivity(log);
+            try (StatementTimeout.Scope ignored = StatementTimeout.unbounded()) {
+                activityService.logActivity(log);
+            }
         } catch (Exception e) {
             logger.error("Failed to persist activity log", e);
         }
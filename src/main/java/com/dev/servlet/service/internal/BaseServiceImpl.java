@@ -2,12 +2,16 @@ package com.dev.servlet.service.internal;
 
 import com.dev.servlet.core.mapper.Mapper;
 import com.dev.servlet.core.util.JwtUtil;
+import com.dev.servlet.infrastructure.persistence.Transactional;
 import com.dev.servlet.infrastructure.persistence.repository.ICrudRepository;
 import com.dev.servlet.infrastructure.persistence.repository.IPagination;
+import com.dev.servlet.infrastructure.persistence.CountStrategy;
 import com.dev.servlet.infrastructure.persistence.IPageRequest;
 import com.dev.servlet.infrastructure.persistence.IPageable;
 import com.dev.servlet.infrastructure.persistence.dao.base.BaseDAO;
 import com.dev.servlet.infrastructure.persistence.internal.PageResponse;
+import com.dev.servlet.infrastructure.persistence.internal.Projection;
+import com.dev.servlet.infrastructure.persistence.internal.Slice;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,9 +20,8 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.inject.Inject;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
+import java.util.function.LongSupplier;
 
 @Slf4j
 @Getter(AccessLevel.PROTECTED)
@@ -39,6 +42,7 @@ public abstract class BaseServiceImpl<T, ID> implements ICrudRepository<T, ID>,
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<T> findAll(T object) {
         return baseDAO.findAll(object);
     }
@@ -69,22 +73,63 @@ public abstract class BaseServiceImpl<T, ID> implements ICrudRepository<T, ID>,
     }
 
     @Override
+    @Transactional(readOnly = true)
     public IPageable<T> getAllPageable(IPageRequest pageRequest) {
-        long totalCount = baseDAO.count(pageRequest);
-        List<T> resultSet = Collections.emptyList();
-        if (totalCount > pageRequest.getFirstResult()) {
-            resultSet = baseDAO.getAllPageable(pageRequest);
-        }
-        return PageResponse.<T>builder()
-                .content(resultSet)
-                .totalElements(totalCount)
+        return toPage(pageRequest, baseDAO.getSlice(pageRequest));
+    }
+
+    @Transactional(readOnly = true)
+    public <U> IPageable<U> getAllPageable(IPageRequest pageRequest, Projection<T, U> projection) {
+        return toPage(pageRequest, baseDAO.getSlice(pageRequest, projection));
+    }
+
+    protected <U> IPageable<U> toPage(IPageRequest pageRequest, Slice<U> slice) {
+        return toPage(pageRequest, slice, null);
+    }
+
+    /**
+     * Builds a page for a query the filter-based counts cannot describe; {@code count} then replaces
+     * them for every strategy except {@link CountStrategy#NONE}.
+     */
+    protected <U> IPageable<U> toPage(IPageRequest pageRequest, Slice<U> slice, LongSupplier count) {
+        CountStrategy strategy = Optional.ofNullable(pageRequest.getCountStrategy()).orElse(CountStrategy.EXACT);
+        return PageResponse.<U>builder()
+                .content(slice.content())
+                .totalElements(totalCount(pageRequest, slice, strategy, count))
                 .currentPage(pageRequest.getInitialPage())
                 .pageSize(pageRequest.getPageSize())
                 .sort(pageRequest.getSort())
+                .nextCursor(slice.nextCursor())
+                .previousCursor(slice.previousCursor())
+                .countStrategy(strategy)
                 .build();
     }
 
+    protected long cachedCount(IPageRequest pageRequest) {
+        return baseDAO.count(pageRequest);
+    }
+
+    private long totalCount(IPageRequest pageRequest, Slice<?> slice, CountStrategy strategy, LongSupplier count) {
+        long seen = (long) pageRequest.getFirstResult() + slice.content().size();
+        boolean lastPage = !slice.hasNext() && (!slice.content().isEmpty() || pageRequest.getFirstResult() == 0);
+        if (lastPage && pageRequest.getCursor() == null) {
+            return seen;
+        }
+
+        long lowerBound = slice.hasNext() ? seen + 1 : seen;
+        if (count != null) {
+            return strategy == CountStrategy.NONE ? lowerBound : count.getAsLong();
+        }
+        return switch (strategy) {
+            case NONE -> lowerBound;
+            case ESTIMATED -> Math.max(baseDAO.estimateCount(pageRequest), lowerBound);
+            case CACHED -> cachedCount(pageRequest);
+            case EXACT -> baseDAO.count(pageRequest);
+        };
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public <U> IPageable<U> getAllPageable(IPageRequest pageRequest, Mapper<T, U> mapper) {
         IPageable<T> page = getAllPageable(pageRequest);
         var content = page.getContent().stream().map(mapper::map).toList();
@@ -94,6 +139,9 @@ public abstract class BaseServiceImpl<T, ID> implements ICrudRepository<T, ID>,
                 .currentPage(page.getCurrentPage())
                 .pageSize(page.getPageSize())
                 .sort(page.getSort())
+                .nextCursor(page.getNextCursor())
+                .previousCursor(page.getPreviousCursor())
+                .countStrategy(page.getCountStrategy())
                 .build();
     }
 }
@@ -1,26 +1,27 @@
 package com.dev.servlet.service.internal;
 
+import com.dev.servlet.core.enums.CacheTag;
 import com.dev.servlet.core.exception.ServiceException;
 import com.dev.servlet.core.mapper.CategoryMapper;
 import com.dev.servlet.core.util.CacheUtils;
-import com.dev.servlet.core.util.CollectionUtils;
 import com.dev.servlet.domain.model.Category;
 import com.dev.servlet.domain.model.User;
 import com.dev.servlet.domain.model.enums.Status;
+import com.dev.servlet.infrastructure.persistence.Transactional;
 import com.dev.servlet.service.AuditService;
 import com.dev.servlet.service.ICategoryService;
 import com.dev.servlet.domain.request.CategoryRequest;
 import com.dev.servlet.domain.response.CategoryResponse;
 import com.dev.servlet.infrastructure.persistence.dao.CategoryDAO;
+import com.dev.servlet.infrastructure.persistence.internal.AfterCommit;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
-import javax.enterprise.inject.Model;
+import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import java.util.Collection;
-import java.util.List;
 
 import static com.dev.servlet.core.util.ThrowableUtils.notFound;
 
@@ -28,7 +29,7 @@ import static com.dev.servlet.core.util.ThrowableUtils.notFound;
 @Getter
 @Setter
 @NoArgsConstructor
-@Model
+@ApplicationScoped
 public class CategoryServiceImpl extends BaseServiceImpl<Category, String> implements ICategoryService {
 
     private static final String CACHE_KEY = "categoryCacheKey";
@@ -45,6 +46,7 @@ public class CategoryServiceImpl extends BaseServiceImpl<Category, String> imple
     }
 
     @Override
+    @Transactional
     public CategoryResponse register(CategoryRequest request, String auth) throws ServiceException {
         try {
             User user = jwts.getUser(auth);
@@ -53,9 +55,12 @@ public class CategoryServiceImpl extends BaseServiceImpl<Category, String> imple
             category.setStatus(Status.ACTIVE.getValue());
             category = super.save(category);
 
-            CacheUtils.clear(user.getId(), CACHE_KEY);
             CategoryResponse response = categoryMapper.toResponse(category);
-            auditService.auditSuccess("category:register", auth, new AuditPayload<>(request, response));
+            AfterCommit.run(() -> {
+                CacheUtils.clear(user.getId(), CACHE_KEY);
+                CacheUtils.invalidate(user.getId(), CacheTag.CATEGORY);
+                auditService.auditSuccess("category:register", auth, new AuditPayload<>(request, response));
+            });
             return response;
         } catch (Exception e) {
             auditService.auditFailure("category:register", auth, new AuditPayload<>(request, null));
@@ -64,6 +69,7 @@ public class CategoryServiceImpl extends BaseServiceImpl<Category, String> imple
     }
 
     @Override
+    @Transactional
     public CategoryResponse update(CategoryRequest request, String auth) throws ServiceException {
         try {
             String userId = jwts.getUserId(auth);
@@ -71,9 +77,12 @@ public class CategoryServiceImpl extends BaseServiceImpl<Category, String> imple
             category.setName(request.name().toUpperCase());
             super.update(category);
 
-            CacheUtils.clear(userId, CACHE_KEY);
             CategoryResponse response = categoryMapper.toResponse(category);
-            auditService.auditSuccess("category:update", auth, new AuditPayload<>(request, response));
+            AfterCommit.run(() -> {
+                CacheUtils.clear(userId, CACHE_KEY);
+                CacheUtils.invalidate(userId, CacheTag.CATEGORY);
+                auditService.auditSuccess("category:update", auth, new AuditPayload<>(request, response));
+            });
             return response;
         } catch (Exception e) {
             auditService.auditFailure("category:update", auth, new AuditPayload<>(request, null));
@@ -82,6 +91,7 @@ public class CategoryServiceImpl extends BaseServiceImpl<Category, String> imple
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CategoryResponse getCategoryDetail(CategoryRequest request, String auth) throws ServiceException {
         try {
             String userId = jwts.getUserId(auth);
@@ -96,6 +106,7 @@ public class CategoryServiceImpl extends BaseServiceImpl<Category, String> imple
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<CategoryResponse> list(CategoryRequest request, String token) {
         try {
             User user = jwts.getUser(token);
@@ -117,14 +128,18 @@ public class CategoryServiceImpl extends BaseServiceImpl<Category, String> imple
     }
 
     @Override
+    @Transactional
     public void delete(CategoryRequest request, String auth) throws ServiceException {
         try {
             String userId = jwts.getUserId(auth);
             Category category = loadCategory(request.id(), userId);
             super.delete(category);
 
-            CacheUtils.clear(userId, CACHE_KEY);
-            auditService.auditSuccess("category:delete", auth, new AuditPayload<>(request, null));
+            AfterCommit.run(() -> {
+                CacheUtils.clear(userId, CACHE_KEY);
+                CacheUtils.invalidate(userId, CacheTag.CATEGORY);
+                auditService.auditSuccess("category:delete", auth, new AuditPayload<>(request, null));
+            });
         } catch (Exception e) {
             auditService.auditFailure("category:delete", auth, new AuditPayload<>(request, null));
             throw e;
@@ -132,18 +147,8 @@ public class CategoryServiceImpl extends BaseServiceImpl<Category, String> imple
     }
 
     private Collection<CategoryResponse> getAll(User user) {
-        final String userId = user.getId();
-
-        List<CategoryResponse> response = CacheUtils.get(userId, CACHE_KEY);
-        if (CollectionUtils.isEmpty(response)) {
-            var categories = super.findAll(new Category(user));
-            if (!CollectionUtils.isEmpty(categories)) {
-                response = categories.stream().map(categoryMapper::toResponse).toList();
-                CacheUtils.set(userId, CACHE_KEY, response);
-            }
-        }
-
-        return response;
+        return CacheUtils.getOrLoadList(user.getId(), CACHE_KEY,
+                () -> super.findAll(new Category(user)).stream().map(categoryMapper::toResponse).toList());
     }
 
     private Category loadCategory(String request, String userId) throws ServiceException {
@@ -1,7 +1,11 @@
 package com.dev.servlet.service.internal;
 
+import com.dev.servlet.config.WarmupStatus;
 import com.dev.servlet.core.util.CacheUtils;
 import com.dev.servlet.core.util.PropertiesUtil;
+import com.dev.servlet.infrastructure.monitoring.CacheStatisticsCollector;
+import com.dev.servlet.infrastructure.monitoring.PoolStatisticsCollector;
+import com.dev.servlet.infrastructure.monitoring.ProfilingConnectionProvider;
 import com.dev.servlet.service.HealthService;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,7 +17,9 @@ import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
 import java.lang.management.MemoryUsage;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 @Slf4j
 @NoArgsConstructor
@@ -23,6 +29,15 @@ public class HealthServiceImpl implements HealthService {
     @Inject
     private EntityManager entityManager;
 
+    @Inject
+    private CacheStatisticsCollector cacheStatisticsCollector;
+
+    @Inject
+    private PoolStatisticsCollector poolStatisticsCollector;
+
+    @Inject
+    private WarmupStatus warmupStatus;
+
     @Override
     public Map<String, Object> getHealthStatus() {
         Map<String, Object> health = new HashMap<>();
@@ -56,13 +71,17 @@ public class HealthServiceImpl implements HealthService {
         boolean dbReady = isDatabaseHealthy();
         boolean cacheReady = isCacheHealthy();
 
+        boolean warmupReady = warmupStatus.isReady();
+
         ready.put("database_ready", dbReady);
         ready.put("cache_ready", cacheReady);
-        ready.put("ready", dbReady && cacheReady);
-        ready.put("status", "UP");
+        ready.put("warmup_ready", warmupReady);
+        ready.put("warmup", warmupStatus.toMap());
+        ready.put("ready", dbReady && cacheReady && warmupReady);
+        ready.put("status", dbReady && cacheReady && warmupReady ? "UP" : "DOWN");
 
-        if (!dbReady || !cacheReady) {
-            log.warn("Readiness check failed. Database: {}, Cache: {}", dbReady, cacheReady);
+        if (!dbReady || !cacheReady || !warmupReady) {
+            log.warn("Readiness check failed. Database: {}, Cache: {}, Warmup: {}", dbReady, cacheReady, warmupReady);
         }
 
         return ready;
@@ -111,7 +130,7 @@ public class HealthServiceImpl implements HealthService {
             String testKey = "health_check_test";
             CacheUtils.setObject(testKey, "health", "test_value");
             String result = CacheUtils.getObject(testKey, "health");
-            CacheUtils.clear(testKey, "health");
+            CacheUtils.evict(testKey, "health");
 
             boolean healthy = "test_value".equals(result);
             log.debug("Cache health check: {}", healthy ? "PASSED" : "FAILED");
@@ -121,5 +140,26 @@ public class HealthServiceImpl implements HealthService {
             return false;
         }
     }
-}
 
+    @Override
+    public Map<String, Object> getCacheStatistics() {
+        return cacheStatisticsCollector.getStatistics();
+    }
+
+    @Override
+    public Map<String, Object> getPoolStatistics() {
+        return poolStatisticsCollector.getStatistics();
+    }
+
+    @Override
+    public Map<String, Object> getQueryStatistics() {
+        int top = PropertiesUtil.getProperty("db.profiler.top", 20);
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("timestamp", System.currentTimeMillis());
+
+        Map<String, Object> pools = new TreeMap<>();
+        ProfilingConnectionProvider.profilers().forEach((pool, profiler) -> pools.put(pool, profiler.getStatistics(top)));
+        statistics.put("pools", pools);
+        return statistics;
+    }
+}
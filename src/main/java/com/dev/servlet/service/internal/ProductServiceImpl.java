@@ -1,30 +1,36 @@
 package com.dev.servlet.service.internal;
 
+import com.dev.servlet.core.enums.CacheTag;
 import com.dev.servlet.core.exception.ServiceException;
 import com.dev.servlet.core.mapper.Mapper;
 import com.dev.servlet.core.mapper.ProductMapper;
+import com.dev.servlet.core.util.CacheUtils;
 import com.dev.servlet.domain.model.Category;
-import com.dev.servlet.domain.model.Inventory;
 import com.dev.servlet.domain.model.Product;
 import com.dev.servlet.domain.model.User;
 import com.dev.servlet.domain.model.enums.Status;
+import com.dev.servlet.domain.records.ProductSearch;
+import com.dev.servlet.infrastructure.persistence.Transactional;
 import com.dev.servlet.service.AuditService;
-import com.dev.servlet.service.IBusinessService;
 import com.dev.servlet.service.IProductService;
 import com.dev.servlet.domain.request.ProductRequest;
 import com.dev.servlet.domain.response.ProductResponse;
 import com.dev.servlet.infrastructure.external.webscrape.WebScrapeServiceRegistry;
 import com.dev.servlet.infrastructure.external.webscrape.builder.WebScrapeBuilder;
 import com.dev.servlet.infrastructure.external.webscrape.transfer.ProductWebScrapeDTO;
+import com.dev.servlet.infrastructure.persistence.CountStrategy;
 import com.dev.servlet.infrastructure.persistence.IPageRequest;
 import com.dev.servlet.infrastructure.persistence.IPageable;
 import com.dev.servlet.infrastructure.persistence.dao.ProductDAO;
+import com.dev.servlet.infrastructure.persistence.internal.AfterCommit;
+import com.dev.servlet.infrastructure.persistence.internal.PageResponse;
 import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
 
-import javax.enterprise.inject.Model;
+import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.servlet.http.HttpServletResponse;
@@ -34,20 +40,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static com.dev.servlet.core.util.ThrowableUtils.notFound;
 import static com.dev.servlet.core.util.ThrowableUtils.serviceError;
 
 @Slf4j
 @NoArgsConstructor
-@Model
+@ApplicationScoped
 @Named("productService")
 public class ProductServiceImpl extends BaseServiceImpl<Product, String> implements IProductService {
     public static final String CONFLIT_ERROR = "Product has inventory";
 
-    @Inject
-    private IBusinessService businessService;
-
     @Inject
     private ProductMapper productMapper;
 
@@ -68,11 +72,73 @@ public class ProductServiceImpl extends BaseServiceImpl<Product, String> impleme
 
     @Override
     public <U> IPageable<U> getAllPageable(IPageRequest payload, String auth, Mapper<Product, U> mapper) {
+        return auditList(payload, auth, () -> super.getAllPageable(payload, mapper));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IPageable<ProductResponse> getProductsPage(IPageRequest payload, String auth) {
+        String userId = jwts.getUserId(auth);
+        String cacheKey = CacheUtils.taggedKey(userId,
+                "page:product:" + payload.cacheKey(filterKey((Product) payload.getFilter())),
+                CacheTag.PRODUCT, CacheTag.CATEGORY);
+
+        return auditList(payload, auth, () -> CacheUtils.getOrLoad(userId, cacheKey,
+                () -> super.getAllPageable(payload, ProductDAO.LIST_PROJECTION),
+                PageResponse::copyOf));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IPageable<ProductResponse> searchProducts(IPageRequest payload, ProductSearch search, String auth) {
+        String cacheKey = CacheUtils.taggedKey(search.userId(),
+                "search:product:" + payload.cacheKey(searchKey(search)),
+                CacheTag.PRODUCT, CacheTag.CATEGORY);
+
+        return auditList(payload, auth, () -> CacheUtils.getOrLoad(search.userId(), cacheKey,
+                () -> toPage(payload, getDAO().search(search, payload), () -> searchCount(payload, search)),
+                PageResponse::copyOf));
+    }
+
+    private long searchCount(IPageRequest payload, ProductSearch search) {
+        if (payload.getCountStrategy() != CountStrategy.CACHED) {
+            return getDAO().searchCount(search);
+        }
+
+        String cacheKey = CacheUtils.taggedKey(search.userId(), "search:count:product:" + searchKey(search),
+                CacheTag.PRODUCT, CacheTag.CATEGORY);
+        return CacheUtils.getOrLoad(search.userId(), cacheKey, () -> getDAO().searchCount(search), count -> count);
+    }
+
+    @Override
+    public BigDecimal calculateTotalPriceFor(IPageable<?> page, ProductSearch search) {
+        if (page == null || !page.getContent().iterator().hasNext()) {
+            return BigDecimal.ZERO;
+        }
+
+        String cacheKey = CacheUtils.taggedKey(search.userId(), "search:total:product:" + searchKey(search),
+                CacheTag.PRODUCT, CacheTag.CATEGORY);
+        return CacheUtils.getOrLoad(search.userId(), cacheKey, () -> getDAO().searchTotalPrice(search), price -> price);
+    }
+
+    @Override
+    protected long cachedCount(IPageRequest pageRequest) {
+        Product filter = (Product) pageRequest.getFilter();
+        if (filter == null || filter.getUser() == null) {
+            return super.cachedCount(pageRequest);
+        }
+
+        String userId = filter.getUser().getId();
+        String cacheKey = CacheUtils.taggedKey(userId, "count:product:" + filterKey(filter), CacheTag.PRODUCT, CacheTag.CATEGORY);
+        return CacheUtils.getOrLoad(userId, cacheKey, () -> super.cachedCount(pageRequest), count -> count);
+    }
+
+    private <U> IPageable<U> auditList(IPageRequest payload, String auth, Supplier<IPageable<U>> supplier) {
         StopWatch sw = new StopWatch();
 
         try {
             sw.start();
-            IPageable<U> pageable = super.getAllPageable(payload, mapper);
+            IPageable<U> pageable = supplier.get();
             sw.stop();
             auditService.auditSuccess("product:list",
                     auth,
@@ -99,14 +165,19 @@ public class ProductServiceImpl extends BaseServiceImpl<Product, String> impleme
     }
 
     @Override
+    @Transactional
     public ProductResponse register(ProductRequest request, String auth) {
         try {
             Product product = productMapper.toProduct(request, jwts.getUserId(auth));
             product.setRegisterDate(new Date());
             product.setStatus(Status.ACTIVE.getValue());
             product = super.save(product);
+            String userId = product.getUser().getId();
             ProductResponse response = productMapper.toResponse(product);
-            auditService.auditSuccess("product:create", auth, new AuditPayload<>(request, response));
+            AfterCommit.run(() -> {
+                CacheUtils.invalidate(userId, CacheTag.PRODUCT);
+                auditService.auditSuccess("product:create", auth, new AuditPayload<>(request, response));
+            });
             return response;
         } catch (Exception e) {
             auditService.auditFailure("product:create", auth, new AuditPayload<>(request, null));
@@ -115,6 +186,7 @@ public class ProductServiceImpl extends BaseServiceImpl<Product, String> impleme
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProductResponse getProductDetail(ProductRequest request, String auth) throws ServiceException {
         try {
             Product product = productMapper.toProduct(request, jwts.getUserId(auth));
@@ -130,19 +202,20 @@ public class ProductServiceImpl extends BaseServiceImpl<Product, String> impleme
     }
 
     @Override
+    @Transactional
     public ProductResponse update(ProductRequest request, String auth) throws ServiceException {
         try {
-            Product product = productMapper.toProduct(request, jwts.getUserId(auth));
-            product = findProduct(product);
-            product.setName(request.name());
-            product.setDescription(request.description());
-            product.setPrice(request.price());
-            product.setUrl(request.url());
-            product.setCategory(Category.builder().id(request.category().id()).build());
+            String userId = jwts.getUserId(auth);
+            Product product = productMapper.toProduct(request, userId);
+            if (getDAO().update(request.id(), userId, product) == 0) {
+                throw notFound("Product not found");
+            }
 
-            super.update(product);
             ProductResponse response = productMapper.toResponse(product);
-            auditService.auditSuccess("product:update", auth, new AuditPayload<>(request, response));
+            AfterCommit.run(() -> {
+                CacheUtils.invalidate(userId, CacheTag.PRODUCT);
+                auditService.auditSuccess("product:update", auth, new AuditPayload<>(request, response));
+            });
             return response;
         } catch (Exception e) {
             auditService.auditFailure("product:update", auth, new AuditPayload<>(request, null));
@@ -151,18 +224,19 @@ public class ProductServiceImpl extends BaseServiceImpl<Product, String> impleme
     }
 
     @Override
+    @Transactional
     public void delete(ProductRequest request, String auth) throws ServiceException {
         try {
-            Product product = productMapper.toProduct(request, jwts.getUserId(auth));
-            product = findProduct(product);
-
-            Inventory inventory = Inventory.builder().user(product.getUser()).product(product).build();
-            if (businessService.hasInventory(inventory, auth)) {
+            String userId = jwts.getUserId(auth);
+            if (getDAO().softDelete(request.id(), userId) == 0) {
+                findProduct(productMapper.toProduct(request, userId));
                 throw serviceError(HttpServletResponse.SC_CONFLICT, CONFLIT_ERROR);
             }
 
-            super.delete(product);
-            auditService.auditSuccess("product:delete", auth, new AuditPayload<>(request, null));
+            AfterCommit.run(() -> {
+                CacheUtils.invalidate(userId, CacheTag.PRODUCT);
+                auditService.auditSuccess("product:delete", auth, new AuditPayload<>(request, null));
+            });
         } catch (Exception e) {
             auditService.auditFailure("product:delete", auth, new AuditPayload<>(request, null));
             throw e;
@@ -173,12 +247,19 @@ public class ProductServiceImpl extends BaseServiceImpl<Product, String> impleme
     public BigDecimal calculateTotalPriceFor(IPageable<?> page, Product product) {
         if (page != null && page.getContent().iterator().hasNext()) {
             ProductDAO dao = this.getDAO();
-            return dao.calculateTotalPriceFor(product);
+            if (product.getUser() == null) {
+                return dao.calculateTotalPriceFor(product);
+            }
+
+            String userId = product.getUser().getId();
+            String cacheKey = CacheUtils.taggedKey(userId, "total:product:" + filterKey(product), CacheTag.PRODUCT);
+            return CacheUtils.getOrLoad(userId, cacheKey, () -> dao.calculateTotalPriceFor(product), price -> price);
         }
         return BigDecimal.ZERO;
     }
 
     @Override
+    @Transactional
     @SneakyThrows
     public Optional<List<ProductResponse>> scrape(String url, String environment, String auth) {
         if (!"development".equals(environment)) {
@@ -211,11 +292,14 @@ public class ProductServiceImpl extends BaseServiceImpl<Product, String> impleme
             products = baseDAO.save(products);
             List<ProductResponse> productResponses = products.stream().map(productMapper::toResponse).toList();
 
-            auditService.auditSuccess("product:scrape", auth,
-                    new AuditPayload<>(url,
-                            productResponses,
-                            Map.of("products_scraped", productResponses.size()
-                            )));
+            AfterCommit.run(() -> {
+                CacheUtils.invalidate(user.getId(), CacheTag.PRODUCT);
+                auditService.auditSuccess("product:scrape", auth,
+                        new AuditPayload<>(url,
+                                productResponses,
+                                Map.of("products_scraped", productResponses.size()
+                                )));
+            });
 
             return Optional.of(productResponses);
 
@@ -234,6 +318,22 @@ public class ProductServiceImpl extends BaseServiceImpl<Product, String> impleme
         return product;
     }
 
+    private static String filterKey(Product filter) {
+        if (filter == null) return "";
+
+        Category category = filter.getCategory();
+        return CacheUtils.keyOf(
+                filter.getId(),
+                StringUtils.upperCase(StringUtils.trim(filter.getName())),
+                StringUtils.upperCase(StringUtils.trim(filter.getDescription())),
+                category != null ? category.getId() : null,
+                category != null ? StringUtils.upperCase(StringUtils.trim(category.getName())) : null);
+    }
+
+    private static String searchKey(ProductSearch search) {
+        return CacheUtils.keyOf(StringUtils.upperCase(search.text()), search.categoryId());
+    }
+
     private Product findProduct(Product product) throws ServiceException {
         return this.find(product).orElseThrow(() -> notFound("Product not found"));
     }
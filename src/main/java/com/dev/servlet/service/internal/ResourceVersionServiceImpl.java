@@ -0,0 +1,93 @@
+package com.dev.servlet.service.internal;
+
+import com.dev.servlet.controller.base.BaseRouterController;
+import com.dev.servlet.core.annotation.RequestMapping;
+import com.dev.servlet.core.util.BeanUtil;
+import com.dev.servlet.core.util.EndpointParser;
+import com.dev.servlet.core.util.JwtUtil;
+import com.dev.servlet.core.util.PropertiesUtil;
+import com.dev.servlet.domain.model.enums.ResourceType;
+import com.dev.servlet.domain.records.ResourceVersion;
+import com.dev.servlet.domain.request.Request;
+import com.dev.servlet.service.ResourceVersionService;
+import lombok.NoArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Slf4j
+@NoArgsConstructor
+@Singleton
+public class ResourceVersionServiceImpl implements ResourceVersionService {
+    private static final ResourceType[] UNVERSIONED = new ResourceType[0];
+
+    private final ConcurrentMap<String, ResourceType[]> versionedEndpoints = new ConcurrentHashMap<>();
+
+    @Inject
+    private EntityManager entityManager;
+
+    @Inject
+    private JwtUtil jwts;
+
+    @Override
+    public Optional<ResourceVersion> getVersion(Request request, String csrfToken) {
+        ResourceType[] resources = versionedEndpoints.computeIfAbsent(request.getEndpoint(), this::versionedBy);
+        if (resources.length == 0 || request.getToken() == null) {
+            return Optional.empty();
+        }
+
+        String userId = jwts.getUserId(request.getToken());
+        StringBuilder sql = new StringBuilder("SELECT 0 AS ord, updated_at, 1 AS total FROM tb_user WHERE id = :userId");
+        for (int i = 0; i < resources.length; i++) {
+            sql.append(" UNION ALL SELECT ").append(i + 1).append(", max(updated_at), count(*) FROM ")
+                    .append(resources[i].getTable()).append(" WHERE user_id = :userId");
+        }
+        sql.append(" ORDER BY ord");
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(sql.toString())
+                .setParameter("userId", userId)
+                .getResultList();
+
+        long lastModified = 0;
+        StringBuilder fingerprint = new StringBuilder(userId)
+                .append('|').append(PropertiesUtil.getProperty("system.version", ""))
+                .append('|').append(csrfToken);
+        for (Object[] row : rows) {
+            long updatedAt = row[1] instanceof Date date ? date.getTime() : 0;
+            lastModified = Math.max(lastModified, updatedAt);
+            fingerprint.append('|').append(updatedAt).append(':').append(((Number) row[2]).longValue());
+        }
+
+        return Optional.of(new ResourceVersion("W/\"" + hash(fingerprint.toString()) + "\"", lastModified));
+    }
+
+    private ResourceType[] versionedBy(String endpoint) {
+        try {
+            EndpointParser parser = EndpointParser.of(endpoint);
+            BaseRouterController controller = (BaseRouterController) BeanUtil.getResolver().getBean(parser.controller() + "Controller");
+            return controller.findMapping(parser).map(RequestMapping::versionedBy).orElse(UNVERSIONED);
+        } catch (Exception e) {
+            log.debug("No versioned mapping for endpoint {}: {}", endpoint, e.getMessage());
+            return UNVERSIONED;
+        }
+    }
+
+    @SneakyThrows
+    private static String hash(String value) {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] bytes = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(bytes, 0, 16);
+    }
+}
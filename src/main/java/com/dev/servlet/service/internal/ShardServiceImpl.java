@@ -0,0 +1,73 @@
+package com.dev.servlet.service.internal;
+
+import com.dev.servlet.core.exception.ServiceException;
+import com.dev.servlet.core.util.ThrowableUtils;
+import com.dev.servlet.domain.request.ShardMoveRequest;
+import com.dev.servlet.infrastructure.persistence.dao.UserDAO;
+import com.dev.servlet.infrastructure.persistence.shard.ShardMover;
+import com.dev.servlet.infrastructure.persistence.shard.ShardRouter;
+import com.dev.servlet.service.ShardService;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.servlet.http.HttpServletResponse;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
+@NoArgsConstructor
+@Singleton
+public class ShardServiceImpl implements ShardService {
+
+    private static final String COUNTS_SQL = "SELECT"
+            + " (SELECT count(DISTINCT user_id) FROM tb_product) AS users,"
+            + " (SELECT count(*) FROM tb_category WHERE status = 'A') AS categories,"
+            + " (SELECT count(*) FROM tb_product WHERE status <> 'X') AS products,"
+            + " (SELECT count(*) FROM tb_inventory WHERE status = 'A') AS inventories,"
+            + " pg_database_size(current_database()) AS bytes";
+
+    @Inject
+    private ShardRouter shardRouter;
+
+    @Inject
+    private ShardMover shardMover;
+
+    @Inject
+    private UserDAO userDAO;
+
+    @Override
+    public Map<String, Object> getShardStatistics() throws ServiceException {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("timestamp", System.currentTimeMillis());
+        statistics.put("enabled", shardRouter.isEnabled());
+        statistics.put("directory", shardRouter.directoryShard());
+        statistics.put("placements", shardRouter.directoryCounts());
+        statistics.put("shards", shardRouter.fanOut(session -> session.doReturningWork(connection -> {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(COUNTS_SQL)) {
+                rs.next();
+                for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                    counts.put(rs.getMetaData().getColumnLabel(i), rs.getLong(i));
+                }
+            }
+            return counts;
+        })));
+        return statistics;
+    }
+
+    @Override
+    public Map<String, Integer> move(ShardMoveRequest request) throws ServiceException {
+        if (request.id() == null || request.shard() == null) {
+            throw ThrowableUtils.serviceError(HttpServletResponse.SC_BAD_REQUEST, "User id and target shard are required.");
+        }
+        if (userDAO.findById(request.id()).isEmpty()) {
+            throw ThrowableUtils.notFound("User not found.");
+        }
+        return shardMover.move(request.id(), request.shard());
+    }
+}
@@ -1,31 +1,45 @@
 package com.dev.servlet.service.internal;
 
+import com.dev.servlet.core.enums.CacheTag;
 import com.dev.servlet.core.exception.ServiceException;
 import com.dev.servlet.core.mapper.InventoryMapper;
+import com.dev.servlet.core.util.CacheUtils;
 import com.dev.servlet.core.util.JwtUtil;
 import com.dev.servlet.domain.model.Inventory;
 import com.dev.servlet.domain.model.Product;
 import com.dev.servlet.domain.model.enums.Status;
+import com.dev.servlet.domain.records.StockAdjustment;
+import com.dev.servlet.infrastructure.persistence.Transactional;
 import com.dev.servlet.service.AuditService;
 import com.dev.servlet.service.IBusinessService;
 import com.dev.servlet.service.IStockService;
 import com.dev.servlet.domain.request.InventoryCreateRequest;
 import com.dev.servlet.domain.request.InventoryRequest;
+import com.dev.servlet.domain.request.StockAdjustmentRequest;
+import com.dev.servlet.domain.request.StockMovementRequest;
 import com.dev.servlet.domain.response.InventoryResponse;
 import com.dev.servlet.domain.response.ProductResponse;
 import com.dev.servlet.infrastructure.persistence.dao.InventoryDAO;
+import com.dev.servlet.infrastructure.persistence.internal.AfterCommit;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 
-import javax.enterprise.inject.Model;
+import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import javax.persistence.OptimisticLockException;
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import static com.dev.servlet.core.util.ThrowableUtils.notFound;
+import static com.dev.servlet.core.util.ThrowableUtils.serviceError;
 
 @Slf4j
 @NoArgsConstructor
-@Model
+@ApplicationScoped
 public class StockServiceImpl extends BaseServiceImpl<Inventory, String> implements IStockService {
 
     @Inject
@@ -50,6 +64,7 @@ public class StockServiceImpl extends BaseServiceImpl<Inventory, String> impleme
     }
 
     @Override
+    @Transactional
     public InventoryResponse register(InventoryCreateRequest request, String auth) throws ServiceException {
         Inventory inventory = inventoryMapper.createToInventory(request);
         try {
@@ -58,9 +73,13 @@ public class StockServiceImpl extends BaseServiceImpl<Inventory, String> impleme
             inventory.setStatus(Status.ACTIVE.getValue());
             inventory.setUser(jwtUtil.getUser(auth));
             inventory = super.save(inventory);
+            String userId = inventory.getUser().getId();
 
             InventoryResponse response = inventoryMapper.toResponse(inventory);
-            auditService.auditSuccess("inventory:create", auth, new AuditPayload<>(request, response));
+            AfterCommit.run(() -> {
+                CacheUtils.invalidate(userId, CacheTag.INVENTORY);
+                auditService.auditSuccess("inventory:create", auth, new AuditPayload<>(request, response));
+            });
             return response;
         } catch (Exception e) {
             auditService.auditFailure("inventory:create", auth, new AuditPayload<>(request, null));
@@ -69,15 +88,17 @@ public class StockServiceImpl extends BaseServiceImpl<Inventory, String> impleme
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InventoryResponse> list(InventoryRequest request, String auth) throws ServiceException {
         try {
             Inventory inventory = inventoryMapper.toInventory(request);
             inventory.setUser(jwtUtil.getUser(auth));
 
-            List<InventoryResponse> responses = findAll(inventory)
-                    .stream()
-                    .map(inventoryMapper::toResponse)
-                    .toList();
+            String userId = inventory.getUser().getId();
+            String cacheKey = CacheUtils.taggedKey(userId, "list:inventory:" + filterKey(inventory),
+                    CacheTag.INVENTORY, CacheTag.PRODUCT, CacheTag.CATEGORY);
+            List<InventoryResponse> responses = CacheUtils.getOrLoadList(userId, cacheKey,
+                    () -> getDAO().findAllResponses(inventory));
             auditService.auditSuccess("inventory:list", auth, new AuditPayload<>(request, responses));
             return responses;
         } catch (Exception e) {
@@ -87,6 +108,7 @@ public class StockServiceImpl extends BaseServiceImpl<Inventory, String> impleme
     }
 
     @Override
+    @Transactional(readOnly = true)
     public InventoryResponse getStockDetail(InventoryRequest request, String auth) throws ServiceException {
         try {
             Inventory inventory = loadInventory(request.id());
@@ -100,18 +122,32 @@ public class StockServiceImpl extends BaseServiceImpl<Inventory, String> impleme
     }
 
     @Override
+    @Transactional
     public InventoryResponse update(InventoryRequest request, String auth) throws ServiceException {
         try {
             Inventory inventory = loadInventory(request.id());
+            if (request.version() != null && !request.version().equals(inventory.getVersion())) {
+                throw serviceError(HttpServletResponse.SC_CONFLICT, "Inventory was modified by another request");
+            }
             ProductResponse product = businessService.getProductDetail(request.product().id(), auth);
 
             inventory.setProduct(new Product(product.getId()));
             inventory.setDescription(request.description());
             inventory.setQuantity(request.quantity());
             inventory.setStatus(Status.ACTIVE.getValue());
-            super.update(inventory);
+            try {
+                super.update(inventory);
+            } catch (RuntimeException e) {
+                if (e.getCause() instanceof OptimisticLockException) {
+                    throw serviceError(HttpServletResponse.SC_CONFLICT, "Inventory was modified by another request");
+                }
+                throw e;
+            }
             InventoryResponse response = inventoryMapper.toResponse(inventory);
-            auditService.auditSuccess("inventory:update", auth, new AuditPayload<>(request, response));
+            AfterCommit.run(() -> {
+                CacheUtils.invalidate(jwtUtil.getUserId(auth), CacheTag.INVENTORY);
+                auditService.auditSuccess("inventory:update", auth, new AuditPayload<>(request, response));
+            });
             return response;
         } catch (Exception e) {
             auditService.auditFailure("inventory:update", auth, new AuditPayload<>(request, null));
@@ -120,17 +156,85 @@ public class StockServiceImpl extends BaseServiceImpl<Inventory, String> impleme
     }
 
     @Override
+    @Transactional
     public void delete(InventoryRequest request, String auth) throws ServiceException {
         try {
             Inventory inventory = loadInventory(request.id());
             super.delete(inventory);
-            auditService.auditSuccess("inventory:delete", auth, new AuditPayload<>(request, null));
+            AfterCommit.run(() -> {
+                CacheUtils.invalidate(jwtUtil.getUserId(auth), CacheTag.INVENTORY);
+                auditService.auditSuccess("inventory:delete", auth, new AuditPayload<>(request, null));
+            });
         } catch (Exception e) {
             auditService.auditFailure("inventory:delete", auth, new AuditPayload<>(request, null));
             throw e;
         }
     }
 
+    @Override
+    @Transactional
+    public Integer adjust(StockAdjustmentRequest request, String auth) throws ServiceException {
+        try {
+            if (request.delta() == null || request.delta() == 0) {
+                throw serviceError(HttpServletResponse.SC_BAD_REQUEST, "Stock delta must be a non-zero integer");
+            }
+
+            String userId = jwtUtil.getUserId(auth);
+            InventoryDAO dao = this.getDAO();
+            Integer quantity = dao.adjust(request.id(), userId, request.delta()).orElse(null);
+            if (quantity == null) {
+                if (!dao.exists(request.id(), userId)) throw notFound("Inventory not found");
+                throw serviceError(HttpServletResponse.SC_CONFLICT, "Insufficient stock");
+            }
+
+            AfterCommit.run(() -> {
+                CacheUtils.invalidate(userId, CacheTag.INVENTORY);
+                auditService.auditSuccess("inventory:adjust", auth, new AuditPayload<>(request, quantity));
+            });
+            return quantity;
+        } catch (Exception e) {
+            auditService.auditFailure("inventory:adjust", auth, new AuditPayload<>(request, null));
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
+    public Map<String, Integer> adjust(StockMovementRequest request, String auth) throws ServiceException {
+        try {
+            List<StockAdjustment> adjustments;
+            try {
+                adjustments = request.adjustments();
+            } catch (IllegalArgumentException e) {
+                throw serviceError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            }
+            if (adjustments.isEmpty() || adjustments.stream().anyMatch(a -> a.delta() == 0)) {
+                throw serviceError(HttpServletResponse.SC_BAD_REQUEST, "Stock movements must have non-zero deltas");
+            }
+
+            String userId = jwtUtil.getUserId(auth);
+            Map<String, Integer> quantities = this.getDAO().adjust(userId, adjustments);
+
+            Set<String> rejected = new TreeSet<>();
+            adjustments.stream().map(StockAdjustment::id)
+                    .filter(id -> !quantities.containsKey(id))
+                    .forEach(rejected::add);
+            if (!rejected.isEmpty()) {
+                throw serviceError(HttpServletResponse.SC_CONFLICT,
+                        "Stock movements rejected for inventory " + String.join(", ", rejected));
+            }
+
+            AfterCommit.run(() -> {
+                CacheUtils.invalidate(userId, CacheTag.INVENTORY);
+                auditService.auditSuccess("inventory:adjust_batch", auth, new AuditPayload<>(request, quantities));
+            });
+            return quantities;
+        } catch (Exception e) {
+            auditService.auditFailure("inventory:adjust_batch", auth, new AuditPayload<>(request, null));
+            throw e;
+        }
+    }
+
     @Override
     public boolean hasInventory(Inventory inventory, String auth) {
         try {
@@ -145,6 +249,16 @@ public class StockServiceImpl extends BaseServiceImpl<Inventory, String> impleme
         }
     }
 
+    private static String filterKey(Inventory filter) {
+        Product product = filter.getProduct();
+        return CacheUtils.keyOf(
+                filter.getId(),
+                StringUtils.upperCase(StringUtils.trim(filter.getDescription())),
+                product != null ? product.getId() : null,
+                product != null ? StringUtils.upperCase(StringUtils.trim(product.getName())) : null,
+                product != null && product.getCategory() != null ? product.getCategory().getId() : null);
+    }
+
     private Inventory loadInventory(String id) throws ServiceException {
         return this.findById(id).orElseThrow(() -> notFound("Inventory not found"));
     }
@@ -2,6 +2,7 @@ package com.dev.servlet.service.internal;
 
 import com.dev.servlet.core.mapper.Mapper;
 import com.dev.servlet.domain.model.UserActivityLog;
+import com.dev.servlet.infrastructure.persistence.Transactional;
 import com.dev.servlet.service.UserActivityService;
 import com.dev.servlet.infrastructure.persistence.dao.UserActivityLogDAO;
 import lombok.NoArgsConstructor;
@@ -38,6 +39,7 @@ public class UserActivityServiceImpl extends BaseServiceImpl<UserActivityLog, St
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<UserActivityLog> getActivityDetail(String activityId, String userId) {
         UserActivityLogDAO DAO = getActivityLogDAO();
         Optional<UserActivityLog> activityLog = DAO.findById(activityId);
@@ -50,6 +52,7 @@ public class UserActivityServiceImpl extends BaseServiceImpl<UserActivityLog, St
     }
 
     @Override
+    @Transactional(readOnly = true)
     public <U> List<U> getByPeriod(String userId, Date startDate, Date endDate, Mapper<UserActivityLog, U> mapper) {
         UserActivityLogDAO dao = getActivityLogDAO();
         List<UserActivityLog> activities = dao.findByUserIdAndDateRange(userId, startDate, endDate, null);
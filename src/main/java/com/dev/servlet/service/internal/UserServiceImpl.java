@@ -7,16 +7,18 @@ import com.dev.servlet.domain.model.Credentials;
 import com.dev.servlet.domain.model.User;
 import com.dev.servlet.domain.model.enums.RoleType;
 import com.dev.servlet.domain.model.enums.Status;
+import com.dev.servlet.infrastructure.persistence.Transactional;
 import com.dev.servlet.service.AuditService;
 import com.dev.servlet.service.IUserService;
 import com.dev.servlet.domain.request.UserCreateRequest;
 import com.dev.servlet.domain.request.UserRequest;
 import com.dev.servlet.domain.response.UserResponse;
 import com.dev.servlet.infrastructure.persistence.dao.UserDAO;
+import com.dev.servlet.infrastructure.persistence.internal.AfterCommit;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import javax.enterprise.inject.Model;
+import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletResponse;
 import java.util.List;
@@ -26,7 +28,7 @@ import static com.dev.servlet.core.util.ThrowableUtils.serviceError;
 
 @Slf4j
 @NoArgsConstructor
-@Model
+@ApplicationScoped
 public class UserServiceImpl extends BaseServiceImpl<User, String> implements IUserService {
 
     private static final String CACHE_KEY = "userCacheKey";
@@ -50,6 +52,7 @@ public class UserServiceImpl extends BaseServiceImpl<User, String> implements IU
     }
 
     @Override
+    @Transactional
     public UserResponse register(UserCreateRequest user) throws ServiceException {
         boolean passwordError = user.password() == null || !user.password().equals(user.confirmPassword());
         if (passwordError) {
@@ -76,13 +79,15 @@ public class UserServiceImpl extends BaseServiceImpl<User, String> implements IU
         log.info("User registered: {}", newUser.getCredentials().getLogin());
 
         UserResponse response = userMapper.toResponse(newUser);
-        CacheUtils.setObject(newUser.getId(), CACHE_KEY, response);
-
-        auditService.auditSuccess("user:register", null, new AuditPayload<>(user, response));
+        AfterCommit.run(() -> {
+            CacheUtils.setObject(response.getId(), CACHE_KEY, response);
+            auditService.auditSuccess("user:register", null, new AuditPayload<>(user, response));
+        });
         return response;
     }
 
     @Override
+    @Transactional
     public UserResponse update(UserRequest userRequest, String auth) throws ServiceException {
         final String email = userRequest.login().toLowerCase();
 
@@ -106,24 +111,28 @@ public class UserServiceImpl extends BaseServiceImpl<User, String> implements IU
 
         try {
             user = super.update(user);
-            CacheUtils.clear(entity.getId(), CACHE_KEY);
         } catch (Exception e) {
             auditService.auditFailure("user:update", auth, new AuditPayload<>(userRequest, null));
             throw e;
         }
 
         UserResponse response = userMapper.toResponse(user);
-        auditService.auditSuccess("user:update", auth, new AuditPayload<>(userRequest, response));
+        AfterCommit.run(() -> {
+            CacheUtils.clear(entity.getId(), CACHE_KEY);
+            auditService.auditSuccess("user:update", auth, new AuditPayload<>(userRequest, response));
+        });
         return response;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponse getById(UserRequest request, String auth) throws ServiceException {
         log.info("User requested: {}", request.id());
         return getUserResponse(request.id(), auth);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponse getUserDetail(UserRequest user, String auth) throws ServiceException {
         try {
             UserResponse response = getUserResponse(user.id(), auth);
@@ -136,14 +145,16 @@ public class UserServiceImpl extends BaseServiceImpl<User, String> implements IU
     }
 
     @Override
+    @Transactional
     public void delete(UserRequest request, String auth) throws ServiceException {
         try {
             UserResponse response = getById(request, auth);
             User user = User.builder().id(response.getId()).build();
             super.delete(user);
-            CacheUtils.clearAll(response.getId());
-
-            auditService.auditSuccess("user:delete", auth, new AuditPayload<>(request, null));
+            AfterCommit.run(() -> {
+                CacheUtils.clearAll(response.getId());
+                auditService.auditSuccess("user:delete", auth, new AuditPayload<>(request, null));
+            });
         } catch (Exception e) {
             auditService.auditFailure("user:delete", auth, new AuditPayload<>(request, e.getMessage()));
             throw e;
@@ -161,13 +172,7 @@ public class UserServiceImpl extends BaseServiceImpl<User, String> implements IU
             throw serviceError(HttpServletResponse.SC_FORBIDDEN, "User not authorized.");
         }
 
-        UserResponse response = CacheUtils.getObject(id, CACHE_KEY);
-        if (response != null) return response;
-
-        findById(id)
-                .ifPresent(u ->
-                            CacheUtils.setObject(id, CACHE_KEY, userMapper.toResponse(u)));
-
-      return CacheUtils.getObject(id, CACHE_KEY);
+        return CacheUtils.getOrLoad(id, CACHE_KEY,
+                () -> findById(id).map(userMapper::toResponse).orElse(null));
     }
 }
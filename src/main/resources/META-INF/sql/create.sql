@@ -126,6 +126,7 @@ create table tb_inventory
         references tb_user,
     product_id  varchar(36)
         references tb_product,
+    version     bigint     default 0                      not null,
     created_at  timestamp  default CURRENT_TIMESTAMP      not null,
     updated_at  timestamp  default CURRENT_TIMESTAMP      not null
 );
@@ -218,8 +219,7 @@ execute procedure update_updated_at_column();
 
 create table tb_user_activity_log
 (
-    id                 varchar(36)  not null
-        primary key,
+    id                 varchar(36)  not null,
     user_id            varchar(36)  not null,
     action             varchar(100) not null,
     entity_type        varchar(50),
@@ -236,9 +236,11 @@ create table tb_user_activity_log
     execution_time_ms  bigint,
     timestamp          timestamp default CURRENT_TIMESTAMP not null,
     user_agent         varchar(500),
+    constraint pk_activity_log
+        primary key (id, timestamp),
     constraint fk_activity_log_user
         foreign key (user_id) references tb_user (id)
-);
+) partition by range (timestamp);
 
 alter table tb_user_activity_log owner to postgres;
 
@@ -247,6 +249,23 @@ create index idx_activity_log_timestamp on tb_user_activity_log (timestamp desc)
 create index idx_activity_log_action on tb_user_activity_log (action);
 create index idx_activity_log_status on tb_user_activity_log (status);
 create index idx_activity_log_correlation_id on tb_user_activity_log (correlation_id);
+create index idx_activity_log_user_timestamp_id on tb_user_activity_log (user_id, timestamp desc, id desc);
+
+-- partições mensais (tb_user_activity_log_yYYYYmMM), mantidas pelo ActivityLogPartitionManager
+create table tb_user_activity_log_default partition of tb_user_activity_log default;
+
+do
+$$
+    declare
+        m date;
+    begin
+        for m in select generate_series(date_trunc('month', now()), date_trunc('month', now()) + interval '3 months', interval '1 month')::date
+            loop
+                execute format('create table if not exists %I partition of tb_user_activity_log for values from (%L) to (%L)',
+                               'tb_user_activity_log_y' || to_char(m, 'YYYY') || 'm' || to_char(m, 'MM'), m, (m + interval '1 month')::date);
+            end loop;
+    end
+$$;
 
 -- =====================================
 -- DADOS INICIAIS
@@ -267,20 +286,335 @@ CREATE INDEX idx_product_category_status ON tb_product(category_id, status);
 CREATE INDEX idx_product_name_status ON tb_product(name, status);
 CREATE INDEX idx_product_description_status ON tb_product(description, status);
 CREATE INDEX idx_product_composite ON tb_product(user_id, category_id, status);
+CREATE INDEX idx_product_user_updated_at ON tb_product(user_id, updated_at);
+CREATE INDEX idx_product_user_name_id ON tb_product(user_id, name, id) WHERE status <> 'X';
+CREATE INDEX idx_product_user_price_id ON tb_product(user_id, price, id) WHERE status <> 'X';
+CREATE INDEX idx_product_user_register_date_id ON tb_product(user_id, register_date, id) WHERE status <> 'X';
 
 -- TB_CATEGORY
 CREATE INDEX idx_category_user_status ON tb_category(user_id, status);
 CREATE INDEX idx_category_name_user_status ON tb_category(name, user_id, status);
+CREATE INDEX idx_category_user_updated_at ON tb_category(user_id, updated_at);
 
 -- TB_INVENTORY
 CREATE INDEX idx_inventory_user_status ON tb_inventory(user_id, status);
 CREATE INDEX idx_inventory_product_user_status ON tb_inventory(product_id, user_id, status);
 CREATE INDEX idx_inventory_description_status ON tb_inventory(description, status);
+CREATE INDEX idx_inventory_user_updated_at ON tb_inventory(user_id, updated_at);
 
 -- TB_USER
 CREATE INDEX idx_user_auth ON tb_user(login, password, status);
 CREATE INDEX idx_user_perfis_composite ON user_perfis(user_id, perfil_id);
 
+-- =====================================
+-- BUSCA (full-text + trigram)
+-- =====================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE tb_product
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_product_search_vector ON tb_product USING gin (search_vector);
+CREATE INDEX idx_product_name_trgm ON tb_product USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX idx_product_description_trgm ON tb_product USING gin (upper(description) gin_trgm_ops);
+CREATE INDEX idx_inventory_description_trgm ON tb_inventory USING gin (upper(description) gin_trgm_ops);
+CREATE INDEX idx_category_name_trgm ON tb_category USING gin (upper(name) gin_trgm_ops);
+
+-- =====================================
+-- CICLO DE VIDA (soft delete + arquivo)
+-- =====================================
+
+-- Índices parciais: linhas excluídas não entram nos índices quentes
+-- (o predicado precisa ser o mesmo usado pelos DAOs: produto filtra status <> 'X', os demais status = 'A')
+CREATE INDEX idx_product_live_category ON tb_product(category_id) WHERE status <> 'X';
+CREATE INDEX idx_inventory_active_user_product ON tb_inventory(user_id, product_id) WHERE status = 'A';
+CREATE INDEX idx_category_active_user_name ON tb_category(user_id, name) WHERE status = 'A';
+
+-- Candidatos ao arquivamento (updated_at = momento do soft delete)
+CREATE INDEX idx_product_deleted_updated_at ON tb_product(updated_at) WHERE status = 'X';
+CREATE INDEX idx_inventory_deleted_updated_at ON tb_inventory(updated_at) WHERE status = 'X';
+CREATE INDEX idx_category_deleted_updated_at ON tb_category(updated_at) WHERE status = 'X';
+
+CREATE TABLE tb_product_archive
+(
+    LIKE tb_product INCLUDING DEFAULTS,
+    archived_at timestamp default CURRENT_TIMESTAMP not null,
+    primary key (id)
+);
+ALTER TABLE tb_product_archive DROP COLUMN search_vector;
+
+CREATE TABLE tb_inventory_archive
+(
+    LIKE tb_inventory INCLUDING DEFAULTS,
+    archived_at timestamp default CURRENT_TIMESTAMP not null,
+    primary key (id)
+);
+
+CREATE TABLE tb_category_archive
+(
+    LIKE tb_category INCLUDING DEFAULTS,
+    archived_at timestamp default CURRENT_TIMESTAMP not null,
+    primary key (id)
+);
+
+CREATE INDEX idx_product_archive_archived_at ON tb_product_archive(archived_at);
+CREATE INDEX idx_inventory_archive_archived_at ON tb_inventory_archive(archived_at);
+CREATE INDEX idx_category_archive_archived_at ON tb_category_archive(archived_at);
+
+-- =====================================
+-- AGREGADOS (totais por usuário e por categoria)
+-- =====================================
+
+-- Mantidos por triggers de statement em tb_product e tb_inventory (cobrem COPY e updates em lote).
+-- Produto conta enquanto status <> 'X'; estoque conta quando o inventário está 'A' e o produto está vivo.
+-- Desvios por concorrência (preço x estoque em transações paralelas) são corrigidos pelo StatsReconciler.
+CREATE TABLE tb_user_stats
+(
+    user_id         varchar(36)                         not null primary key references tb_user on delete cascade,
+    product_count   bigint        default 0             not null,
+    total_price     numeric(19, 2) default 0            not null,
+    stock_units     bigint        default 0             not null,
+    inventory_value numeric(19, 2) default 0            not null,
+    updated_at      timestamp     default CURRENT_TIMESTAMP not null
+);
+
+CREATE TABLE tb_category_stats
+(
+    user_id         varchar(36)                         not null references tb_user on delete cascade,
+    category_id     varchar(36)                         not null references tb_category on delete cascade,
+    product_count   bigint        default 0             not null,
+    total_price     numeric(19, 2) default 0            not null,
+    stock_units     bigint        default 0             not null,
+    inventory_value numeric(19, 2) default 0            not null,
+    updated_at      timestamp     default CURRENT_TIMESTAMP not null,
+    primary key (user_id, category_id)
+);
+
+CREATE INDEX idx_category_stats_category_id ON tb_category_stats(category_id);
+
+CREATE TYPE stats_delta AS
+(
+    user_id         varchar(36),
+    category_id     varchar(36),
+    product_count   bigint,
+    total_price     numeric(19, 2),
+    stock_units     bigint,
+    inventory_value numeric(19, 2)
+);
+
+-- Aplica os deltas agregados; ordem fixa (usuário, depois categoria) para não gerar deadlock
+CREATE FUNCTION apply_stats_deltas(deltas stats_delta[]) RETURNS void
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    IF coalesce(array_length(deltas, 1), 0) = 0 THEN
+        RETURN;
+    END IF;
+
+    INSERT INTO tb_user_stats AS s (user_id, product_count, total_price, stock_units, inventory_value)
+    SELECT d.user_id, sum(d.product_count), sum(d.total_price), sum(d.stock_units), sum(d.inventory_value)
+    FROM unnest(deltas) d
+    GROUP BY d.user_id
+    ORDER BY d.user_id
+    ON CONFLICT (user_id) DO UPDATE
+        SET product_count   = s.product_count + excluded.product_count,
+            total_price     = s.total_price + excluded.total_price,
+            stock_units     = s.stock_units + excluded.stock_units,
+            inventory_value = s.inventory_value + excluded.inventory_value,
+            updated_at      = CURRENT_TIMESTAMP;
+
+    INSERT INTO tb_category_stats AS s (user_id, category_id, product_count, total_price, stock_units, inventory_value)
+    SELECT d.user_id, d.category_id, sum(d.product_count), sum(d.total_price), sum(d.stock_units), sum(d.inventory_value)
+    FROM unnest(deltas) d
+    WHERE d.category_id IS NOT NULL
+    GROUP BY d.user_id, d.category_id
+    ORDER BY d.user_id, d.category_id
+    ON CONFLICT (user_id, category_id) DO UPDATE
+        SET product_count   = s.product_count + excluded.product_count,
+            total_price     = s.total_price + excluded.total_price,
+            stock_units     = s.stock_units + excluded.stock_units,
+            inventory_value = s.inventory_value + excluded.inventory_value,
+            updated_at      = CURRENT_TIMESTAMP;
+END;
+$$;
+
+CREATE FUNCTION product_stats_on_change() RETURNS trigger
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        PERFORM apply_stats_deltas(ARRAY(
+                SELECT ROW (o.user_id, o.category_id, -1, -o.price,
+                           -coalesce(i.units, 0), -coalesce(i.units, 0) * o.price)::stats_delta
+                FROM old_rows o
+                         LEFT JOIN LATERAL (SELECT sum(quantity) AS units
+                                            FROM tb_inventory
+                                            WHERE product_id = o.id AND status = 'A') i ON true
+                WHERE o.status <> 'X'));
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        PERFORM apply_stats_deltas(ARRAY(
+                SELECT ROW (n.user_id, n.category_id, 1, n.price,
+                           coalesce(i.units, 0), coalesce(i.units, 0) * n.price)::stats_delta
+                FROM new_rows n
+                         LEFT JOIN LATERAL (SELECT sum(quantity) AS units
+                                            FROM tb_inventory
+                                            WHERE product_id = n.id AND status = 'A') i ON true
+                WHERE n.status <> 'X'));
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE FUNCTION inventory_stats_on_change() RETURNS trigger
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        PERFORM apply_stats_deltas(ARRAY(
+                SELECT ROW (p.user_id, p.category_id, 0, 0, -o.quantity, -o.quantity * p.price)::stats_delta
+                FROM old_rows o
+                         JOIN tb_product p ON p.id = o.product_id AND p.status <> 'X'
+                WHERE o.status = 'A'));
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        PERFORM apply_stats_deltas(ARRAY(
+                SELECT ROW (p.user_id, p.category_id, 0, 0, n.quantity, n.quantity * p.price)::stats_delta
+                FROM new_rows n
+                         JOIN tb_product p ON p.id = n.product_id AND p.status <> 'X'
+                WHERE n.status = 'A'));
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER tb_product_stats_insert AFTER INSERT ON tb_product
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE PROCEDURE product_stats_on_change();
+CREATE TRIGGER tb_product_stats_update AFTER UPDATE ON tb_product
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE PROCEDURE product_stats_on_change();
+CREATE TRIGGER tb_product_stats_delete AFTER DELETE ON tb_product
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE PROCEDURE product_stats_on_change();
+
+CREATE TRIGGER tb_inventory_stats_insert AFTER INSERT ON tb_inventory
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE PROCEDURE inventory_stats_on_change();
+CREATE TRIGGER tb_inventory_stats_update AFTER UPDATE ON tb_inventory
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE PROCEDURE inventory_stats_on_change();
+CREATE TRIGGER tb_inventory_stats_delete AFTER DELETE ON tb_inventory
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE PROCEDURE inventory_stats_on_change();
+
+-- Recalcula os agregados de um usuário a partir das tabelas base e corrige desvios.
+-- Trava as linhas de agregado antes de ler: escritas concorrentes esperam e aplicam seus deltas depois.
+CREATE FUNCTION reconcile_user_stats(p_user_id varchar) RETURNS integer
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    corrected integer := 0;
+    changed   integer;
+BEGIN
+    INSERT INTO tb_user_stats (user_id) VALUES (p_user_id) ON CONFLICT DO NOTHING;
+    PERFORM 1 FROM tb_user_stats WHERE user_id = p_user_id FOR UPDATE;
+    PERFORM 1 FROM tb_category_stats WHERE user_id = p_user_id ORDER BY category_id FOR UPDATE;
+
+    CREATE TEMP TABLE IF NOT EXISTS stats_actual
+    (
+        category_id     varchar(36),
+        product_count   bigint,
+        total_price     numeric(19, 2),
+        stock_units     bigint,
+        inventory_value numeric(19, 2)
+    ) ON COMMIT DELETE ROWS;
+    DELETE FROM stats_actual;
+
+    INSERT INTO stats_actual
+    SELECT p.category_id, count(*), sum(p.price), coalesce(sum(i.units), 0), coalesce(sum(i.units * p.price), 0)
+    FROM tb_product p
+             LEFT JOIN LATERAL (SELECT sum(quantity) AS units
+                                FROM tb_inventory
+                                WHERE product_id = p.id AND status = 'A') i ON true
+    WHERE p.user_id = p_user_id
+      AND p.status <> 'X'
+    GROUP BY p.category_id;
+
+    UPDATE tb_user_stats s
+    SET product_count   = a.product_count,
+        total_price     = a.total_price,
+        stock_units     = a.stock_units,
+        inventory_value = a.inventory_value,
+        updated_at      = CURRENT_TIMESTAMP
+    FROM (SELECT coalesce(sum(product_count), 0)   AS product_count,
+                 coalesce(sum(total_price), 0)     AS total_price,
+                 coalesce(sum(stock_units), 0)     AS stock_units,
+                 coalesce(sum(inventory_value), 0) AS inventory_value
+          FROM stats_actual) a
+    WHERE s.user_id = p_user_id
+      AND (s.product_count, s.total_price, s.stock_units, s.inventory_value)
+        IS DISTINCT FROM (a.product_count, a.total_price, a.stock_units, a.inventory_value);
+    GET DIAGNOSTICS changed = ROW_COUNT;
+    corrected := corrected + changed;
+
+    INSERT INTO tb_category_stats AS s (user_id, category_id, product_count, total_price, stock_units, inventory_value)
+    SELECT p_user_id, a.category_id, a.product_count, a.total_price, a.stock_units, a.inventory_value
+    FROM stats_actual a
+    WHERE a.category_id IS NOT NULL
+    ON CONFLICT (user_id, category_id) DO UPDATE
+        SET product_count   = excluded.product_count,
+            total_price     = excluded.total_price,
+            stock_units     = excluded.stock_units,
+            inventory_value = excluded.inventory_value,
+            updated_at      = CURRENT_TIMESTAMP
+    WHERE (s.product_count, s.total_price, s.stock_units, s.inventory_value)
+              IS DISTINCT FROM (excluded.product_count, excluded.total_price, excluded.stock_units, excluded.inventory_value);
+    GET DIAGNOSTICS changed = ROW_COUNT;
+    corrected := corrected + changed;
+
+    UPDATE tb_category_stats s
+    SET product_count   = 0,
+        total_price     = 0,
+        stock_units     = 0,
+        inventory_value = 0,
+        updated_at      = CURRENT_TIMESTAMP
+    WHERE s.user_id = p_user_id
+      AND (s.product_count, s.total_price, s.stock_units, s.inventory_value) IS DISTINCT FROM (0, 0, 0, 0)
+      AND NOT EXISTS (SELECT 1 FROM stats_actual a WHERE a.category_id = s.category_id);
+    GET DIAGNOSTICS changed = ROW_COUNT;
+    corrected := corrected + changed;
+
+    RETURN corrected;
+END;
+$$;
+
+-- =====================================
+-- DIRETÓRIO DE SHARDS
+-- =====================================
+
+-- Fica apenas no banco principal (primeiro shard de db.shards.names).
+-- O anel de hash consistente só decide o shard de usuários novos; depois disso a linha é a fonte da verdade.
+-- moving_to preenchido = mudança em andamento, escritas do usuário são recusadas até o fim da cópia.
+CREATE TABLE tb_user_shard
+(
+    user_id    varchar(36)                         not null primary key,
+    shard      varchar(32)                         not null,
+    moving_to  varchar(32),
+    created_at timestamp default CURRENT_TIMESTAMP not null,
+    updated_at timestamp default CURRENT_TIMESTAMP not null
+);
+
+CREATE INDEX idx_user_shard_shard ON tb_user_shard(shard);
+
 -- Atualizar estatísticas
 ANALYZE tb_product;
 ANALYZE tb_category;
@@ -288,3 +622,5 @@ ANALYZE tb_inventory;
 ANALYZE tb_user;
 ANALYZE user_perfis;
 ANALYZE tb_perfil;
+ANALYZE tb_user_stats;
+ANALYZE tb_category_stats;
@@ -0,0 +1,7 @@
+-- =====================================
+-- MIGRAÇÃO: coluna de versão para o lock otimista de tb_inventory
+-- Necessária em bases criadas antes de Inventory.version; hbm2ddl.auto=validate falha sem ela.
+-- Executar em cada shard.
+-- =====================================
+
+alter table tb_inventory add column if not exists version bigint not null default 0;
@@ -0,0 +1,81 @@
+-- =====================================
+-- MIGRAÇÃO: tb_user_activity_log particionada por timestamp
+-- Converte uma base existente (criada antes do particionamento).
+-- Executar em janela de manutenção: a tabela antiga fica bloqueada durante a cópia.
+-- =====================================
+
+begin;
+
+lock table tb_user_activity_log in access exclusive mode;
+
+alter table tb_user_activity_log rename to tb_user_activity_log_legacy;
+alter table tb_user_activity_log_legacy drop constraint tb_user_activity_log_pkey;
+drop index if exists idx_activity_log_user_id;
+drop index if exists idx_activity_log_timestamp;
+drop index if exists idx_activity_log_action;
+drop index if exists idx_activity_log_status;
+drop index if exists idx_activity_log_correlation_id;
+drop index if exists idx_activity_log_user_timestamp_id;
+
+create table tb_user_activity_log
+(
+    id                 varchar(36)  not null,
+    user_id            varchar(36)  not null,
+    action             varchar(100) not null,
+    entity_type        varchar(50),
+    entity_id          varchar(36),
+    status             varchar(20)  not null,
+    request_payload    text,
+    response_payload   text,
+    error_message      text,
+    http_status_code   integer,
+    http_method        varchar(10),
+    endpoint           varchar(255),
+    ip_address         varchar(45),
+    correlation_id     varchar(50),
+    execution_time_ms  bigint,
+    timestamp          timestamp default CURRENT_TIMESTAMP not null,
+    user_agent         varchar(500),
+    constraint pk_activity_log
+        primary key (id, timestamp),
+    constraint fk_activity_log_user
+        foreign key (user_id) references tb_user (id)
+) partition by range (timestamp);
+
+alter table tb_user_activity_log owner to postgres;
+
+create index idx_activity_log_user_id on tb_user_activity_log (user_id);
+create index idx_activity_log_timestamp on tb_user_activity_log (timestamp desc);
+create index idx_activity_log_action on tb_user_activity_log (action);
+create index idx_activity_log_status on tb_user_activity_log (status);
+create index idx_activity_log_correlation_id on tb_user_activity_log (correlation_id);
+create index idx_activity_log_user_timestamp_id on tb_user_activity_log (user_id, timestamp desc, id desc);
+
+create table tb_user_activity_log_default partition of tb_user_activity_log default;
+
+-- uma partição por mês, do registro mais antigo até 3 meses à frente
+do
+$$
+    declare
+        m date;
+    begin
+        for m in select generate_series(
+                                date_trunc('month', coalesce((select min(timestamp) from tb_user_activity_log_legacy), now())),
+                                date_trunc('month', now()) + interval '3 months',
+                                interval '1 month')::date
+            loop
+                execute format('create table if not exists %I partition of tb_user_activity_log for values from (%L) to (%L)',
+                               'tb_user_activity_log_y' || to_char(m, 'YYYY') || 'm' || to_char(m, 'MM'), m, (m + interval '1 month')::date);
+            end loop;
+    end
+$$;
+
+insert into tb_user_activity_log
+select *
+from tb_user_activity_log_legacy;
+
+drop table tb_user_activity_log_legacy;
+
+commit;
+
+analyze tb_user_activity_log;
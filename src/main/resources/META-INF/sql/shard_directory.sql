@@ -0,0 +1,22 @@
+-- =====================================
+-- MIGRAÇÃO: diretório de shards no banco principal
+-- Executar apenas no banco principal, antes de ligar db.shards.enabled.
+-- 'shard0' precisa ser o primeiro nome de db.shards.names.
+-- =====================================
+
+-- Usuários anteriores ao sharding já têm os dados aqui; sem esta carga o anel poderia mandá-los para um shard vazio.
+create table if not exists tb_user_shard
+(
+    user_id    varchar(36)                         not null primary key,
+    shard      varchar(32)                         not null,
+    moving_to  varchar(32),
+    created_at timestamp default CURRENT_TIMESTAMP not null,
+    updated_at timestamp default CURRENT_TIMESTAMP not null
+);
+
+create index if not exists idx_user_shard_shard on tb_user_shard (shard);
+
+insert into tb_user_shard (user_id, shard)
+select id, 'shard0'
+from tb_user
+on conflict (user_id) do nothing;
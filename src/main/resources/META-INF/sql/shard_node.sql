@@ -0,0 +1,25 @@
+-- =====================================
+-- SHARD ADICIONAL
+-- Executar em cada banco de shard, depois do create.sql. NUNCA no banco principal.
+-- =====================================
+
+-- tb_user (login, senha, perfis) só existe no diretório; nos shards as linhas de negócio apontam para ids de lá.
+-- Remove as FKs para tb_user (categorias, produtos, estoque, log de atividades, agregados).
+do
+$$
+    declare
+        fk record;
+    begin
+        for fk in select c.conrelid::regclass as tbl, c.conname
+                  from pg_constraint c
+                  where c.contype = 'f'
+                    and c.confrelid = 'tb_user'::regclass
+                    and c.conrelid <> 'user_perfis'::regclass
+                    and c.conislocal
+            loop
+                execute format('alter table %s drop constraint %I', fk.tbl, fk.conname);
+            end loop;
+    end
+$$;
+
+drop table if exists tb_user_shard;
@@ -1,11 +1,17 @@
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 
+<c:set var="exactTotal" value="${empty param.countStrategy || param.countStrategy == 'EXACT' || param.countStrategy == 'CACHED'}"/>
+
 <c:if test="${param.totalPages > 1}">
     <div class="pagination-container">
         <div class="pagination-info">
             Showing ${(param.currentPage - 1) * param.pageSize + 1} -
             ${param.currentPage * param.pageSize > param.totalRecords ? param.totalRecords : param.currentPage * param.pageSize}
-            of ${param.totalRecords} results&nbsp;&nbsp;
+            <c:choose>
+                <c:when test="${param.countStrategy == 'NONE'}"></c:when>
+                <c:when test="${param.countStrategy == 'ESTIMATED'}">of about ${param.totalRecords} results</c:when>
+                <c:otherwise>of ${param.totalRecords} results</c:otherwise>
+            </c:choose>&nbsp;&nbsp;
         </div>
 
         <ul class="pagination">
@@ -14,7 +20,7 @@
                 <c:when test="${param.currentPage > 1}">
                     <li class="page-item">
                         <a class="page-link"
-                           href="${param.href}?page=${param.currentPage - 1}&limit=${param.pageSize}&sort=${param.sort}&direction=${param.direction}">
+                           href="${param.href}?page=${param.currentPage - 1}&limit=${param.pageSize}&sort=${param.sort}&direction=${param.direction}<c:if test="${not empty param.previousCursor}">&cursor=${param.previousCursor}</c:if>">
                             <i class="bi bi-chevron-left"></i>
                         </a>
                     </li>
@@ -65,7 +71,7 @@
             </c:forEach>
 
             <!-- Last Page -->
-            <c:if test="${param.currentPage < param.totalPages - 2}">
+            <c:if test="${exactTotal && param.currentPage < param.totalPages - 2}">
                 <c:if test="${param.currentPage < param.totalPages - 3}">
                     <li class="page-item disabled">
                         <span class="page-link">...</span>
@@ -84,7 +90,7 @@
                 <c:when test="${param.currentPage < param.totalPages}">
                     <li class="page-item">
                         <a class="page-link"
-                           href="${param.href}?page=${param.currentPage + 1}&limit=${param.pageSize}&sort=${param.sort}&direction=${param.direction}">
+                           href="${param.href}?page=${param.currentPage + 1}&limit=${param.pageSize}&sort=${param.sort}&direction=${param.direction}<c:if test="${not empty param.nextCursor}">&cursor=${param.nextCursor}</c:if>">
                             <i class="bi bi-chevron-right"></i>
                         </a>
                     </li>
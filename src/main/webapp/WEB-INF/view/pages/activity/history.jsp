@@ -278,6 +278,9 @@
                     <jsp:param name="pageSize" value="${pageable.getPageSize()}"/>
                     <jsp:param name="sort" value="${pageable.getSort().getField()}"/>
                     <jsp:param name="direction" value="${pageable.getSort().getDirection().getValue()}"/>
+                    <jsp:param name="nextCursor" value="${pageable.getNextCursor()}"/>
+                    <jsp:param name="previousCursor" value="${pageable.getPreviousCursor()}"/>
+                    <jsp:param name="countStrategy" value="${pageable.getCountStrategy()}"/>
                 </jsp:include>
             </c:otherwise>
         </c:choose>
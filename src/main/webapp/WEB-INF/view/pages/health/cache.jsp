@@ -0,0 +1,108 @@
+<%@ page import="com.dev.servlet.core.response.IHttpResponse" %>
+<%@ page import="java.util.Map" %>
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+<%@ taglib prefix="fmt" uri="http://java.sun.com/jsp/jstl/fmt" %>
+<%@ include file="/WEB-INF/routes/health-routes.jspf" %>
+<jsp:include page="/WEB-INF/view/components/header.jsp"/>
+
+<%
+    IHttpResponse<?> httpResponse = (IHttpResponse<?>) request.getAttribute("response");
+    @SuppressWarnings("unchecked")
+    Map<String, Object> statistics = (Map<String, Object>) httpResponse.body();
+    request.setAttribute("statistics", statistics);
+    request.setAttribute("layers", new String[]{"application", "hibernate"});
+%>
+
+<title>Cache Statistics</title>
+
+<div class="main">
+    <!-- Page Header -->
+    <div class="action-bar">
+        <div class="action-bar-title">
+            <h1><i class="bi bi-speedometer2"></i> Cache Statistics</h1>
+            <p class="action-bar-subtitle">
+                Rates over the last <c:out value="${statistics.window_seconds}"/>s,
+                totals since startup
+            </p>
+        </div>
+        <div class="action-buttons">
+            <button onclick="location.reload()" class="btn btn-secondary">
+                <i class="bi bi-arrow-clockwise"></i>
+                Refresh
+            </button>
+        </div>
+    </div>
+
+    <c:forEach var="layer" items="${layers}">
+        <div class="card" style="margin-bottom: var(--spacing-6);">
+            <div class="card-header">
+                <h3 style="text-transform: capitalize;"><i class="bi bi-layers"></i> <c:out value="${layer}"/> caches</h3>
+            </div>
+            <div class="card-body" style="padding: 0;">
+                <div class="table-responsive">
+                    <table class="table table-hover" style="margin-bottom: 0;">
+                        <thead class="thead-dark">
+                            <tr>
+                                <th>Cache</th>
+                                <th>Hits</th>
+                                <th>Misses</th>
+                                <th>Puts</th>
+                                <th>Evictions</th>
+                                <th>Entries</th>
+                                <th>Size (KB)</th>
+                                <th>Avg load (ms)</th>
+                                <th>Hits/s</th>
+                                <th>Misses/s</th>
+                                <th>Hit ratio</th>
+                            </tr>
+                        </thead>
+                        <tbody>
+                            <c:forEach var="cache" items="${statistics[layer]}">
+                                <tr>
+                                    <td><code><c:out value="${cache.key}"/></code></td>
+                                    <td><c:out value="${cache.value.hits}"/></td>
+                                    <td><c:out value="${cache.value.misses}"/></td>
+                                    <td><c:out value="${cache.value.puts}"/></td>
+                                    <td><c:out value="${cache.value.evictions}"/></td>
+                                    <td><c:out value="${cache.value.entries}"/></td>
+                                    <td><fmt:formatNumber value="${cache.value.size_bytes / 1024}" maxFractionDigits="1"/></td>
+                                    <td><c:out value="${empty cache.value.avg_load_ms ? '-' : cache.value.avg_load_ms}"/></td>
+                                    <td><c:out value="${cache.value.hits_per_sec}"/></td>
+                                    <td><c:out value="${cache.value.misses_per_sec}"/></td>
+                                    <td><fmt:formatNumber value="${cache.value.hit_ratio}" type="percent"/></td>
+                                </tr>
+                            </c:forEach>
+                            <c:if test="${empty statistics[layer]}">
+                                <tr>
+                                    <td colspan="11" class="text-muted">No cache activity recorded</td>
+                                </tr>
+                            </c:if>
+                        </tbody>
+                    </table>
+                </div>
+            </div>
+        </div>
+    </c:forEach>
+
+    <div class="card">
+        <div class="card-header">
+            <h3><i class="bi bi-database"></i> Persistence</h3>
+        </div>
+        <div class="card-body">
+            <div class="stats-grid">
+                <c:forEach var="metric" items="${statistics.persistence}">
+                    <div class="stat-card info">
+                        <div class="stat-title" style="text-transform: capitalize;"><c:out value="${metric.key}"/></div>
+                        <div class="stat-value"><c:out value="${metric.value}"/></div>
+                    </div>
+                </c:forEach>
+                <div class="stat-card info">
+                    <div class="stat-title">Coalesced loads</div>
+                    <div class="stat-value"><c:out value="${statistics.coalesced_loads}"/></div>
+                </div>
+            </div>
+        </div>
+    </div>
+</div>
+
+<jsp:include page="/WEB-INF/view/components/footer.jsp"/>
@@ -0,0 +1,109 @@
+<%@ page import="com.dev.servlet.core.response.IHttpResponse" %>
+<%@ page import="java.util.Map" %>
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+<%@ taglib prefix="fmt" uri="http://java.sun.com/jsp/jstl/fmt" %>
+<%@ include file="/WEB-INF/routes/health-routes.jspf" %>
+<jsp:include page="/WEB-INF/view/components/header.jsp"/>
+
+<%
+    IHttpResponse<?> httpResponse = (IHttpResponse<?>) request.getAttribute("response");
+    @SuppressWarnings("unchecked")
+    Map<String, Object> statistics = (Map<String, Object>) httpResponse.body();
+    request.setAttribute("statistics", statistics);
+    request.setAttribute("latencies", new String[]{"acquire_ms", "usage_ms", "create_ms"});
+%>
+
+<title>Connection Pools</title>
+
+<div class="main">
+    <!-- Page Header -->
+    <div class="action-bar">
+        <div class="action-bar-title">
+            <h1><i class="bi bi-hdd-network"></i> Connection Pools</h1>
+            <p class="action-bar-subtitle">
+                Latencies over the last <c:out value="${statistics.window_seconds}"/>s,
+                advisor <c:out value="${statistics.advisor}"/>
+            </p>
+        </div>
+        <div class="action-buttons">
+            <button onclick="location.reload()" class="btn btn-secondary">
+                <i class="bi bi-arrow-clockwise"></i>
+                Refresh
+            </button>
+        </div>
+    </div>
+
+    <div class="stats-grid" style="margin-bottom: var(--spacing-6);">
+        <div class="stat-card ${statistics.leaks_detected > 0 ? 'danger' : 'info'}">
+            <div class="stat-title">Leaks detected</div>
+            <div class="stat-value"><c:out value="${statistics.leaks_detected}"/></div>
+        </div>
+        <div class="stat-card info">
+            <div class="stat-title">Pools</div>
+            <div class="stat-value"><c:out value="${statistics.pools.size()}"/></div>
+        </div>
+    </div>
+
+    <c:forEach var="pool" items="${statistics.pools}">
+        <div class="card" style="margin-bottom: var(--spacing-6);">
+            <div class="card-header">
+                <h3><i class="bi bi-database"></i> <code><c:out value="${pool.key}"/></code></h3>
+            </div>
+            <div class="card-body">
+                <div class="stats-grid">
+                    <c:forEach var="gauge" items="active,idle,pending,total,max,timeouts">
+                        <div class="stat-card info">
+                            <div class="stat-title" style="text-transform: capitalize;"><c:out value="${gauge}"/></div>
+                            <div class="stat-value"><c:out value="${pool.value[gauge]}"/></div>
+                        </div>
+                    </c:forEach>
+                </div>
+
+                <div class="table-responsive">
+                    <table class="table table-hover" style="margin-bottom: 0;">
+                        <thead class="thead-dark">
+                            <tr>
+                                <th>Latency</th>
+                                <th>Count</th>
+                                <th>Mean (ms)</th>
+                                <th>p50 (ms)</th>
+                                <th>p95 (ms)</th>
+                                <th>p99 (ms)</th>
+                            </tr>
+                        </thead>
+                        <tbody>
+                            <c:forEach var="latency" items="${latencies}">
+                                <c:set var="histogram" value="${pool.value[latency]}"/>
+                                <tr>
+                                    <td><code><c:out value="${latency}"/></code></td>
+                                    <td><c:out value="${histogram.count}"/></td>
+                                    <td><c:out value="${histogram.mean}"/></td>
+                                    <td><c:out value="${histogram.p50}"/></td>
+                                    <td><c:out value="${histogram.p95}"/></td>
+                                    <td><c:out value="${histogram.p99}"/></td>
+                                </tr>
+                            </c:forEach>
+                        </tbody>
+                    </table>
+                </div>
+
+                <c:if test="${not empty pool.value.recommendation}">
+                    <p style="margin-top: var(--spacing-4); margin-bottom: 0;">
+                        <i class="bi bi-lightbulb"></i>
+                        Advisor: <c:out value="${pool.value.recommendation.current}"/>
+                        &rarr; <strong><c:out value="${pool.value.recommendation.recommended}"/></strong>
+                        connections (<c:out value="${pool.value.recommendation.reason}"/>)
+                    </p>
+                </c:if>
+            </div>
+        </div>
+    </c:forEach>
+
+    <c:if test="${empty statistics.pools}">
+        <div class="card">
+            <div class="card-body text-muted">No pool has been sampled yet</div>
+        </div>
+    </c:if>
+</div>
+
+<jsp:include page="/WEB-INF/view/components/footer.jsp"/>
@@ -0,0 +1,123 @@
+<%@ page import="com.dev.servlet.core.response.IHttpResponse" %>
+<%@ page import="java.util.Map" %>
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+<%@ taglib prefix="fmt" uri="http://java.sun.com/jsp/jstl/fmt" %>
+<%@ include file="/WEB-INF/routes/health-routes.jspf" %>
+<jsp:include page="/WEB-INF/view/components/header.jsp"/>
+
+<%
+    IHttpResponse<?> httpResponse = (IHttpResponse<?>) request.getAttribute("response");
+    @SuppressWarnings("unchecked")
+    Map<String, Object> statistics = (Map<String, Object>) httpResponse.body();
+    request.setAttribute("statistics", statistics);
+    request.setAttribute("rankings", new String[]{"by_total", "by_p99"});
+%>
+
+<title>Query Profile</title>
+
+<div class="main">
+    <!-- Page Header -->
+    <div class="action-bar">
+        <div class="action-bar-title">
+            <h1><i class="bi bi-bar-chart-line"></i> Query Profile</h1>
+            <p class="action-bar-subtitle">Statements grouped by fingerprint, totals since startup</p>
+        </div>
+        <div class="action-buttons">
+            <button onclick="location.reload()" class="btn btn-secondary">
+                <i class="bi bi-arrow-clockwise"></i>
+                Refresh
+            </button>
+        </div>
+    </div>
+
+    <c:forEach var="pool" items="${statistics.pools}">
+        <div class="card" style="margin-bottom: var(--spacing-6);">
+            <div class="card-header">
+                <h3><i class="bi bi-database"></i> <code><c:out value="${pool.key}"/></code></h3>
+            </div>
+            <div class="card-body">
+                <div class="stats-grid">
+                    <div class="stat-card info">
+                        <div class="stat-title">Fingerprints</div>
+                        <div class="stat-value">
+                            <c:out value="${pool.value.fingerprints}"/> / <c:out value="${pool.value.capacity}"/>
+                        </div>
+                    </div>
+                    <div class="stat-card info">
+                        <div class="stat-title">Evicted</div>
+                        <div class="stat-value"><c:out value="${pool.value.evicted}"/></div>
+                    </div>
+                    <div class="stat-card info">
+                        <div class="stat-title">Slow threshold (ms)</div>
+                        <div class="stat-value"><c:out value="${pool.value.slow_ms}"/></div>
+                    </div>
+                </div>
+
+                <c:forEach var="ranking" items="${rankings}">
+                    <h4 style="margin-top: var(--spacing-4);">
+                        Top by <c:out value="${ranking == 'by_total' ? 'total time' : 'p99'}"/>
+                    </h4>
+                    <div class="table-responsive">
+                        <table class="table table-hover" style="margin-bottom: 0;">
+                            <thead class="thead-dark">
+                                <tr>
+                                    <th>Fingerprint</th>
+                                    <th>Calls</th>
+                                    <th>Total (ms)</th>
+                                    <th>Mean (ms)</th>
+                                    <th>p50 (ms)</th>
+                                    <th>p95 (ms)</th>
+                                    <th>p99 (ms)</th>
+                                    <th>Max (ms)</th>
+                                    <th>Slow</th>
+                                </tr>
+                            </thead>
+                            <tbody>
+                                <c:forEach var="query" items="${pool.value[ranking]}">
+                                    <tr>
+                                        <td>
+                                            <code><c:out value="${query.fingerprint}"/></code>
+                                            <c:if test="${not empty query.plan}">
+                                                <details>
+                                                    <jsp:useBean id="capturedAt" class="java.util.Date"/>
+                                                    <jsp:setProperty name="capturedAt" property="time" value="${query.plan.captured_at}"/>
+                                                    <summary>
+                                                        EXPLAIN (ANALYZE, BUFFERS) captured at
+                                                        <fmt:formatDate value="${capturedAt}" pattern="yyyy-MM-dd HH:mm:ss"/>
+                                                        (<c:out value="${query.plan.elapsed_ms}"/> ms)
+                                                    </summary>
+                                                    <pre><c:out value="${query.plan.text}"/></pre>
+                                                </details>
+                                            </c:if>
+                                        </td>
+                                        <td><c:out value="${query.calls}"/></td>
+                                        <td><c:out value="${query.total_ms}"/></td>
+                                        <td><c:out value="${query.mean_ms}"/></td>
+                                        <td><c:out value="${query.p50}"/></td>
+                                        <td><c:out value="${query.p95}"/></td>
+                                        <td><c:out value="${query.p99}"/></td>
+                                        <td><c:out value="${query.max_ms}"/></td>
+                                        <td><c:out value="${query.slow}"/></td>
+                                    </tr>
+                                </c:forEach>
+                                <c:if test="${empty pool.value[ranking]}">
+                                    <tr>
+                                        <td colspan="9" class="text-muted">No statements recorded</td>
+                                    </tr>
+                                </c:if>
+                            </tbody>
+                        </table>
+                    </div>
+                </c:forEach>
+            </div>
+        </div>
+    </c:forEach>
+
+    <c:if test="${empty statistics.pools}">
+        <div class="card">
+            <div class="card-body text-muted">Query profiling is disabled or no pool has run a statement yet</div>
+        </div>
+    </c:if>
+</div>
+
+<jsp:include page="/WEB-INF/view/components/footer.jsp"/>
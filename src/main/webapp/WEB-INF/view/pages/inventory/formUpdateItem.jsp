@@ -8,6 +8,7 @@
 
 <div class="main">
     <form action="${baseLink}${version}${updateItem}/${inventory.id}" method="post" class="csrf-form">
+        <input type="hidden" name="version" value="${ inventory.version }"/>
         <div class="col-md-6">
             <div class="mb-3">
                 <label for="inputItemId" class="form-label">ID</label>
@@ -21,7 +21,7 @@
         <jsp:param name="onclear" value="${baseLink}${version}${ listProduct }"/>
         <jsp:param name="limit" value="${ pageable.getPageSize() }"/>
         <jsp:param name="categories" value="${ categories }"/>
-        <jsp:param name="searchType" value="name"/>
+        <jsp:param name="searchType" value="text"/>
     </jsp:include>
 
     <c:if test="${ !pageable.getContent().iterator().hasNext() }">
@@ -70,9 +70,17 @@
                                         </c:choose>
                                     </a>
                                 </td>
-                                <td class="w-14"><c:out value="${product.name}" escapeXml="true"/></td>
+                                <td class="w-14">
+                                    <c:choose>
+                                        <c:when test="${not empty product.nameHighlight}">${product.nameHighlight}</c:when>
+                                        <c:otherwise><c:out value="${product.name}" escapeXml="true"/></c:otherwise>
+                                    </c:choose>
+                                </td>
                                 <td class="w-20">
                                     <c:choose>
+                                        <c:when test="${not empty product.descriptionHighlight}">
+                                            ${product.descriptionHighlight}
+                                        </c:when>
                                         <c:when test="${fn:length(product.description) > 100}">
                                             <c:out value="${fn:substring(product.description, 0, 100)}..." escapeXml="true"/>
                                         </c:when>
@@ -113,7 +121,8 @@
                             </tr>
                         </c:forEach>
                         </tbody>
-                        <caption class="pb-0 caption">${pageable.getTotalElements()} records |
+                        <caption class="pb-0 caption">
+                            <c:if test="${pageable.getCountStrategy().isExact()}">${pageable.getTotalElements()} records |</c:if>
                             <fmt:formatNumber value="${totalPrice}" type="currency" minFractionDigits="2"/></caption>
                     </table>
                 </div>
@@ -126,6 +135,9 @@
                 <jsp:param name="pageSize" value="${pageable.getPageSize()}"/>
                 <jsp:param name="sort" value="${pageable.getSort().getField()}"/>
                 <jsp:param name="direction" value="${pageable.getSort().getDirection().getValue()}"/>
+                <jsp:param name="nextCursor" value="${pageable.getNextCursor()}"/>
+                <jsp:param name="previousCursor" value="${pageable.getPreviousCursor()}"/>
+                <jsp:param name="countStrategy" value="${pageable.getCountStrategy()}"/>
 
                 <jsp:param name="href" value="${baseLink}${version}${listProduct}"/>
             </jsp:include>
@@ -0,0 +1,118 @@
+<%@ page import="com.dev.servlet.core.response.IHttpResponse" %>
+<%@ page import="java.util.Map" %>
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+<%@ include file="/WEB-INF/routes/shard-routes.jspf" %>
+<jsp:include page="/WEB-INF/view/components/header.jsp"/>
+
+<%
+    IHttpResponse<?> httpResponse = (IHttpResponse<?>) request.getAttribute("response");
+    @SuppressWarnings("unchecked")
+    Map<String, Object> statistics = (Map<String, Object>) httpResponse.body();
+    request.setAttribute("statistics", statistics);
+%>
+
+<title>Shards</title>
+
+<div class="main">
+    <!-- Page Header -->
+    <div class="action-bar">
+        <div class="action-bar-title">
+            <h1><i class="bi bi-diagram-3"></i> Shards</h1>
+            <p class="action-bar-subtitle">
+                Sharding <c:out value="${statistics.enabled ? 'enabled' : 'disabled'}"/>,
+                directory on <code><c:out value="${statistics.directory}"/></code>
+            </p>
+        </div>
+        <div class="action-buttons">
+            <button onclick="location.reload()" class="btn btn-secondary">
+                <i class="bi bi-arrow-clockwise"></i>
+                Refresh
+            </button>
+        </div>
+    </div>
+
+    <div class="card" style="margin-bottom: var(--spacing-6);">
+        <div class="card-header">
+            <h3><i class="bi bi-signpost-split"></i> Placements</h3>
+        </div>
+        <div class="card-body" style="padding: 0;">
+            <div class="table-responsive">
+                <table class="table table-hover" style="margin-bottom: 0;">
+                    <thead class="thead-dark">
+                        <tr>
+                            <th>Shard</th>
+                            <th>Users</th>
+                            <th>Moving</th>
+                        </tr>
+                    </thead>
+                    <tbody>
+                        <c:forEach var="placement" items="${statistics.placements}">
+                            <tr>
+                                <td><code><c:out value="${placement.key}"/></code></td>
+                                <td><c:out value="${placement.value.users}"/></td>
+                                <td><c:out value="${placement.value.moving}"/></td>
+                            </tr>
+                        </c:forEach>
+                        <c:if test="${empty statistics.placements}">
+                            <tr>
+                                <td colspan="3" class="text-muted">No user has been placed yet</td>
+                            </tr>
+                        </c:if>
+                    </tbody>
+                </table>
+            </div>
+        </div>
+    </div>
+
+    <div class="card" style="margin-bottom: var(--spacing-6);">
+        <div class="card-header">
+            <h3><i class="bi bi-database"></i> Rows per shard</h3>
+        </div>
+        <div class="card-body" style="padding: 0;">
+            <div class="table-responsive">
+                <table class="table table-hover" style="margin-bottom: 0;">
+                    <tbody>
+                        <c:forEach var="shard" items="${statistics.shards}">
+                            <tr>
+                                <td><code><c:out value="${shard.key}"/></code></td>
+                                <c:forEach var="count" items="${shard.value}">
+                                    <td>
+                                        <span class="text-muted"><c:out value="${count.key}"/></span>
+                                        <c:out value="${count.value}"/>
+                                    </td>
+                                </c:forEach>
+                            </tr>
+                        </c:forEach>
+                    </tbody>
+                </table>
+            </div>
+        </div>
+    </div>
+
+    <c:if test="${statistics.enabled}">
+        <div class="card">
+            <div class="card-header">
+                <h3><i class="bi bi-arrow-left-right"></i> Move a user</h3>
+            </div>
+            <div class="card-body">
+                <form action="${baseLink}${version}${moveShard}" method="post" class="csrf-form"
+                      onsubmit="this.action += '/' + encodeURIComponent(this.elements.userId.value.trim());">
+                    <div class="d-flex align-items-center" style="flex-wrap: wrap; gap: var(--spacing-4);">
+                        <input type="text" name="userId" class="form-control" placeholder="User id" required style="max-width: 24rem;">
+                        <select name="shard" class="form-control" required style="max-width: 12rem;">
+                            <c:forEach var="shard" items="${statistics.shards}">
+                                <option value="${shard.key}"><c:out value="${shard.key}"/></option>
+                            </c:forEach>
+                        </select>
+                        <button type="submit" class="btn btn-primary">
+                            <i class="bi bi-box-arrow-right"></i>
+                            Move
+                        </button>
+                    </div>
+                </form>
+            </div>
+        </div>
+    </c:if>
+</div>
+
+<jsp:include page="/WEB-INF/view/components/footer.jsp"/>
@@ -6,7 +6,10 @@ import com.dev.servlet.adapter.internal.ServletDispatcherImpl;
 import com.dev.servlet.core.response.IHttpResponse;
 import com.dev.servlet.core.util.LogSuppressor;
 import com.dev.servlet.core.util.URIUtils;
+import com.dev.servlet.domain.records.ResourceVersion;
 import com.dev.servlet.domain.request.Request;
+import com.dev.servlet.service.AuthCookieService;
+import com.dev.servlet.service.ResourceVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,10 +22,12 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -86,4 +91,26 @@ class IServletDispatcherTest {
             verify(httpResponse).sendRedirect("/somewhere");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName(
+            "Test dispatch method with a matching If-None-Match should answer 304 without executing the request.")
+    void testDispatch_NotModified() throws Exception {
+        ResourceVersionService resourceVersionService = mock(ResourceVersionService.class);
+        var servletDispatcher = (ServletDispatcherImpl) this.servletDispatcher;
+        servletDispatcher.setResourceVersionService(resourceVersionService);
+        servletDispatcher.setCookieService(mock(AuthCookieService.class));
+
+        ResourceVersion version = new ResourceVersion("W/\"v1\"", 1_700_000_000_000L);
+        when(httpRequest.getMethod()).thenReturn("GET");
+        when(httpRequest.getHeader("If-None-Match")).thenReturn("W/\"v1\"");
+        when(resourceVersionService.getVersion(any(Request.class), any())).thenReturn(Optional.of(version));
+
+        try (MockedStatic<URIUtils> uriUtilsMockedStatic = mockStatic(URIUtils.class)) {
+            servletDispatcher.dispatch(httpRequest, httpResponse);
+            verify(httpResponse).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            verify(httpResponse).setHeader("ETag", "W/\"v1\"");
+            verify(httpExecutor, never()).send(any(Request.class));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.dev.servlet.config;
+
+import com.dev.servlet.config.WarmupStatus.State;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WarmupStatusTest {
+
+    @Test
+    @DisplayName("Readiness should be held while warmup is pending or running and released once it finishes")
+    void testReadiness() {
+        WarmupStatus status = new WarmupStatus();
+        assertFalse(status.isReady());
+
+        status.start(60_000);
+        assertFalse(status.isReady());
+
+        status.finish(State.COMPLETED);
+        assertTrue(status.isReady());
+    }
+
+    @Test
+    @DisplayName("Readiness should be released when warmup exceeds its timeout")
+    void testTimeout() {
+        WarmupStatus status = new WarmupStatus();
+        status.start(0);
+
+        assertTrue(status.isExpired());
+        assertTrue(status.isReady());
+        assertEquals(State.TIMED_OUT, status.toMap().get("state"));
+    }
+}
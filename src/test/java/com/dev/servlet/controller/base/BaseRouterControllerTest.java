@@ -10,22 +10,29 @@ import com.dev.servlet.core.util.JwtUtil;
 import com.dev.servlet.core.util.PropertiesUtil;
 import com.dev.servlet.domain.request.Request;
 import com.dev.servlet.domain.records.KeyPair;
+import com.dev.servlet.infrastructure.persistence.internal.StatementTimeout;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 
+import java.sql.Statement;
 import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class BaseRouterControllerTest {
@@ -117,6 +124,32 @@ class BaseRouterControllerTest {
         }
     }
 
+    @Test
+    void route_WithSlowWorkBeforeFirstStatement_ShouldNotSpendStatementBudget() throws Exception {
+        when(request.getPayload(any())).thenReturn(new Object());
+
+        try (MockedStatic<PropertiesUtil> propertiesUtil = mockStatic(PropertiesUtil.class)) {
+            propertiesUtil.when(() -> PropertiesUtil.getProperty(eq("db.statement.timeout.ms"), anyLong()))
+                    .thenReturn(20L);
+            controller.initStatementTimeout();
+        }
+
+        Statement statement = mock(Statement.class);
+        ProductController controllerSpy = spy((ProductController) controller);
+        doAnswer(invocation -> {
+            Thread.sleep(50);
+            ScheduledFuture<?> watch = StatementTimeout.watch(statement);
+            assertNotNull(watch);
+            watch.cancel(false);
+            return getServletResponse();
+        }).when(controllerSpy).list(any(), any());
+
+        IHttpResponse<Set<KeyPair>> response = controllerSpy.route(endpoint, request);
+
+        assertEquals(200, response.statusCode());
+        verify(statement, never()).cancel();
+    }
+
     @Test
     void route_WithInvalidEndpoint_ShouldThrowException() {
         when(endpoint.path()).thenReturn("nonexistent");
@@ -0,0 +1,51 @@
+package com.dev.servlet.core.util;
+
+import com.dev.servlet.core.enums.CacheTag;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mockStatic;
+
+class CacheUtilsTest {
+
+    @BeforeAll
+    static void setUp() {
+        // initialize the caches with the property defaults; no properties file is packaged for tests
+        try (MockedStatic<PropertiesUtil> ignored = mockStatic(PropertiesUtil.class, call -> call.getArgument(1))) {
+            CacheUtils.keyOf();
+        }
+    }
+
+    @Test
+    @DisplayName("Invalidating a tag should only drop that user's entries carrying the tag")
+    void testInvalidateTag() {
+        String productKey = CacheUtils.taggedKey("user-1", "list:product", CacheTag.PRODUCT, CacheTag.CATEGORY);
+        String inventoryKey = CacheUtils.taggedKey("user-1", "list:inventory", CacheTag.INVENTORY);
+        String otherUserKey = CacheUtils.taggedKey("user-2", "list:product", CacheTag.PRODUCT, CacheTag.CATEGORY);
+        CacheUtils.setObject("user-1", productKey, "products");
+        CacheUtils.setObject("user-1", inventoryKey, "inventory");
+        CacheUtils.setObject("user-2", otherUserKey, "other products");
+
+        CacheUtils.invalidate("user-1", CacheTag.PRODUCT);
+
+        String reloadedKey = CacheUtils.taggedKey("user-1", "list:product", CacheTag.PRODUCT, CacheTag.CATEGORY);
+        AtomicInteger loads = new AtomicInteger();
+        assertNotEquals(productKey, reloadedKey);
+        assertEquals("fresh products", CacheUtils.getOrLoad("user-1", reloadedKey, () -> {
+            loads.incrementAndGet();
+            return "fresh products";
+        }));
+        assertEquals(1, loads.get());
+
+        assertEquals(inventoryKey, CacheUtils.taggedKey("user-1", "list:inventory", CacheTag.INVENTORY));
+        assertEquals("inventory", CacheUtils.getObject("user-1", inventoryKey));
+        assertEquals(otherUserKey, CacheUtils.taggedKey("user-2", "list:product", CacheTag.PRODUCT, CacheTag.CATEGORY));
+        assertEquals("other products", CacheUtils.getObject("user-2", otherUserKey));
+    }
+}
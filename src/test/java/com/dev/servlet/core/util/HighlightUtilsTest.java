@@ -0,0 +1,26 @@
+package com.dev.servlet.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HighlightUtilsTest {
+
+    @Test
+    @DisplayName("Highlight markers should become mark tags while the text itself is escaped")
+    void testToHtml() {
+        String headline = "<b>Red</b> " + HighlightUtils.START + "chair" + HighlightUtils.STOP + " & table";
+
+        assertEquals("&lt;b&gt;Red&lt;/b&gt; <mark>chair</mark> &amp; table", HighlightUtils.toHtml(headline));
+    }
+
+    @Test
+    @DisplayName("Unbalanced markers should still produce well-formed markup")
+    void testUnbalancedMarkers() {
+        assertEquals("a<mark>b</mark>", HighlightUtils.toHtml("a" + HighlightUtils.START + "b"));
+        assertEquals("ab", HighlightUtils.toHtml("a" + HighlightUtils.STOP + "b"));
+        assertNull(HighlightUtils.toHtml(null));
+    }
+}
@@ -0,0 +1,44 @@
+package com.dev.servlet.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    @DisplayName("Identifiers should be version 7 UUIDs carrying the creation time")
+    void testLayout() {
+        long now = System.currentTimeMillis();
+        UUID uuid = UUID.fromString(TimeOrderedUuidGenerator.next());
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue(TimeOrderedUuidGenerator.timestampOf(uuid) >= now);
+        assertTrue(TimeOrderedUuidGenerator.timestampOf(uuid) - now < 1000);
+    }
+
+    @Test
+    @DisplayName("Identifiers should sort in creation order, even within one millisecond or when the clock goes back")
+    void testMonotonic() {
+        AtomicLong sequence = new AtomicLong();
+        long[] clock = {System.currentTimeMillis()};
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) clock[0] -= 10;
+            ids.add(TimeOrderedUuidGenerator.nextUuid(sequence, () -> clock[0]).toString());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, ids.get(i - 1) + " >= " + ids.get(i));
+        }
+        assertEquals(36, ids.get(0).length());
+    }
+}
@@ -0,0 +1,32 @@
+package com.dev.servlet.domain.records;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourceVersionTest {
+
+    private final ResourceVersion version = new ResourceVersion("W/\"abc123\"", 1_700_000_000_500L);
+
+    @Test
+    @DisplayName("If-None-Match should match weak and strong forms, lists and wildcards")
+    void testIfNoneMatch() {
+        assertTrue(version.matches("W/\"abc123\"", -1));
+        assertTrue(version.matches("\"abc123\"", -1));
+        assertTrue(version.matches("\"other\", W/\"abc123\"", -1));
+        assertTrue(version.matches("*", -1));
+        assertFalse(version.matches("W/\"other\"", -1));
+    }
+
+    @Test
+    @DisplayName("If-Modified-Since should compare at second precision and be ignored when If-None-Match is present")
+    void testIfModifiedSince() {
+        assertTrue(version.matches(null, 1_700_000_000_000L));
+        assertTrue(version.matches(null, 1_700_000_001_000L));
+        assertFalse(version.matches(null, 1_699_999_999_000L));
+        assertFalse(version.matches(null, -1));
+        assertFalse(version.matches("W/\"other\"", 1_700_000_001_000L));
+    }
+}
@@ -0,0 +1,33 @@
+package com.dev.servlet.domain.request;
+
+import com.dev.servlet.domain.records.StockAdjustment;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockMovementRequestTest {
+
+    @Test
+    @DisplayName("Movements should be parsed in order with signed deltas")
+    void testParse() {
+        List<StockAdjustment> adjustments = new StockMovementRequest(" a:5; b:-3;a:1 ").adjustments();
+
+        assertEquals(List.of(
+                new StockAdjustment("a", 5),
+                new StockAdjustment("b", -3),
+                new StockAdjustment("a", 1)), adjustments);
+    }
+
+    @Test
+    @DisplayName("An empty batch should yield no movements and a malformed one should be rejected")
+    void testInvalid() {
+        assertTrue(new StockMovementRequest(null).adjustments().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new StockMovementRequest("a:5;b").adjustments());
+        assertThrows(IllegalArgumentException.class, () -> new StockMovementRequest("a:x").adjustments());
+    }
+}
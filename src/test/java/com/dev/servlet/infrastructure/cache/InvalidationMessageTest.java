@@ -0,0 +1,62 @@
+package com.dev.servlet.infrastructure.cache;
+
+import com.dev.servlet.core.util.CacheInvalidationBus;
+import com.dev.servlet.infrastructure.cache.InvalidationMessage.Event;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvalidationMessageTest {
+
+    @Test
+    @DisplayName("Duplicate events and entries shadowed by a full invalidation should be coalesced")
+    void testCoalesce() {
+        List<Event> events = List.of(
+                new Event("u1", "categoryCacheKey"),
+                new Event("u1", "categoryCacheKey"),
+                new Event("u1", CacheInvalidationBus.ALL_ENTRIES),
+                new Event("u2", "userCacheKey"));
+
+        Set<Event> coalesced = InvalidationMessage.coalesce(events);
+
+        assertEquals(Set.of(new Event("u1", CacheInvalidationBus.ALL_ENTRIES), new Event("u2", "userCacheKey")), coalesced);
+    }
+
+    @Test
+    @DisplayName("Encoded payloads should decode back to the same origin and events")
+    void testRoundTrip() {
+        List<Event> events = List.of(new Event("u1", "categoryCacheKey"), new Event("u2", CacheInvalidationBus.ALL_ENTRIES));
+
+        List<String> payloads = InvalidationMessage.encode("node-a", events, 7900);
+        InvalidationMessage message = InvalidationMessage.decode(payloads.get(0));
+
+        assertEquals(1, payloads.size());
+        assertEquals("node-a", message.origin());
+        assertEquals(Set.copyOf(events), message.events());
+    }
+
+    @Test
+    @DisplayName("Bursts larger than the payload limit should be split across notifications")
+    void testChunking() {
+        List<Event> events = new ArrayList<>();
+        IntStream.range(0, 500).forEach(i -> events.add(new Event("user-" + i, "categoryCacheKey")));
+
+        List<String> payloads = InvalidationMessage.encode("node-a", events, 1000);
+
+        assertTrue(payloads.size() > 1);
+        int decoded = 0;
+        for (String payload : payloads) {
+            assertTrue(payload.getBytes(StandardCharsets.UTF_8).length <= 1000);
+            decoded += InvalidationMessage.decode(payload).events().size();
+        }
+        assertEquals(500, decoded);
+    }
+}
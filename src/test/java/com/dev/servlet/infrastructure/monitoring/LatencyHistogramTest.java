@@ -0,0 +1,44 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Percentiles should report the upper bound of the bucket holding the rank")
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(1_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(50_000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(100, snapshot.count());
+        assertEquals(1.024, snapshot.percentileMillis(0.50));
+        assertEquals(65.536, snapshot.percentileMillis(0.95));
+        assertEquals(5.9, snapshot.meanMillis(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Subtracting snapshots should leave only the samples recorded in between")
+    void testMinus() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100_000);
+        LatencyHistogram.Snapshot before = histogram.snapshot();
+        histogram.record(10);
+        histogram.record(10);
+
+        LatencyHistogram.Snapshot window = histogram.snapshot().minus(before);
+
+        assertEquals(2, window.count());
+        assertEquals(0.016, window.percentileMillis(0.99));
+        assertEquals(0.0, LatencyHistogram.Snapshot.EMPTY.percentileMillis(0.99));
+    }
+}
@@ -0,0 +1,57 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class PoolSizeAdvisorTest {
+
+    private PoolSizeAdvisor advisor;
+
+    @BeforeEach
+    void setUp() {
+        advisor = new PoolSizeAdvisor(10, 100, 5, 5.0, 2.0);
+    }
+
+    @Test
+    @DisplayName("Long connection waits with a healthy database should grow the pool")
+    void testGrow() {
+        PoolSizeAdvisor.Recommendation recommendation = advisor.recommend(20, 60,
+                histogram(600, 40_000), histogram(6_000, 8_000), 4);
+
+        assertEquals(20, recommendation.current());
+        assertEquals(25, recommendation.recommended());
+    }
+
+    @Test
+    @DisplayName("Waits caused by a saturated database should not grow the pool")
+    void testSaturated() {
+        advisor.recommend(20, 60, histogram(600, 100), histogram(6_000, 8_000), 0);
+
+        PoolSizeAdvisor.Recommendation recommendation = advisor.recommend(20, 60,
+                histogram(600, 40_000), histogram(6_000, 60_000), 6);
+
+        assertFalse(recommendation.isChange());
+    }
+
+    @Test
+    @DisplayName("An oversized pool should shrink step by step but never below the floor")
+    void testShrink() {
+        PoolSizeAdvisor.Recommendation recommendation = advisor.recommend(50, 60,
+                histogram(60, 100), histogram(60, 2_000), 0);
+
+        assertEquals(45, recommendation.recommended());
+        assertEquals(10, advisor.recommend(12, 60, histogram(60, 100), histogram(60, 2_000), 0).recommended());
+    }
+
+    private static LatencyHistogram.Snapshot histogram(int samples, long micros) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < samples; i++) {
+            histogram.record(micros);
+        }
+        return histogram.snapshot();
+    }
+}
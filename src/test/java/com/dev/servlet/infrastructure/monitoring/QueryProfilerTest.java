@@ -0,0 +1,51 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryProfilerTest {
+
+    @Test
+    @DisplayName("The profiler should stay bounded by evicting the statement with the least total time")
+    void testEviction() {
+        QueryProfiler profiler = new QueryProfiler("pool", 2, 25, 60_000);
+        profiler.record("select * from a where id = 1", millis(50));
+        profiler.record("select * from a where id = 2", millis(50));
+        profiler.record("select * from b", millis(1));
+        profiler.record("select * from c", millis(10));
+
+        List<QueryProfile.Snapshot> top = profiler.top(Comparator.comparingDouble(QueryProfile.Snapshot::totalMillis), 10);
+
+        assertEquals(2, top.size());
+        assertEquals("select * from a where id = ?", top.get(0).fingerprint());
+        assertEquals(2, top.get(0).latency().count());
+        assertEquals("select * from c", top.get(1).fingerprint());
+        assertEquals(1L, profiler.getStatistics(10).get("evicted"));
+    }
+
+    @Test
+    @DisplayName("Only slow executions should be sampled, at most once per interval for each statement")
+    void testPlanSampling() {
+        QueryProfiler profiler = new QueryProfiler("pool", 10, 25, 60_000);
+
+        assertNull(profiler.record("select 1", millis(5)));
+        QueryProfile sampled = profiler.record("select 1", millis(30));
+        assertNotNull(sampled);
+        assertNull(profiler.record("select 1", millis(30)));
+        assertTrue(ProfilingConnectionProvider.isExplainable(sampled));
+        assertEquals(2, sampled.snapshot().slow());
+    }
+
+    private static long millis(long value) {
+        return TimeUnit.MILLISECONDS.toNanos(value);
+    }
+}
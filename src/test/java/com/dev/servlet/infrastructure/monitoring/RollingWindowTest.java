@@ -0,0 +1,50 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RollingWindowTest {
+
+    @Test
+    @DisplayName("Rates should be computed per second between the oldest and newest samples")
+    void testRates() {
+        RollingWindow window = new RollingWindow(60_000);
+        window.add(0, Map.of("hits", 100L, "misses", 10L));
+        window.add(10_000, Map.of("hits", 150L, "misses", 10L));
+
+        Map<String, Double> rates = window.rates();
+
+        assertEquals(5.0, rates.get("hits"));
+        assertEquals(0.0, rates.get("misses"));
+        assertEquals(10_000, window.spanMillis());
+    }
+
+    @Test
+    @DisplayName("Samples older than the window should be dropped so rates reflect recent activity")
+    void testWindowSlides() {
+        RollingWindow window = new RollingWindow(20_000);
+        window.add(0, Map.of("hits", 0L));
+        window.add(10_000, Map.of("hits", 1000L));
+        window.add(30_000, Map.of("hits", 1000L));
+        window.add(40_000, Map.of("hits", 1200L));
+
+        assertEquals(30_000, window.spanMillis());
+        assertEquals(200 / 30.0, window.rates().get("hits"), 0.001);
+    }
+
+    @Test
+    @DisplayName("Counter resets should never produce negative rates")
+    void testCounterReset() {
+        RollingWindow window = new RollingWindow(60_000);
+        window.add(0, Map.of("puts", 500L));
+        window.add(1_000, Map.of("puts", 20L));
+
+        assertTrue(window.rates().get("puts") >= 0);
+        assertTrue(new RollingWindow(60_000).rates().isEmpty());
+    }
+}
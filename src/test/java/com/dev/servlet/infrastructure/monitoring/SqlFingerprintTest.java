@@ -0,0 +1,28 @@
+package com.dev.servlet.infrastructure.monitoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SqlFingerprintTest {
+
+    @Test
+    @DisplayName("Literals, comments and whitespace should not change the fingerprint")
+    void testLiterals() {
+        String a = SqlFingerprint.of("SELECT p.id FROM tb_product p\n WHERE p.status = 'A' AND p.price > 10.5 -- hot path");
+        String b = SqlFingerprint.of("select p.id from tb_product p where p.status = 'it''s' /* x */ and p.price > 3");
+
+        assertEquals("select p.id from tb_product p where p.status = ? and p.price > ?", a);
+        assertEquals(a, b);
+    }
+
+    @Test
+    @DisplayName("Parameter lists and multi-row values should collapse while identifiers keep their digits")
+    void testLists() {
+        assertEquals("select product0_.id from tb_product product0_ where product0_.id in (?+)",
+                SqlFingerprint.of("select product0_.id from tb_product product0_ where product0_.id in (?, ?, ?)"));
+        assertEquals("insert into tb_row (id, name) values (?+), ...",
+                SqlFingerprint.of("INSERT INTO tb_row (id, name) VALUES (?, ?), (?, ?), (?,?)"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.dev.servlet.infrastructure.persistence.aggregate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StatsReconcilerTest {
+
+    private static final List<String> USERS = List.of("u1", "u2", "u3", "u4", "u5");
+
+    @Test
+    @DisplayName("Users should be reconciled in keyset pages until a partial page")
+    void testPaging() {
+        List<String> afters = new ArrayList<>();
+        List<String> reconciled = new ArrayList<>();
+
+        int corrected = new StatsReconciler(2).reconcileAll((after, limit) -> {
+            afters.add(after);
+            return USERS.stream().filter(id -> id.compareTo(after) > 0).limit(limit).toList();
+        }, userId -> {
+            reconciled.add(userId);
+            return userId.equals("u3") ? 2 : 0;
+        });
+
+        assertEquals(USERS, reconciled);
+        assertEquals(List.of("", "u2", "u4"), afters);
+        assertEquals(2, corrected);
+    }
+
+    @Test
+    @DisplayName("A user that cannot be locked should be skipped without stopping the run")
+    void testSkipFailures() {
+        int corrected = new StatsReconciler(10).reconcileAll((after, limit) -> after.isEmpty() ? USERS : List.of(),
+                userId -> {
+                    if (userId.equals("u2")) throw new IllegalStateException("lock timeout");
+                    return 1;
+                });
+
+        assertEquals(4, corrected);
+    }
+}
@@ -0,0 +1,55 @@
+package com.dev.servlet.infrastructure.persistence.archive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SoftDeleteArchiverTest {
+
+    @Test
+    @DisplayName("Draining should keep moving full batches and stop at the first partial one")
+    void testDrainStopsOnPartialBatch() {
+        SoftDeleteArchiver archiver = new SoftDeleteArchiver(100, 10, 0);
+        Queue<Integer> batches = new ArrayDeque<>(List.of(100, 100, 42, 100));
+
+        int total = archiver.drain(batches::poll);
+
+        assertEquals(242, total);
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    @DisplayName("Draining should never run more batches than allowed per run")
+    void testDrainIsBounded() {
+        SoftDeleteArchiver archiver = new SoftDeleteArchiver(100, 3, 0);
+        AtomicInteger calls = new AtomicInteger();
+
+        int total = archiver.drain(() -> {
+            calls.incrementAndGet();
+            return 100;
+        });
+
+        assertEquals(300, total);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    @DisplayName("Archival should lock candidates with SKIP LOCKED and keep referenced rows in place")
+    void testArchiveSql() {
+        String sql = SoftDeleteArchiver.TABLES.get(1).archiveSql();
+
+        assertTrue(sql.contains("FOR UPDATE SKIP LOCKED"));
+        assertTrue(sql.contains("t.status = 'X'"));
+        assertTrue(sql.contains("NOT EXISTS (SELECT 1 FROM tb_inventory i WHERE i.product_id = t.id)"));
+        assertTrue(sql.contains("RETURNING t.id, t.name,"));
+        assertTrue(sql.endsWith("INSERT INTO tb_product_archive (id, name, description, url_img, register_date, price, status, user_id, category_id, created_at, updated_at)"
+                + " SELECT id, name, description, url_img, register_date, price, status, user_id, category_id, created_at, updated_at FROM moved"));
+    }
+}
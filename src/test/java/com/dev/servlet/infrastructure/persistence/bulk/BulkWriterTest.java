@@ -0,0 +1,112 @@
+package com.dev.servlet.infrastructure.persistence.bulk;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkWriterTest {
+
+    private static final BulkTable<Row> TABLE = new BulkTable<>("tb_row",
+            List.of("id", "name"), Row::getId, Row::setId, row -> new Object[]{row.getId(), row.getName()});
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private Savepoint savepoint;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        savepoint = mock(Savepoint.class);
+        when(connection.setSavepoint()).thenReturn(savepoint);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+    }
+
+    @Test
+    @DisplayName("CSV lines should quote values, escape quotes and leave nulls empty")
+    void testCsvLine() {
+        String line = BulkWriter.csvLine(new Object[]{"a \"b\", c", null, new BigDecimal("1E+2"), 7});
+
+        assertEquals("\"a \"\"b\"\", c\",,\"100\",\"7\"", line);
+    }
+
+    @Test
+    @DisplayName("Rows should be written chunk by chunk with multi-row inserts and client ids")
+    void testInsertInChunks() throws SQLException {
+        List<Row> rows = rows(3);
+
+        BulkResult<Row> result = new BulkWriter(2, false).write(connection, TABLE, rows);
+
+        assertEquals(3, result.written().size());
+        assertEquals(3, result.inserted());
+        assertTrue(rows.stream().allMatch(row -> row.getId() != null));
+        verify(connection).prepareStatement("INSERT INTO tb_row (id, name) VALUES (?, ?), (?, ?)");
+        verify(connection).prepareStatement("INSERT INTO tb_row (id, name) VALUES (?, ?)");
+        verify(connection, times(2)).releaseSavepoint(savepoint);
+    }
+
+    @Test
+    @DisplayName("A failing chunk should be rolled back and reported without losing the others")
+    void testFailedChunk() throws SQLException {
+        when(statement.executeUpdate()).thenReturn(2).thenThrow(new SQLException("duplicate key"));
+
+        BulkResult<Row> result = new BulkWriter(2, false).write(connection, TABLE, rows(4));
+
+        assertEquals(2, result.written().size());
+        assertTrue(result.hasErrors());
+        BulkResult.ChunkError error = result.errors().get(0);
+        assertNotNull(error);
+        assertEquals(1, error.chunk());
+        assertEquals(2, error.offset());
+        assertEquals("duplicate key", error.message());
+        verify(connection).rollback(savepoint);
+        verify(connection, times(2)).prepareStatement(startsWith("INSERT INTO tb_row"));
+    }
+
+    private static List<Row> rows(int size) {
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            rows.add(new Row("row-" + i));
+        }
+        return rows;
+    }
+
+    private static final class Row {
+        private final String name;
+        private String id;
+
+        Row(String name) {
+            this.name = name;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        void setId(String id) {
+            this.id = id;
+        }
+
+        String getName() {
+            return name;
+        }
+    }
+}
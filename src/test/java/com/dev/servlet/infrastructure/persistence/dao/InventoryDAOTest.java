@@ -0,0 +1,50 @@
+package com.dev.servlet.infrastructure.persistence.dao;
+
+import com.dev.servlet.core.util.PropertiesUtil;
+import com.dev.servlet.domain.model.Inventory;
+import com.dev.servlet.domain.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaQuery;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InventoryDAOTest {
+
+    @Test
+    @DisplayName("Detail lookups should load the product and its category through the inventory entity graph")
+    @SuppressWarnings("unchecked")
+    void testDetailGraph() {
+        EntityManager em = mock(EntityManager.class, RETURNS_DEEP_STUBS);
+        EntityGraph<?> graph = mock(EntityGraph.class);
+        TypedQuery<Inventory> query = mock(TypedQuery.class);
+        when(em.getEntityGraph(Inventory.DETAIL_GRAPH)).thenReturn((EntityGraph) graph);
+        when(em.createQuery(any(CriteriaQuery.class))).thenReturn(query);
+        when(query.setHint(any(), any())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of());
+
+        InventoryDAO dao = new InventoryDAO();
+        dao.setEm(em);
+        try (MockedStatic<PropertiesUtil> ignored = mockStatic(PropertiesUtil.class, call -> call.getArgument(1))) {
+            dao.init();
+        }
+
+        dao.findById("inventory-1");
+        dao.find(Inventory.builder().id("inventory-1").user(new User("user-1")).build());
+
+        verify(em).find(Inventory.class, "inventory-1", Map.of("javax.persistence.loadgraph", graph));
+        verify(query).setHint("javax.persistence.loadgraph", graph);
+    }
+}
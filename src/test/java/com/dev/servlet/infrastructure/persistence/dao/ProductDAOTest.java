@@ -0,0 +1,68 @@
+package com.dev.servlet.infrastructure.persistence.dao;
+
+import com.dev.servlet.core.util.PropertiesUtil;
+import com.dev.servlet.domain.model.Category;
+import com.dev.servlet.domain.model.Product;
+import com.dev.servlet.domain.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaQuery;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductDAOTest {
+
+    @Test
+    @DisplayName("Only user-wide or category-wide filters should be served from the aggregate tables")
+    void testIsAggregated() {
+        Product byUser = Product.builder().user(new User("user-1")).build();
+        Product byCategory = Product.builder().user(new User("user-1")).category(Category.builder().id("cat-1").build()).build();
+        Product byName = Product.builder().user(new User("user-1")).name("pen").build();
+        Product byCategoryName = Product.builder().user(new User("user-1")).category(Category.builder().name("office").build()).build();
+
+        assertTrue(ProductDAO.isAggregated(byUser));
+        assertTrue(ProductDAO.isAggregated(byCategory));
+        assertFalse(ProductDAO.isAggregated(byName));
+        assertFalse(ProductDAO.isAggregated(byCategoryName));
+        assertFalse(ProductDAO.isAggregated(Product.builder().build()));
+    }
+
+    @Test
+    @DisplayName("Detail lookups should load the category through the product entity graph")
+    @SuppressWarnings("unchecked")
+    void testDetailGraph() {
+        EntityManager em = mock(EntityManager.class, RETURNS_DEEP_STUBS);
+        EntityGraph<?> graph = mock(EntityGraph.class);
+        TypedQuery<Product> query = mock(TypedQuery.class);
+        when(em.getEntityGraph(Product.DETAIL_GRAPH)).thenReturn((EntityGraph) graph);
+        when(em.createQuery(any(CriteriaQuery.class))).thenReturn(query);
+        when(query.setHint(any(), any())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of());
+
+        ProductDAO dao = new ProductDAO();
+        dao.setEm(em);
+        try (MockedStatic<PropertiesUtil> ignored = mockStatic(PropertiesUtil.class, call -> call.getArgument(1))) {
+            dao.init();
+        }
+
+        dao.findById("product-1");
+        dao.find(Product.builder().id("product-1").user(new User("user-1")).build());
+
+        verify(em).find(Product.class, "product-1", Map.of("javax.persistence.loadgraph", graph));
+        verify(query).setHint("javax.persistence.loadgraph", graph);
+    }
+}
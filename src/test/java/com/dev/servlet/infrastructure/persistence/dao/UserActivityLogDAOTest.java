@@ -0,0 +1,69 @@
+package com.dev.servlet.infrastructure.persistence.dao;
+
+import com.dev.servlet.config.EntityManagerProducer;
+import com.dev.servlet.core.util.PropertiesUtil;
+import com.dev.servlet.domain.model.UserActivityLog;
+import com.dev.servlet.infrastructure.persistence.dao.base.BaseDAO;
+import com.dev.servlet.infrastructure.persistence.shard.ShardRouter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserActivityLogDAOTest {
+
+    @Test
+    @DisplayName("Audit rows should be written to the shard that holds the user's data")
+    void testSaveRoutesToUserShard() {
+        EntityManagerProducer producer = mock(EntityManagerProducer.class);
+        EntityManagerFactory primary = mock(EntityManagerFactory.class);
+        EntityManagerFactory shard1 = mock(EntityManagerFactory.class);
+        EntityManager auditEm = mock(EntityManager.class);
+        ShardRouter router = mock(ShardRouter.class);
+
+        when(producer.getEntityManagerFactory()).thenReturn(primary);
+        when(producer.getShardFactory("shard0")).thenReturn(primary);
+        when(producer.getShardFactory("shard1")).thenReturn(shard1);
+        when(router.shardFor("user-1")).thenReturn("shard1");
+        when(shard1.createEntityManager()).thenReturn(auditEm);
+        when(auditEm.getTransaction()).thenReturn(mock(EntityTransaction.class));
+
+        UserActivityLogDAO dao = new UserActivityLogDAO();
+        dao.setEntityManagerProducer(producer);
+        dao.setShardRouter(router);
+
+        UserActivityLog activityLog = UserActivityLog.builder().userId("user-1").action("product:create").build();
+        dao.save(activityLog);
+
+        verify(auditEm).persist(activityLog);
+        verify(primary, never()).createEntityManager();
+    }
+
+    @Test
+    @DisplayName("The estimate query should bind the same filters the list applies")
+    void testEstimateQuery() {
+        UserActivityLog filter = UserActivityLog.builder().userId("user-1").action("product").build();
+
+        BaseDAO.CountQuery query;
+        try (MockedStatic<PropertiesUtil> properties = mockStatic(PropertiesUtil.class)) {
+            properties.when(() -> PropertiesUtil.getProperty(eq("activity.query.window.days"), anyInt())).thenReturn(30);
+            query = new UserActivityLogDAO().estimateQuery(filter);
+        }
+
+        assertEquals("FROM tb_user_activity_log WHERE timestamp >= ? AND user_id = ? AND upper(action) LIKE ?", query.sql());
+        assertEquals(List.of("user-1", "%PRODUCT%"), query.params().subList(1, 3));
+    }
+}
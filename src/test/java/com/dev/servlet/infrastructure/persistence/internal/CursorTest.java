@@ -0,0 +1,75 @@
+package com.dev.servlet.infrastructure.persistence.internal;
+
+import com.dev.servlet.domain.records.Sort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CursorTest {
+
+    @Test
+    @DisplayName("Encoded cursors should be URL safe and decode back to the same position")
+    void testRoundTrip() {
+        Cursor cursor = new Cursor("price", Sort.Direction.DESC, "10.50", "42", true);
+
+        String token = cursor.encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, Cursor.decode(token));
+    }
+
+    @Test
+    @DisplayName("Blank, malformed or incomplete cursors should be rejected")
+    void testDecodeInvalid() {
+        String incomplete = Base64.getUrlEncoder().encodeToString("{\"f\":\"name\",\"d\":\"ASC\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(" "));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(incomplete));
+    }
+
+    @Test
+    @DisplayName("Sort keys should parse to the attribute type, and tampered keys should be rejected")
+    void testTypedValue() {
+        Cursor price = new Cursor("price", Sort.Direction.ASC, "10.50", "42", false);
+        Cursor date = new Cursor("registerDate", Sort.Direction.DESC, "1700000000000", "42", false);
+        Cursor tampered = Cursor.decode(new Cursor("price", Sort.Direction.ASC, "abc", "42", false).encode());
+
+        assertEquals(new BigDecimal("10.50"), price.typedValue(BigDecimal.class));
+        assertEquals(new Date(1700000000000L), date.typedValue(Date.class));
+        assertThrows(IllegalArgumentException.class, () -> tampered.typedValue(BigDecimal.class));
+        assertThrows(IllegalArgumentException.class, () -> tampered.typedValue(Date.class));
+    }
+
+    @Test
+    @DisplayName("A row with a null sort key should yield a cursor that decodes to a null key")
+    void testNullValue() {
+        Cursor cursor = new Cursor("price", Sort.Direction.ASC, null, "42", false);
+
+        Cursor decoded = Cursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertNull(decoded.typedValue(BigDecimal.class));
+    }
+
+    @Test
+    @DisplayName("A cursor should only match the sort it was issued for")
+    void testMatches() {
+        Cursor cursor = new Cursor("name", Sort.Direction.ASC, "Chair", "7", false);
+
+        assertTrue(cursor.matches(Sort.by("name").ascending()));
+        assertFalse(cursor.matches(Sort.by("name").descending()));
+        assertFalse(cursor.matches(Sort.by("price").ascending()));
+        assertFalse(cursor.matches(null));
+    }
+}
@@ -0,0 +1,61 @@
+package com.dev.servlet.infrastructure.persistence.internal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaRouterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Read-only calls should be routed to the replica only while their scope is open")
+    void testReadOnlyScope() {
+        ReplicaRouter router = new ReplicaRouter(true, 5_000, now::get);
+
+        assertTrue(router.enterReadOnlyScope());
+        assertTrue(router.isReadOnlyScope());
+        assertFalse(router.enterReadOnlyScope());
+
+        router.exitReadOnlyScope();
+        assertFalse(router.isReadOnlyScope());
+    }
+
+    @Test
+    @DisplayName("A user should read from the primary for the pin window after writing")
+    void testReadYourWrites() {
+        ReplicaRouter router = new ReplicaRouter(true, 5_000, now::get);
+        MDC.put(ReplicaRouter.USER_MDC_KEY, "user-1");
+
+        router.recordWrite();
+        assertFalse(router.enterReadOnlyScope());
+        assertFalse(router.isReadOnlyScope());
+
+        now.addAndGet(5_001);
+        assertTrue(router.enterReadOnlyScope());
+        router.exitReadOnlyScope();
+    }
+
+    @Test
+    @DisplayName("Pins should be per user and routing should be off when the replica is disabled")
+    void testIsolationAndDisabled() {
+        ReplicaRouter router = new ReplicaRouter(true, 5_000, now::get);
+        MDC.put(ReplicaRouter.USER_MDC_KEY, "user-1");
+        router.recordWrite();
+
+        assertTrue(router.isPinned("user-1"));
+        assertFalse(router.isPinned("user-2"));
+        assertFalse(new ReplicaRouter(false, 5_000, now::get).enterReadOnlyScope());
+    }
+}
@@ -0,0 +1,83 @@
+package com.dev.servlet.infrastructure.persistence.internal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class StatementTimeoutTest {
+
+    @Test
+    @DisplayName("A statement still running at the deadline should be cancelled, one that finishes in time should not")
+    void testCancel() throws Exception {
+        Statement slow = mock(Statement.class);
+        Statement fast = mock(Statement.class);
+
+        try (StatementTimeout.Scope ignored = StatementTimeout.open(50)) {
+            ScheduledFuture<?> fastWatch = StatementTimeout.watch(fast);
+            assertNotNull(fastWatch);
+            fastWatch.cancel(false);
+            StatementTimeout.watch(slow);
+        }
+
+        verify(slow, timeout(2000)).cancel();
+        verify(fast, never()).cancel();
+        assertNull(StatementTimeout.watch(slow));
+    }
+
+    @Test
+    @DisplayName("Nested scopes should never extend the outer deadline, except for unbounded work")
+    void testNested() throws Exception {
+        Statement statement = mock(Statement.class);
+
+        try (StatementTimeout.Scope outer = StatementTimeout.open(1)) {
+            StatementTimeout.watch(mock(Statement.class));
+            Thread.sleep(5);
+            try (StatementTimeout.Scope inner = StatementTimeout.open(60_000)) {
+                assertThrows(SQLTimeoutException.class, () -> StatementTimeout.watch(statement));
+            }
+            try (StatementTimeout.Scope audit = StatementTimeout.unbounded()) {
+                assertNull(StatementTimeout.watch(statement));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Time spent before the first statement should not count against the budget")
+    void testDeadlineStartsAtFirstStatement() throws Exception {
+        Statement statement = mock(Statement.class);
+
+        try (StatementTimeout.Scope ignored = StatementTimeout.open(20)) {
+            Thread.sleep(50);
+            ScheduledFuture<?> watch = StatementTimeout.watch(statement);
+            assertNotNull(watch);
+            watch.cancel(false);
+
+            Thread.sleep(50);
+            assertThrows(SQLTimeoutException.class, () -> StatementTimeout.watch(statement));
+        }
+        verify(statement, never()).cancel();
+    }
+
+    @Test
+    @DisplayName("Cancelled statements should be recognised anywhere in the cause chain")
+    void testIsCancellation() {
+        SQLException cancelled = new SQLException("canceling statement due to user request", "57014");
+
+        assertTrue(StatementTimeout.isCancellation(new RuntimeException(new IllegalStateException(cancelled))));
+        assertFalse(StatementTimeout.isCancellation(new RuntimeException(new SQLException("duplicate key", "23505"))));
+    }
+}
@@ -0,0 +1,173 @@
+package com.dev.servlet.infrastructure.persistence.internal;
+
+import com.dev.servlet.infrastructure.persistence.Propagation;
+import com.dev.servlet.infrastructure.persistence.Transactional;
+import com.dev.servlet.infrastructure.persistence.shard.ShardRing;
+import com.dev.servlet.infrastructure.persistence.shard.ShardRouter;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.jdbc.Work;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.interceptor.InvocationContext;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionInterceptorTest {
+
+    private Session session;
+    private Transaction transaction;
+    private InvocationContext context;
+    private TransactionInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(Session.class);
+        transaction = mock(Transaction.class);
+        context = mock(InvocationContext.class);
+        when(session.getTransaction()).thenReturn(transaction);
+        when(session.unwrap(Session.class)).thenReturn(session);
+        when(session.getHibernateFlushMode()).thenReturn(FlushMode.AUTO);
+        interceptor = new TransactionInterceptor(session, new ReplicaRouter(false, 0, System::currentTimeMillis),
+                new ShardRouter(false, new ShardRing(List.of("shard0"), 1), 0, 0, System::currentTimeMillis));
+    }
+
+    @Test
+    @DisplayName("A transactional call should run in one transaction that commits on success")
+    void testCommit() throws Exception {
+        when(context.getMethod()).thenReturn(method("write"));
+        when(context.proceed()).thenAnswer(invocation -> {
+            when(transaction.isActive()).thenReturn(true);
+            return "done";
+        });
+
+        assertEquals("done", interceptor.manageTransaction(context));
+
+        verify(transaction).begin();
+        verify(transaction).commit();
+        verify(transaction, never()).rollback();
+    }
+
+    @Test
+    @DisplayName("A failing call should roll the transaction back and rethrow")
+    void testRollback() throws Exception {
+        when(context.getMethod()).thenReturn(method("write"));
+        when(context.proceed()).thenAnswer(invocation -> {
+            when(transaction.isActive()).thenReturn(true);
+            throw new IllegalStateException("boom");
+        });
+
+        assertThrows(IllegalStateException.class, () -> interceptor.manageTransaction(context));
+
+        verify(transaction).rollback();
+        verify(transaction, never()).commit();
+    }
+
+    @Test
+    @DisplayName("After-commit callbacks should run only once the transaction has committed")
+    void testAfterCommit() throws Exception {
+        List<String> events = new ArrayList<>();
+        when(context.getMethod()).thenReturn(method("write"));
+        when(context.proceed()).thenAnswer(invocation -> {
+            when(transaction.isActive()).thenReturn(true);
+            AfterCommit.run(() -> events.add("callback"));
+            events.add("proceed");
+            return null;
+        });
+        doAnswer(invocation -> events.add("commit")).when(transaction).commit();
+
+        interceptor.manageTransaction(context);
+
+        assertEquals(List.of("proceed", "commit", "callback"), events);
+        assertFalse(AfterCommit.isActive());
+    }
+
+    @Test
+    @DisplayName("After-commit callbacks should be dropped when the transaction rolls back")
+    void testAfterCommitDiscarded() throws Exception {
+        List<String> events = new ArrayList<>();
+        when(context.getMethod()).thenReturn(method("write"));
+        when(context.proceed()).thenAnswer(invocation -> {
+            when(transaction.isActive()).thenReturn(true);
+            AfterCommit.run(() -> events.add("callback"));
+            throw new IllegalStateException("boom");
+        });
+
+        assertThrows(IllegalStateException.class, () -> interceptor.manageTransaction(context));
+
+        assertTrue(events.isEmpty());
+        assertFalse(AfterCommit.isActive());
+    }
+
+    @Test
+    @DisplayName("Nested calls should join the active transaction instead of opening a new one")
+    void testJoin() throws Exception {
+        when(transaction.isActive()).thenReturn(true);
+        when(context.getMethod()).thenReturn(method("write"));
+        when(context.proceed()).thenReturn("joined");
+
+        assertEquals("joined", interceptor.manageTransaction(context));
+
+        verify(transaction, never()).begin();
+        verify(transaction, never()).commit();
+    }
+
+    @Test
+    @DisplayName("Read-only calls should disable flushing and restore the session afterwards")
+    void testReadOnly() throws Exception {
+        when(context.getMethod()).thenReturn(method("read"));
+
+        interceptor.manageTransaction(context);
+
+        verify(session).setDefaultReadOnly(true);
+        verify(session).setHibernateFlushMode(FlushMode.MANUAL);
+        verify(session).doWork(any(Work.class));
+        verify(session).setDefaultReadOnly(false);
+        verify(session).setHibernateFlushMode(FlushMode.AUTO);
+    }
+
+    @Test
+    @DisplayName("Mandatory propagation should fail without an active transaction")
+    void testMandatory() throws Exception {
+        when(context.getMethod()).thenReturn(method("mandatory"));
+
+        assertThrows(IllegalStateException.class, () -> interceptor.manageTransaction(context));
+
+        verify(context, never()).proceed();
+        verify(transaction, never()).begin();
+    }
+
+    private static Method method(String name) throws NoSuchMethodException {
+        return Service.class.getDeclaredMethod(name);
+    }
+
+    static class Service {
+
+        @Transactional
+        void write() {
+        }
+
+        @Transactional(readOnly = true)
+        void read() {
+        }
+
+        @Transactional(propagation = Propagation.MANDATORY)
+        void mandatory() {
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.dev.servlet.infrastructure.persistence.partition;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ActivityLogPartitionManagerTest {
+
+    @Test
+    @DisplayName("Monthly partitions should be named and bounded by calendar month")
+    void testCreateSql() {
+        YearMonth december = YearMonth.of(2026, 12);
+
+        assertEquals("tb_user_activity_log_y2026m12", ActivityLogPartitionManager.partitionName(december));
+        assertEquals("CREATE TABLE IF NOT EXISTS tb_user_activity_log_y2026m12 PARTITION OF tb_user_activity_log"
+                        + " FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')",
+                ActivityLogPartitionManager.createSql(december));
+    }
+
+    @Test
+    @DisplayName("Only monthly partitions older than the retention window should expire")
+    void testExpired() {
+        List<String> partitions = List.of(
+                "tb_user_activity_log_y2025m11",
+                "tb_user_activity_log_default",
+                "tb_user_activity_log_y2025m09",
+                "tb_user_activity_log_y2025m10",
+                "tb_user_activity_log_legacy_copy");
+
+        List<String> expired = ActivityLogPartitionManager.expired(partitions, YearMonth.of(2025, 11));
+
+        assertEquals(List.of("tb_user_activity_log_y2025m09", "tb_user_activity_log_y2025m10"), expired);
+    }
+}
@@ -0,0 +1,70 @@
+package com.dev.servlet.infrastructure.persistence.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardRingTest {
+
+    private static final int USERS = 20_000;
+
+    @Test
+    @DisplayName("The same user should always map to the same shard")
+    void testStable() {
+        ShardRing ring = new ShardRing(List.of("shard0", "shard1", "shard2"), 128);
+        ShardRing same = new ShardRing(List.of("shard0", "shard1", "shard2"), 128);
+
+        for (int i = 0; i < 1_000; i++) {
+            String userId = UUID.randomUUID().toString();
+            assertEquals(ring.shardFor(userId), same.shardFor(userId));
+        }
+    }
+
+    @Test
+    @DisplayName("Users should spread roughly evenly across shards")
+    void testDistribution() {
+        ShardRing ring = new ShardRing(List.of("shard0", "shard1", "shard2", "shard3"), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < USERS; i++) {
+            counts.merge(ring.shardFor(UUID.randomUUID().toString()), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertTrue(Math.abs(count - USERS / 4) < USERS / 4 * 0.2, "unbalanced: " + counts));
+    }
+
+    @Test
+    @DisplayName("Adding a shard should only remap users onto the new shard, about 1/N of them")
+    void testMinimalRemapping() {
+        ShardRing before = new ShardRing(List.of("shard0", "shard1", "shard2"), 128);
+        ShardRing after = new ShardRing(List.of("shard0", "shard1", "shard2", "shard3"), 128);
+
+        int moved = 0;
+        for (int i = 0; i < USERS; i++) {
+            String userId = UUID.randomUUID().toString();
+            String from = before.shardFor(userId);
+            String to = after.shardFor(userId);
+            if (!from.equals(to)) {
+                assertEquals("shard3", to);
+                moved++;
+            }
+        }
+
+        assertTrue(moved > USERS * 0.15 && moved < USERS * 0.35, "moved " + moved);
+    }
+
+    @Test
+    @DisplayName("A ring needs at least one shard")
+    void testEmpty() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardRing(List.of(), 128));
+    }
+}
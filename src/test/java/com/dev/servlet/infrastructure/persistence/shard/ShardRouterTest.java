@@ -0,0 +1,89 @@
+package com.dev.servlet.infrastructure.persistence.shard;
+
+import com.dev.servlet.core.exception.ServiceException;
+import com.dev.servlet.infrastructure.persistence.internal.ReplicaRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShardRouterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Map<String, ShardRouter.Placement> directory = new HashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("With sharding disabled every user should stay on the primary without a directory lookup")
+    void testDisabled() {
+        ShardRouter router = router(false);
+
+        assertEquals("shard0", router.shardFor("user-1"));
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    @DisplayName("Anonymous requests should use the primary")
+    void testAnonymous() {
+        assertEquals("shard0", router(true).currentShard());
+    }
+
+    @Test
+    @DisplayName("The directory entry should be cached for the configured window")
+    void testCache() {
+        ShardRouter router = router(true);
+        directory.put("user-1", new ShardRouter.Placement("shard1", null));
+
+        assertEquals("shard1", router.shardFor("user-1"));
+        directory.put("user-1", new ShardRouter.Placement("shard2", null));
+        assertEquals("shard1", router.shardFor("user-1"));
+        assertEquals(1, loads.get());
+
+        now.addAndGet(5_001);
+        assertEquals("shard2", router.shardFor("user-1"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Writes should be rejected with 503 while the user is being moved")
+    void testMoving() {
+        ShardRouter router = router(true);
+        directory.put("user-1", new ShardRouter.Placement("shard0", "shard1"));
+        MDC.put(ReplicaRouter.USER_MDC_KEY, "user-1");
+
+        ServiceException e = assertThrows(ServiceException.class, router::checkWritable);
+        assertEquals(503, e.getCode());
+        assertEquals("shard0", router.currentShard());
+
+        directory.put("user-1", new ShardRouter.Placement("shard1", null));
+        router.evict("user-1");
+        assertDoesNotThrow(router::checkWritable);
+        assertEquals("shard1", router.currentShard());
+    }
+
+    private ShardRouter router(boolean enabled) {
+        ShardRing ring = new ShardRing(List.of("shard0", "shard1", "shard2"), 16);
+        return new ShardRouter(enabled, ring, 5_000, 1_000, now::get) {
+            @Override
+            Placement load(String userId) {
+                loads.incrementAndGet();
+                return directory.getOrDefault(userId, new Placement(ring.shardFor(userId), null));
+            }
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package com.dev.servlet.service.internal;
+
+import com.dev.servlet.infrastructure.persistence.CountStrategy;
+import com.dev.servlet.infrastructure.persistence.IPageable;
+import com.dev.servlet.infrastructure.persistence.dao.base.BaseDAO;
+import com.dev.servlet.infrastructure.persistence.internal.PageRequest;
+import com.dev.servlet.infrastructure.persistence.internal.Projection;
+import com.dev.servlet.infrastructure.persistence.internal.Slice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BaseServiceImplTest {
+
+    private BaseDAO<String, String> dao;
+    private BaseServiceImpl<String, String> service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        dao = mock(BaseDAO.class);
+        service = new BaseServiceImpl<>(dao) {
+        };
+    }
+
+    @Test
+    @DisplayName("The total should come from the page itself when the last page is reached")
+    void testLastPageSkipsCount() {
+        PageRequest request = PageRequest.of(2, 3, null, null);
+        when(dao.getSlice(request)).thenReturn(new Slice<>(List.of("d", "e"), false, null, null));
+
+        IPageable<String> page = service.getAllPageable(request);
+
+        assertEquals(5, page.getTotalElements());
+        verify(dao, never()).count(any());
+    }
+
+    @Test
+    @DisplayName("Without a count, totals should only reveal that a next page exists")
+    void testNoneStrategy() {
+        PageRequest request = PageRequest.of(2, 3, null, null);
+        request.setCountStrategy(CountStrategy.NONE);
+        when(dao.getSlice(request)).thenReturn(new Slice<>(List.of("d", "e", "f"), true, null, null));
+
+        IPageable<String> page = service.getAllPageable(request);
+
+        assertEquals(7, page.getTotalElements());
+        assertEquals(CountStrategy.NONE, page.getCountStrategy());
+        verify(dao, never()).count(any());
+        verify(dao, never()).estimateCount(any());
+    }
+
+    @Test
+    @DisplayName("Estimated totals should never be lower than the rows already seen")
+    void testEstimatedStrategy() {
+        PageRequest request = PageRequest.of(3, 3, null, null);
+        request.setCountStrategy(CountStrategy.ESTIMATED);
+        when(dao.getSlice(request)).thenReturn(new Slice<>(List.of("g", "h", "i"), true, null, null));
+        when(dao.estimateCount(request)).thenReturn(4L);
+
+        IPageable<String> page = service.getAllPageable(request);
+
+        assertEquals(10, page.getTotalElements());
+        verify(dao, never()).count(any());
+    }
+
+    @Test
+    @DisplayName("Exact totals should run the count query while more pages remain")
+    void testExactStrategy() {
+        PageRequest request = PageRequest.of(1, 3, null, null);
+        when(dao.getSlice(request)).thenReturn(new Slice<>(List.of("a", "b", "c"), true, null, null));
+        when(dao.count(request)).thenReturn(42L);
+
+        IPageable<String> page = service.getAllPageable(request);
+
+        assertEquals(42, page.getTotalElements());
+        assertEquals(CountStrategy.EXACT, page.getCountStrategy());
+    }
+
+    @Test
+    @DisplayName("A query-specific count should replace the filter count for the route's strategy")
+    void testQueryCount() {
+        PageRequest request = PageRequest.of(1, 3, null, null);
+        request.setCountStrategy(CountStrategy.CACHED);
+
+        IPageable<String> page = service.toPage(request, new Slice<>(List.of("a", "b", "c"), true, null, null), () -> 42L);
+
+        assertEquals(42, page.getTotalElements());
+        assertEquals(CountStrategy.CACHED, page.getCountStrategy());
+        verify(dao, never()).count(any());
+    }
+
+    @Test
+    @DisplayName("Projected pages should come straight from the projection slice")
+    @SuppressWarnings("unchecked")
+    void testProjectedPage() {
+        PageRequest request = PageRequest.of(1, 3, null, null);
+        Projection<String, Integer> projection = mock(Projection.class);
+        when(dao.getSlice(request, projection)).thenReturn(new Slice<>(List.of(1, 2), false, null, null));
+
+        IPageable<Integer> page = service.getAllPageable(request, projection);
+
+        assertEquals(List.of(1, 2), page.getContent());
+        assertEquals(2, page.getTotalElements());
+        verify(dao, never()).getSlice(request);
+    }
+}
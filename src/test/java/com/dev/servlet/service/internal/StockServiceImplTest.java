@@ -0,0 +1,113 @@
+package com.dev.servlet.service.internal;
+
+import com.dev.servlet.core.exception.ServiceException;
+import com.dev.servlet.core.util.JwtUtil;
+import com.dev.servlet.domain.records.StockAdjustment;
+import com.dev.servlet.domain.request.StockAdjustmentRequest;
+import com.dev.servlet.domain.request.StockMovementRequest;
+import com.dev.servlet.infrastructure.persistence.dao.InventoryDAO;
+import com.dev.servlet.service.AuditService;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockServiceImplTest {
+
+    private static final String AUTH = "token";
+
+    private InventoryDAO dao;
+    private AuditService auditService;
+    private StockServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws IllegalAccessException {
+        dao = mock(InventoryDAO.class);
+        auditService = mock(AuditService.class);
+        JwtUtil jwtUtil = mock(JwtUtil.class);
+        when(jwtUtil.getUserId(AUTH)).thenReturn("user-1");
+
+        service = new StockServiceImpl(dao);
+        FieldUtils.writeField(service, "auditService", auditService, true);
+        FieldUtils.writeField(service, "jwtUtil", jwtUtil, true);
+    }
+
+    @Test
+    @DisplayName("Adjusting an inventory the user does not own should answer 404")
+    void testAdjustNotFound() {
+        when(dao.adjust("inv-1", "user-1", -5)).thenReturn(Optional.empty());
+        when(dao.exists("inv-1", "user-1")).thenReturn(false);
+
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> service.adjust(new StockAdjustmentRequest("inv-1", -5), AUTH));
+
+        assertEquals(HttpServletResponse.SC_NOT_FOUND, e.getCode());
+        verify(auditService).auditFailure(eq("inventory:adjust"), eq(AUTH), any());
+    }
+
+    @Test
+    @DisplayName("An adjustment that would make the stock negative should answer 409")
+    void testAdjustInsufficientStock() {
+        when(dao.adjust("inv-1", "user-1", -5)).thenReturn(Optional.empty());
+        when(dao.exists("inv-1", "user-1")).thenReturn(true);
+
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> service.adjust(new StockAdjustmentRequest("inv-1", -5), AUTH));
+
+        assertEquals(HttpServletResponse.SC_CONFLICT, e.getCode());
+        verify(auditService).auditFailure(eq("inventory:adjust"), eq(AUTH), any());
+    }
+
+    @Test
+    @DisplayName("A zero delta should be rejected before touching the database")
+    void testAdjustZeroDelta() {
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> service.adjust(new StockAdjustmentRequest("inv-1", 0), AUTH));
+
+        assertEquals(HttpServletResponse.SC_BAD_REQUEST, e.getCode());
+        verify(dao, never()).adjust(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("A batch with rejected movements should answer 409 and name every rejected inventory")
+    void testAdjustBatchRejected() {
+        List<StockAdjustment> adjustments = List.of(
+                new StockAdjustment("b", -9),
+                new StockAdjustment("a", 2),
+                new StockAdjustment("c", -1));
+        when(dao.adjust("user-1", adjustments)).thenReturn(Map.of("a", 7));
+
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> service.adjust(new StockMovementRequest("b:-9;a:2;c:-1"), AUTH));
+
+        assertEquals(HttpServletResponse.SC_CONFLICT, e.getCode());
+        assertEquals("Stock movements rejected for inventory b, c", e.getMessage());
+        verify(auditService).auditFailure(eq("inventory:adjust_batch"), eq(AUTH), any());
+    }
+
+    @Test
+    @DisplayName("A malformed batch should answer 400 before touching the database")
+    void testAdjustBatchMalformed() {
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> service.adjust(new StockMovementRequest("a:5;b"), AUTH));
+
+        assertEquals(HttpServletResponse.SC_BAD_REQUEST, e.getCode());
+        verify(dao, never()).adjust(anyString(), any());
+    }
+}